@@ -0,0 +1,127 @@
+package com.shiptracker.service;
+
+import com.shiptracker.ShipTrackerBackendApplication;
+import com.shiptracker.dto.LocationReportBatchItem;
+import com.shiptracker.dto.LocationReportBatchResponse;
+import com.shiptracker.entity.LocationReport;
+import com.shiptracker.entity.Ship;
+import com.shiptracker.repository.LocationReportRepository;
+import com.shiptracker.repository.ShipRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Inserting location reports through the batch endpoint's JDBC path versus JPA {@code saveAll} with pooled
+ * sequence ids and Hibernate batching. Runs on H2 by default; for numbers that mean anything in production
+ * pass a PostgreSQL datasource with Liquibase enabled through {@code -Djmh.jvmArgs}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BulkInsertBenchmark {
+
+    private static final int FLEET_SIZE = 100;
+
+    @Param({"1000", "10000"})
+    public int rows;
+
+    private ConfigurableApplicationContext context;
+    private LocationReportBatchService batchService;
+    private LocationReportRepository locationReportRepository;
+    private ShipRepository shipRepository;
+    private TransactionTemplate transactionTemplate;
+    private JdbcTemplate jdbcTemplate;
+    private Dictionaries dictionaries;
+    private List<Long> shipIds;
+    private List<LocationReportBatchItem> items;
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        context = new SpringApplicationBuilder(ShipTrackerBackendApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.main.banner-mode=off", "--logging.level.root=WARN");
+        batchService = context.getBean(LocationReportBatchService.class);
+        locationReportRepository = context.getBean(LocationReportRepository.class);
+        shipRepository = context.getBean(ShipRepository.class);
+        transactionTemplate = context.getBean(TransactionTemplate.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        dictionaries = context.getBean(Dictionaries.class);
+        if (!context.getEnvironment().getProperty("spring.liquibase.enabled", Boolean.class, true)) {
+            // Hibernate's generated schema lacks the nextval column default that plain SQL inserts rely on
+            jdbcTemplate.execute("ALTER TABLE location_reports ALTER COLUMN id "
+                    + "SET DEFAULT NEXT VALUE FOR location_reports_id_seq");
+        }
+
+        shipIds = shipRepository.saveAll(IntStream.range(0, FLEET_SIZE).mapToObj(i -> {
+            Ship ship = new Ship();
+            ship.setName("Benchmark " + i);
+            ship.setLaunchDate(LocalDate.of(2000, 1, 1).plusDays(i));
+            ship.setShipTypeId(dictionaries.shipTypes().idOf("Cargo"));
+            ship.setTonnage(BigDecimal.valueOf(50_000));
+            return ship;
+        }).toList()).stream().map(Ship::getId).toList();
+
+        items = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            items.add(new LocationReportBatchItem(shipIds.get(i % FLEET_SIZE),
+                    LocalDate.of(2024, 1, 1).plusDays(i % 365), "Poland", "Gdańsk"));
+        }
+    }
+
+    @TearDown(Level.Iteration)
+    public void deleteReports() {
+        jdbcTemplate.update("DELETE FROM location_reports");
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+    }
+
+    @Benchmark
+    public LocationReportBatchResponse jdbcBatch() {
+        return batchService.ingest(items);
+    }
+
+    @Benchmark
+    public List<LocationReport> jpaSaveAll() {
+        return transactionTemplate.execute(status -> {
+            List<LocationReport> reports = new ArrayList<>(rows);
+            for (LocationReportBatchItem item : items) {
+                LocationReport report = new LocationReport();
+                report.setShip(shipRepository.getReferenceById(item.shipId()));
+                report.setReportDate(item.reportDate());
+                report.setCountryId(dictionaries.countries().idOf(item.country()));
+                report.setPortId(dictionaries.ports().idOf(item.port()));
+                reports.add(report);
+            }
+            return locationReportRepository.saveAll(reports);
+        });
+    }
+}
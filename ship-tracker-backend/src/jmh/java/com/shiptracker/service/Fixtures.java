@@ -0,0 +1,85 @@
+package com.shiptracker.service;
+
+import com.shiptracker.entity.LocationReport;
+import com.shiptracker.entity.Ship;
+import com.shiptracker.repository.ShipSummary;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+
+/** Deterministic in-memory rows shaped like production data: few distinct types, ports and countries. */
+final class Fixtures {
+
+    private static final String[] SHIP_TYPES = {"Cargo", "Tanker", "Container", "Bulk Carrier", "Ro-Ro", "Reefer"};
+    private static final String[][] PORTS = {
+            {"Poland", "Gdańsk"}, {"Poland", "Gdynia"}, {"Germany", "Hamburg"}, {"Netherlands", "Rotterdam"},
+            {"Belgium", "Antwerp"}, {"Norway", "Bergen"}, {"Spain", "Valencia"}, {"Singapore", "Singapore"},
+            {"China", "Shanghai"}, {"United States", "Los Angeles"}, {"Brazil", "Santos"}, {"Japan", "Yokohama"}
+    };
+    private static final LocalDate EPOCH = LocalDate.of(1980, 1, 1);
+
+    private Fixtures() {}
+
+    /** Dictionaries over empty lookup tables in an in-memory H2 database; entries are added as fixtures need them. */
+    static Dictionaries dictionaries() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:fixtures;DB_CLOSE_DELAY=-1");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        for (String table : List.of("ship_types", "countries", "ports")) {
+            jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + table
+                    + " (id INTEGER AUTO_INCREMENT PRIMARY KEY, name VARCHAR(100) NOT NULL UNIQUE)");
+        }
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS dictionary_labels (dictionary VARCHAR(20), "
+                + "entry_id INTEGER, locale VARCHAR(35), label VARCHAR(100), PRIMARY KEY (dictionary, entry_id, locale))");
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS dictionary_generations "
+                + "(dictionary VARCHAR(20) PRIMARY KEY, generation BIGINT NOT NULL)");
+        return new Dictionaries(jdbcTemplate, event -> {}, Locale.ENGLISH);
+    }
+
+    static List<ShipSummary> shipSummaries(int size, Dictionaries dictionaries) {
+        SplittableRandom random = new SplittableRandom(42);
+        int[] shipTypes = new int[SHIP_TYPES.length];
+        for (int i = 0; i < SHIP_TYPES.length; i++) {
+            shipTypes[i] = dictionaries.shipTypes().idOf(SHIP_TYPES[i]);
+        }
+        List<ShipSummary> summaries = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            summaries.add(new ShipSummary(
+                    (long) i + 1,
+                    "Ship " + i,
+                    EPOCH.plusDays(random.nextInt(16_000)),
+                    shipTypes[random.nextInt(shipTypes.length)],
+                    BigDecimal.valueOf(random.nextLong(100_000, 40_000_000), 2),
+                    (long) random.nextInt(200),
+                    0L));
+        }
+        return summaries;
+    }
+
+    static List<LocationReport> locationReports(int size, Dictionaries dictionaries) {
+        SplittableRandom random = new SplittableRandom(42);
+        int[][] ports = new int[PORTS.length][];
+        for (int i = 0; i < PORTS.length; i++) {
+            ports[i] = new int[] {dictionaries.countries().idOf(PORTS[i][0]), dictionaries.ports().idOf(PORTS[i][1])};
+        }
+        Ship ship = new Ship();
+        List<LocationReport> reports = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            int[] port = ports[random.nextInt(ports.length)];
+            LocationReport report = new LocationReport();
+            ReflectionTestUtils.setField(report, "id", (long) i + 1);
+            report.setShip(ship);
+            report.setReportDate(EPOCH.plusDays(random.nextInt(16_000)));
+            report.setCountryId(port[0]);
+            report.setPortId(port[1]);
+            reports.add(report);
+        }
+        return reports;
+    }
+}
@@ -0,0 +1,56 @@
+package com.shiptracker.service;
+
+import com.shiptracker.dto.LocationReportResponse;
+import com.shiptracker.dto.ShipResponse;
+import com.shiptracker.entity.LocationReport;
+import com.shiptracker.repository.ShipSummary;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/** Entity/projection to DTO mapping on the read path, as done for every page and report list. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class ResponseMappingBenchmark {
+
+    @Param({"10000", "100000", "1000000"})
+    public int size;
+
+    private final Dictionaries dictionaries = Fixtures.dictionaries();
+    private final ShipService shipService = new ShipService(null, null, dictionaries);
+    private final LocationReportService locationReportService =
+            new LocationReportService(null, null, null, dictionaries, null);
+    private List<ShipSummary> summaries;
+    private List<LocationReport> reports;
+
+    @Setup
+    public void setUp() {
+        summaries = Fixtures.shipSummaries(size, dictionaries);
+        reports = Fixtures.locationReports(size, dictionaries);
+    }
+
+    @Benchmark
+    public List<ShipResponse> shipSummariesToResponses() {
+        return summaries.stream().map(shipService::toResponse).toList();
+    }
+
+    @Benchmark
+    public List<LocationReportResponse> locationReportsToResponses() {
+        return reports.stream().map(locationReportService::toResponse).toList();
+    }
+}
@@ -0,0 +1,77 @@
+package com.shiptracker.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.shiptracker.dto.LocationReportResponse;
+import com.shiptracker.dto.ShipResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON serialization of response lists with an ObjectMapper configured like Spring MVC's. Writing to a
+ * discarding stream measures the encoder; writing to a byte array adds the buffer a non-streaming body pays for.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class SerializationBenchmark {
+
+    @Param({"10000", "100000", "1000000"})
+    public int size;
+
+    private final ObjectWriter shipWriter = Jackson2ObjectMapperBuilder.json().build()
+            .writerFor(new TypeReference<List<ShipResponse>>() {});
+    private final ObjectWriter reportWriter = Jackson2ObjectMapperBuilder.json().build()
+            .writerFor(new TypeReference<List<LocationReportResponse>>() {});
+    private List<ShipResponse> ships;
+    private List<LocationReportResponse> reports;
+
+    @Setup
+    public void setUp() {
+        Dictionaries dictionaries = Fixtures.dictionaries();
+        ShipService shipService = new ShipService(null, null, dictionaries);
+        LocationReportService locationReportService = new LocationReportService(null, null, null, dictionaries, null);
+        ships = Fixtures.shipSummaries(size, dictionaries).stream().map(shipService::toResponse).toList();
+        reports = Fixtures.locationReports(size, dictionaries).stream()
+                .map(locationReportService::toResponse)
+                .toList();
+    }
+
+    @Benchmark
+    public void shipsToStream() throws IOException {
+        shipWriter.writeValue(OutputStream.nullOutputStream(), ships);
+    }
+
+    @Benchmark
+    public byte[] shipsToBytes() throws IOException {
+        return shipWriter.writeValueAsBytes(ships);
+    }
+
+    @Benchmark
+    public void locationReportsToStream() throws IOException {
+        reportWriter.writeValue(OutputStream.nullOutputStream(), reports);
+    }
+
+    @Benchmark
+    public byte[] locationReportsToBytes() throws IOException {
+        return reportWriter.writeValueAsBytes(reports);
+    }
+}
@@ -0,0 +1,266 @@
+package com.shiptracker.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.shiptracker.ShipTrackerBackendApplication;
+import com.shiptracker.service.SyntheticDataGenerator;
+import com.shiptracker.support.StubHttpServer;
+import com.shiptracker.support.StubHttpServer.Response;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.HdrHistogram.Histogram;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.LockSupport;
+
+import static com.shiptracker.loadtest.LoadTestSettings.CREATE_REPORT;
+import static com.shiptracker.loadtest.LoadTestSettings.GENERATE_NAME;
+import static com.shiptracker.loadtest.LoadTestSettings.LIST_SHIPS;
+import static com.shiptracker.loadtest.LoadTestSettings.LOGIN;
+import static com.shiptracker.loadtest.LoadTestSettings.READ_REPORTS;
+
+/**
+ * Boots the backend on an embedded PostgreSQL migrated by the real Liquibase changelog, seeds a synthetic
+ * fleet and drives a fixed-rate mix of login, ship list, report read, report create and generate-name
+ * requests. Writes {@code report.json} plus one HdrHistogram percentile file per scenario.
+ * <p>
+ * Run with {@code ./mvnw -Ploadtest -DskipTests verify}; see {@link LoadTestSettings} for the knobs.
+ * Spring properties given as {@code -D} override the defaults passed here.
+ */
+public final class LoadTest {
+
+    private static final String USERNAME = "admin";
+    private static final String PASSWORD = "admin123";
+    private static final String LOGIN_BODY = "{\"username\":\"" + USERNAME + "\",\"password\":\"" + PASSWORD + "\"}";
+    private static final String[] SORTS = {"name", "-tonnage", "launchDate"};
+    private static final String[][] PORTS = {
+            {"Poland", "Gdańsk"}, {"Germany", "Hamburg"}, {"Netherlands", "Rotterdam"}, {"Norway", "Bergen"},
+            {"Singapore", "Singapore"}, {"China", "Shanghai"}, {"United States", "Los Angeles"}
+    };
+
+    private LoadTest() {}
+
+    public static void main(String[] args) throws Exception {
+        LoadTestSettings settings = LoadTestSettings.fromSystemProperties();
+        try (EmbeddedPostgres postgres = EmbeddedPostgres.builder().start();
+             StubHttpServer nameApi = new StubHttpServer()) {
+            nameApi.respond(uri -> Response.json(surnames(uri)).delayedBy(settings.nameApiLatency()));
+            try (ConfigurableApplicationContext app = start(postgres, nameApi, settings)) {
+                List<Long> shipIds = seed(app, settings);
+                String baseUrl = "http://127.0.0.1:" + app.getEnvironment().getProperty("local.server.port");
+                HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+                List<String> sessions = new ArrayList<>();
+                for (int i = 0; i < settings.sessions(); i++) {
+                    sessions.add(login(client, baseUrl));
+                }
+                List<Scenario> scenarios = scenarios(settings, baseUrl, sessions, shipIds);
+                run(client, scenarios, settings);
+                writeReport(scenarios, settings);
+            }
+        }
+    }
+
+    private static ConfigurableApplicationContext start(EmbeddedPostgres postgres, StubHttpServer nameApi,
+                                                        LoadTestSettings settings) {
+        Map<String, String> defaults = new LinkedHashMap<>();
+        defaults.put("server.port", "0");
+        defaults.put("spring.datasource.url",
+                postgres.getJdbcUrl("postgres", "postgres") + "&reWriteBatchedInserts=true");
+        defaults.put("spring.datasource.driver-class-name", "org.postgresql.Driver");
+        defaults.put("spring.datasource.username", "postgres");
+        defaults.put("spring.datasource.password", "postgres");
+        defaults.put("spring.jpa.hibernate.ddl-auto", "validate");
+        defaults.put("spring.liquibase.enabled", "true");
+        defaults.put("spring.liquibase.change-log", "classpath:db/changelog/db.changelog-master.xml");
+        defaults.put("randommer.api.url", nameApi.url("/api/Name"));
+        defaults.put("name-pool.prefetch-on-startup", "true");
+        defaults.put("data-generator.ships", String.valueOf(settings.ships()));
+        defaults.put("data-generator.mean-reports-per-ship", String.valueOf(settings.reportsPerShip()));
+        defaults.put("logging.level.root", "WARN");
+
+        String[] args = defaults.entrySet().stream()
+                .filter(entry -> System.getProperty(entry.getKey()) == null)
+                .map(entry -> "--" + entry.getKey() + "=" + entry.getValue())
+                .toArray(String[]::new);
+        return new SpringApplicationBuilder(ShipTrackerBackendApplication.class).run(args);
+    }
+
+    private static String surnames(URI uri) {
+        String query = uri.getQuery() == null ? "" : uri.getQuery();
+        int quantity = query.contains("quantity=")
+                ? Integer.parseInt(query.replaceAll(".*quantity=(\\d+).*", "$1"))
+                : 1;
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 0; i < quantity; i++) {
+            json.append(i == 0 ? "\"" : ",\"").append("Stub").append(random().nextLong(1L << 40)).append('"');
+        }
+        return json.append(']').toString();
+    }
+
+    private static List<Long> seed(ConfigurableApplicationContext app, LoadTestSettings settings) {
+        SyntheticDataGenerator.Result result = app.getBean(SyntheticDataGenerator.class).generate();
+        System.out.printf("Seeded %d ships and %d location reports in %d ms%n",
+                result.ships(), result.reports(), result.elapsed().toMillis());
+        return app.getBean(JdbcTemplate.class).queryForList("SELECT id FROM ships", Long.class);
+    }
+
+    private static String login(HttpClient client, String baseUrl) throws IOException, InterruptedException {
+        HttpResponse<Void> response = client.send(loginRequest(baseUrl), HttpResponse.BodyHandlers.discarding());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Login failed with status " + response.statusCode());
+        }
+        return response.headers().firstValue("Set-Cookie").orElseThrow().split(";", 2)[0];
+    }
+
+    private static HttpRequest loginRequest(String baseUrl) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + "/api/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(LOGIN_BODY))
+                .build();
+    }
+
+    private static List<Scenario> scenarios(LoadTestSettings settings, String baseUrl,
+                                            List<String> sessions, List<Long> shipIds) {
+        Map<String, Double> rates = settings.rates();
+        return List.of(
+                new Scenario(LOGIN, rates.get(LOGIN), 200, () -> loginRequest(baseUrl)),
+                new Scenario(LIST_SHIPS, rates.get(LIST_SHIPS), 200, () -> get(baseUrl
+                        + "/api/ships?limit=50&sort=" + SORTS[random().nextInt(SORTS.length)], sessions)),
+                new Scenario(READ_REPORTS, rates.get(READ_REPORTS), 200, () -> get(baseUrl
+                        + "/api/ships/" + randomShip(shipIds) + "/reports", sessions)),
+                new Scenario(CREATE_REPORT, rates.get(CREATE_REPORT), 201, () -> {
+                    String[] port = PORTS[random().nextInt(PORTS.length)];
+                    String body = "{\"reportDate\":\"" + LocalDate.of(2025, 1, 1).plusDays(random().nextInt(365))
+                            + "\",\"country\":\"" + port[0] + "\",\"port\":\"" + port[1] + "\"}";
+                    URI uri = URI.create(baseUrl + "/api/ships/" + randomShip(shipIds) + "/reports");
+                    return HttpRequest.newBuilder(uri)
+                            .header("Cookie", randomSession(sessions))
+                            .header("Content-Type", "application/json")
+                            .POST(HttpRequest.BodyPublishers.ofString(body))
+                            .build();
+                }),
+                new Scenario(GENERATE_NAME, rates.get(GENERATE_NAME), 200,
+                        () -> get(baseUrl + "/api/ships/generate-name", sessions)));
+    }
+
+    private static HttpRequest get(String url, List<String> sessions) {
+        return HttpRequest.newBuilder(URI.create(url)).header("Cookie", randomSession(sessions)).GET().build();
+    }
+
+    private static ThreadLocalRandom random() {
+        return ThreadLocalRandom.current();
+    }
+
+    private static long randomShip(List<Long> shipIds) {
+        return shipIds.get(random().nextInt(shipIds.size()));
+    }
+
+    private static String randomSession(List<String> sessions) {
+        return sessions.get(random().nextInt(sessions.size()));
+    }
+
+    private static void run(HttpClient client, List<Scenario> scenarios, LoadTestSettings settings)
+            throws InterruptedException {
+        long start = System.nanoTime();
+        long measureFrom = start + settings.warmup().toNanos();
+        long end = measureFrom + settings.duration().toNanos();
+        try (ExecutorService requests = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Thread> pacers = new ArrayList<>();
+            for (Scenario scenario : scenarios) {
+                if (scenario.ratePerSecond() <= 0) {
+                    continue;
+                }
+                long interval = (long) (1_000_000_000L / scenario.ratePerSecond());
+                pacers.add(Thread.ofPlatform().name("pacer-" + scenario.name()).start(() -> {
+                    for (long intended = start; intended < end; intended += interval) {
+                        LockSupport.parkNanos(intended - System.nanoTime());
+                        long sendAt = intended;
+                        requests.execute(() -> fire(client, scenario, sendAt, measureFrom));
+                    }
+                }));
+            }
+            for (Thread pacer : pacers) {
+                pacer.join();
+            }
+        }
+    }
+
+    private static void fire(HttpClient client, Scenario scenario, long intendedNanos, long measureFrom) {
+        boolean ok;
+        try {
+            ok = client.send(scenario.nextRequest(), HttpResponse.BodyHandlers.discarding()).statusCode()
+                    == scenario.expectedStatus();
+        } catch (IOException ex) {
+            ok = false;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        if (intendedNanos >= measureFrom) {
+            scenario.record(intendedNanos, System.nanoTime(), ok);
+        }
+    }
+
+    private static void writeReport(List<Scenario> scenarios, LoadTestSettings settings) throws IOException {
+        Files.createDirectories(settings.reportDirectory());
+        Map<String, Object> endpoints = new LinkedHashMap<>();
+        System.out.printf("%n%-14s %9s %7s %9s %9s %9s %9s %9s%n",
+                "scenario", "requests", "errors", "req/s", "p50 ms", "p99 ms", "p999 ms", "max ms");
+        for (Scenario scenario : scenarios) {
+            Histogram histogram = scenario.latencies();
+            Map<String, Object> stats = new LinkedHashMap<>();
+            stats.put("targetRatePerSecond", scenario.ratePerSecond());
+            stats.put("achievedRatePerSecond", histogram.getTotalCount() / (double) settings.duration().toSeconds());
+            stats.put("requests", histogram.getTotalCount());
+            stats.put("errors", scenario.errors());
+            stats.put("meanMillis", histogram.getMean() / 1_000);
+            stats.put("p50Millis", millis(histogram, 50));
+            stats.put("p90Millis", millis(histogram, 90));
+            stats.put("p99Millis", millis(histogram, 99));
+            stats.put("p999Millis", millis(histogram, 99.9));
+            stats.put("maxMillis", histogram.getMaxValue() / 1_000.0);
+            endpoints.put(scenario.name(), stats);
+
+            try (PrintStream out = new PrintStream(
+                    settings.reportDirectory().resolve(scenario.name() + ".hgrm").toFile())) {
+                histogram.outputPercentileDistribution(out, 1_000.0);
+            }
+            System.out.printf("%-14s %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f%n", scenario.name(),
+                    histogram.getTotalCount(), scenario.errors(), stats.get("achievedRatePerSecond"),
+                    millis(histogram, 50), millis(histogram, 99), millis(histogram, 99.9),
+                    histogram.getMaxValue() / 1_000.0);
+        }
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("generatedAt", Instant.now().toString());
+        report.put("javaVersion", Runtime.version().toString());
+        report.put("availableProcessors", Runtime.getRuntime().availableProcessors());
+        report.put("settings", settings);
+        report.put("endpoints", endpoints);
+        new ObjectMapper().findAndRegisterModules().enable(SerializationFeature.INDENT_OUTPUT)
+                .disable(SerializationFeature.WRITE_DURATIONS_AS_TIMESTAMPS)
+                .writeValue(settings.reportDirectory().resolve("report.json").toFile(), report);
+        System.out.println("report: " + settings.reportDirectory().resolve("report.json").toAbsolutePath());
+    }
+
+    private static double millis(Histogram histogram, double percentile) {
+        return histogram.getValueAtPercentile(percentile) / 1_000.0;
+    }
+}
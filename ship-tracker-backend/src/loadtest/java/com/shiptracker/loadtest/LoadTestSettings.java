@@ -0,0 +1,52 @@
+package com.shiptracker.loadtest;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/** Load test knobs, read from {@code -Dloadtest.*} system properties. Rates are requests per second. */
+record LoadTestSettings(
+        Duration warmup,
+        Duration duration,
+        int ships,
+        int reportsPerShip,
+        int sessions,
+        Duration nameApiLatency,
+        Map<String, Double> rates,
+        @JsonSerialize(using = ToStringSerializer.class) Path reportDirectory
+) {
+
+    static final String LOGIN = "login";
+    static final String LIST_SHIPS = "list-ships";
+    static final String READ_REPORTS = "read-reports";
+    static final String CREATE_REPORT = "create-report";
+    static final String GENERATE_NAME = "generate-name";
+
+    private static final Map<String, Double> DEFAULT_RATES = Map.of(
+            LOGIN, 2.0,
+            LIST_SHIPS, 50.0,
+            READ_REPORTS, 50.0,
+            CREATE_REPORT, 10.0,
+            GENERATE_NAME, 5.0);
+
+    static LoadTestSettings fromSystemProperties() {
+        Map<String, Double> rates = new LinkedHashMap<>();
+        for (String scenario : new String[] {LOGIN, LIST_SHIPS, READ_REPORTS, CREATE_REPORT, GENERATE_NAME}) {
+            rates.put(scenario, Double.parseDouble(
+                    System.getProperty("loadtest.rate." + scenario, DEFAULT_RATES.get(scenario).toString())));
+        }
+        return new LoadTestSettings(
+                Duration.ofSeconds(Long.getLong("loadtest.warmup-seconds", 10)),
+                Duration.ofSeconds(Long.getLong("loadtest.duration-seconds", 60)),
+                Integer.getInteger("loadtest.ships", 1_000),
+                Integer.getInteger("loadtest.reports-per-ship", 50),
+                Integer.getInteger("loadtest.sessions", 8),
+                Duration.ofMillis(Long.getLong("loadtest.name-latency-ms", 50)),
+                rates,
+                Path.of(System.getProperty("loadtest.report-dir", "target/loadtest")));
+    }
+}
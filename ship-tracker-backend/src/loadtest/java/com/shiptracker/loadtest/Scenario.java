@@ -0,0 +1,50 @@
+package com.shiptracker.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.net.http.HttpRequest;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * One request type of the traffic mix, fired open-loop at a fixed rate. Latency is measured from the
+ * intended send time, so a stalled server shows up in the tail instead of silently lowering the rate.
+ */
+final class Scenario {
+
+    private static final long MAX_LATENCY_MICROS = TimeUnit.MINUTES.toMicros(2);
+
+    private final String name;
+    private final double ratePerSecond;
+    private final int expectedStatus;
+    private final Supplier<HttpRequest> requests;
+    private final Histogram latencies = new ConcurrentHistogram(MAX_LATENCY_MICROS, 3);
+    private final AtomicLong errors = new AtomicLong();
+
+    Scenario(String name, double ratePerSecond, int expectedStatus, Supplier<HttpRequest> requests) {
+        this.name = name;
+        this.ratePerSecond = ratePerSecond;
+        this.expectedStatus = expectedStatus;
+        this.requests = requests;
+    }
+
+    String name() { return name; }
+    double ratePerSecond() { return ratePerSecond; }
+    int expectedStatus() { return expectedStatus; }
+    Histogram latencies() { return latencies; }
+    long errors() { return errors.get(); }
+
+    HttpRequest nextRequest() {
+        return requests.get();
+    }
+
+    void record(long intendedNanos, long completedNanos, boolean ok) {
+        if (ok) {
+            latencies.recordValue(Math.min(MAX_LATENCY_MICROS, (completedNanos - intendedNanos) / 1_000));
+        } else {
+            errors.incrementAndGet();
+        }
+    }
+}
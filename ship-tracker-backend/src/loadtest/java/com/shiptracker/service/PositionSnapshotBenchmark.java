@@ -0,0 +1,196 @@
+package com.shiptracker.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.shiptracker.ShipTrackerBackendApplication;
+import com.shiptracker.config.DataGeneratorProperties;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Date;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * As-of fleet snapshots on an embedded PostgreSQL holding millions of reports in monthly partitions.
+ * For a few days spread over the history it records the {@code EXPLAIN ANALYZE} plan of the snapshot query
+ * next to a {@code DISTINCT ON} baseline, and times the full streamed response. Fails when the snapshot plan
+ * reads a report partition sequentially instead of probing its index.
+ * <p>
+ * Run with {@code ./mvnw -Ploadtest -DskipTests verify
+ * -Dloadtest.main-class=com.shiptracker.service.PositionSnapshotBenchmark}.
+ * Tune with {@code -Dsnapshot.ships}, {@code -Dsnapshot.reports-per-ship} and {@code -Dsnapshot.iterations}.
+ * Results go to {@code target/benchmarks/position-snapshot.json}.
+ */
+public final class PositionSnapshotBenchmark {
+
+    private static final int SHIPS = Integer.getInteger("snapshot.ships", 20_000);
+    private static final int REPORTS_PER_SHIP = Integer.getInteger("snapshot.reports-per-ship", 150);
+    private static final int ITERATIONS = Integer.getInteger("snapshot.iterations", 5);
+    private static final Path REPORT = Path.of("target", "benchmarks", "position-snapshot.json");
+
+    private static final String DISTINCT_ON_SQL = """
+            SELECT DISTINCT ON (ship_id) ship_id, id AS report_id, report_date, country_id, port_id
+            FROM location_reports
+            WHERE report_date <= ?
+            ORDER BY ship_id, report_date DESC, id DESC
+            """;
+
+    record Plan(double executionMillis, long sharedBlocks, boolean indexDriven, List<String> nodeTypes) {}
+
+    record Result(LocalDate asOf, long ships, long bytes, double minMillis, double medianMillis,
+                  Plan snapshotPlan, Plan distinctOnPlan) {}
+
+    private PositionSnapshotBenchmark() {}
+
+    public static void main(String[] args) throws Exception {
+        ObjectMapper mapper = new ObjectMapper().findAndRegisterModules()
+                .enable(SerializationFeature.INDENT_OUTPUT)
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        try (EmbeddedPostgres postgres = EmbeddedPostgres.builder().start();
+             ConfigurableApplicationContext app = start(postgres)) {
+            SyntheticDataGenerator.Result seeded = app.getBean(SyntheticDataGenerator.class).generate();
+            System.out.printf("Seeded %d ships and %d location reports in %d ms%n",
+                    seeded.ships(), seeded.reports(), seeded.elapsed().toMillis());
+
+            JdbcTemplate jdbcTemplate = app.getBean(JdbcTemplate.class);
+            PositionSnapshotService snapshots = app.getBean(PositionSnapshotService.class);
+            LocalDate historyStart = jdbcTemplate.queryForObject("SELECT location_report_history_start()",
+                    LocalDate.class);
+            LocalDate generatedFrom = app.getBean(DataGeneratorProperties.class).historyStart();
+            LocalDate today = LocalDate.now();
+            LocalDate[] days = {
+                    generatedFrom.plusYears(1),
+                    generatedFrom.plusDays(generatedFrom.until(today, ChronoUnit.DAYS) / 2),
+                    today.minusDays(30),
+                    today};
+
+            List<Result> results = new ArrayList<>();
+            System.out.printf("%n%-12s %8s %10s %9s %9s %12s %12s %14s %14s%n", "as of", "ships", "bytes",
+                    "min ms", "median ms", "plan ms", "plan blocks", "distinct ms", "distinct blks");
+            for (LocalDate asOf : days) {
+                Plan snapshotPlan = explain(jdbcTemplate, mapper, PositionSnapshotService.LATERAL_SQL,
+                        Date.valueOf(asOf), Date.valueOf(asOf), Date.valueOf(historyStart), Date.valueOf(asOf));
+                Plan distinctOnPlan = explain(jdbcTemplate, mapper, DISTINCT_ON_SQL, Date.valueOf(asOf));
+
+                double[] millis = new double[ITERATIONS];
+                long ships = 0;
+                long bytes = 0;
+                for (int i = 0; i < ITERATIONS; i++) {
+                    CountingOutputStream out = new CountingOutputStream();
+                    long start = System.nanoTime();
+                    ships = snapshots.writePositions(asOf, out);
+                    millis[i] = (System.nanoTime() - start) / 1e6;
+                    bytes = out.count;
+                }
+                Arrays.sort(millis);
+                Result result = new Result(asOf, ships, bytes, millis[0], millis[ITERATIONS / 2],
+                        snapshotPlan, distinctOnPlan);
+                results.add(result);
+                System.out.printf("%-12s %8d %10d %9.1f %9.1f %12.1f %12d %14.1f %14d%n", asOf, ships, bytes,
+                        result.minMillis(), result.medianMillis(), snapshotPlan.executionMillis(),
+                        snapshotPlan.sharedBlocks(), distinctOnPlan.executionMillis(), distinctOnPlan.sharedBlocks());
+            }
+
+            Map<String, Object> report = new LinkedHashMap<>();
+            report.put("generatedAt", Instant.now().toString());
+            report.put("javaVersion", Runtime.version().toString());
+            report.put("availableProcessors", Runtime.getRuntime().availableProcessors());
+            report.put("ships", seeded.ships());
+            report.put("reports", seeded.reports());
+            report.put("partitions", jdbcTemplate.queryForObject(
+                    "SELECT COUNT(*) FROM pg_inherits WHERE inhparent = 'location_reports'::regclass", Long.class));
+            report.put("results", results);
+            Files.createDirectories(REPORT.getParent());
+            mapper.writeValue(REPORT.toFile(), report);
+            System.out.println("report: " + REPORT.toAbsolutePath());
+
+            List<LocalDate> scanned = results.stream()
+                    .filter(result -> !result.snapshotPlan().indexDriven())
+                    .map(Result::asOf)
+                    .toList();
+            if (!scanned.isEmpty()) {
+                throw new IllegalStateException("Snapshot plan scans location_reports sequentially for " + scanned);
+            }
+        }
+    }
+
+    private static ConfigurableApplicationContext start(EmbeddedPostgres postgres) {
+        Map<String, String> defaults = new LinkedHashMap<>();
+        defaults.put("spring.main.web-application-type", "none");
+        defaults.put("spring.datasource.url",
+                postgres.getJdbcUrl("postgres", "postgres") + "&reWriteBatchedInserts=true");
+        defaults.put("spring.datasource.driver-class-name", "org.postgresql.Driver");
+        defaults.put("spring.datasource.username", "postgres");
+        defaults.put("spring.datasource.password", "postgres");
+        defaults.put("spring.jpa.hibernate.ddl-auto", "validate");
+        defaults.put("spring.liquibase.enabled", "true");
+        defaults.put("spring.liquibase.change-log", "classpath:db/changelog/db.changelog-master.xml");
+        defaults.put("name-pool.prefetch-on-startup", "false");
+        defaults.put("data-generator.ships", String.valueOf(SHIPS));
+        defaults.put("data-generator.mean-reports-per-ship", String.valueOf(REPORTS_PER_SHIP));
+        defaults.put("query-log.sample-rate", "0");
+        defaults.put("query-log.slow-threshold", "1h");
+        defaults.put("logging.level.root", "WARN");
+
+        String[] args = defaults.entrySet().stream()
+                .filter(entry -> System.getProperty(entry.getKey()) == null)
+                .map(entry -> "--" + entry.getKey() + "=" + entry.getValue())
+                .toArray(String[]::new);
+        return new SpringApplicationBuilder(ShipTrackerBackendApplication.class).run(args);
+    }
+
+    private static Plan explain(JdbcTemplate jdbcTemplate, ObjectMapper mapper, String sql, Object... params)
+            throws IOException {
+        String json = jdbcTemplate.queryForObject("EXPLAIN (ANALYZE, BUFFERS, FORMAT JSON) " + sql, String.class,
+                params);
+        JsonNode root = mapper.readTree(json).get(0);
+        JsonNode plan = root.get("Plan");
+        TreeSet<String> nodeTypes = new TreeSet<>();
+        boolean indexDriven = visit(plan, nodeTypes);
+        return new Plan(root.get("Execution Time").asDouble(),
+                plan.path("Shared Hit Blocks").asLong() + plan.path("Shared Read Blocks").asLong(),
+                indexDriven, List.copyOf(nodeTypes));
+    }
+
+    /** Collects node types; false if any location_reports partition is read by a sequential scan. */
+    private static boolean visit(JsonNode node, TreeSet<String> nodeTypes) {
+        String type = node.get("Node Type").asText();
+        nodeTypes.add(type);
+        boolean indexDriven = !("Seq Scan".equals(type)
+                && node.path("Relation Name").asText().startsWith("location_reports"));
+        for (JsonNode child : node.path("Plans")) {
+            indexDriven &= visit(child, nodeTypes);
+        }
+        return indexDriven;
+    }
+
+    private static final class CountingOutputStream extends OutputStream {
+
+        private long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+}
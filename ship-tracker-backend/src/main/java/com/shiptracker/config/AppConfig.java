@@ -1,14 +1,84 @@
 package com.shiptracker.config;
 
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.micrometer.tagged.TaggedBulkheadMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.web.client.RestClient;
 
+import java.net.http.HttpClient;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
 @Configuration
+@EnableScheduling
+@EnableConfigurationProperties({NamePoolProperties.class, OutboundHttpProperties.class, DataGeneratorProperties.class,
+        QueryBudgetProperties.class, QueryLoggingProperties.class})
 public class AppConfig {
 
+    public static final String NAME_GENERATOR = "nameGenerator";
+
+    // Not a bean: an Executor bean would replace Boot's applicationTaskExecutor
+    private final ExecutorService outboundHttpExecutor = Executors.newVirtualThreadPerTaskExecutor();
+
+    /**
+     * Shared JDK client: keeps connections alive in its internal pool, negotiates HTTP/2 where the server
+     * offers it and runs its I/O on virtual threads.
+     */
+    @Bean
+    public HttpClient outboundHttpClient(OutboundHttpProperties properties) {
+        return HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(properties.connectTimeout())
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .executor(outboundHttpExecutor)
+                .build();
+    }
+
+    // Built from Boot's builder so every call is observed as http.client.requests
+    @Bean
+    public RestClient restClient(RestClient.Builder builder, HttpClient outboundHttpClient,
+                                 OutboundHttpProperties properties) {
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(outboundHttpClient);
+        requestFactory.setReadTimeout(properties.readTimeout());
+        return builder.requestFactory(requestFactory).build();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        outboundHttpExecutor.shutdownNow();
+    }
+
+    @Bean
+    public CircuitBreaker nameGeneratorCircuitBreaker(OutboundHttpProperties properties, MeterRegistry meterRegistry) {
+        CircuitBreakerRegistry registry = CircuitBreakerRegistry.of(CircuitBreakerConfig.custom()
+                .slidingWindowSize(properties.slidingWindowSize())
+                .minimumNumberOfCalls(properties.minimumCalls())
+                .failureRateThreshold(properties.failureRateThreshold())
+                .waitDurationInOpenState(properties.openStateWait())
+                .build());
+        TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(registry).bindTo(meterRegistry);
+        return registry.circuitBreaker(NAME_GENERATOR);
+    }
+
     @Bean
-    public RestClient restClient() {
-        return RestClient.create();
+    public Bulkhead nameGeneratorBulkhead(OutboundHttpProperties properties, MeterRegistry meterRegistry) {
+        BulkheadRegistry registry = BulkheadRegistry.of(BulkheadConfig.custom()
+                .maxConcurrentCalls(properties.maxConcurrentCalls())
+                .maxWaitDuration(properties.maxWait())
+                .build());
+        TaggedBulkheadMetrics.ofBulkheadRegistry(registry).bindTo(meterRegistry);
+        return registry.bulkhead(NAME_GENERATOR);
     }
 }
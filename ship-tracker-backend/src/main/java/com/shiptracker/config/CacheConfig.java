@@ -0,0 +1,42 @@
+package com.shiptracker.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String SHIPS = "ships";
+    public static final String SHIP_PAGES = "shipPages";
+
+    @Bean
+    public CacheManager cacheManager(
+            @Value("${cache.ships.max-size:10000}") long shipsMaxSize,
+            @Value("${cache.ships.ttl:10m}") Duration shipsTtl,
+            @Value("${cache.ship-pages.max-size:1000}") long pagesMaxSize,
+            @Value("${cache.ship-pages.ttl:1m}") Duration pagesTtl) {
+        CaffeineCacheManager caffeineCacheManager = new CaffeineCacheManager();
+        caffeineCacheManager.setAllowNullValues(false);
+        caffeineCacheManager.registerCustomCache(SHIPS, Caffeine.newBuilder()
+                .maximumSize(shipsMaxSize)
+                .expireAfterWrite(shipsTtl)
+                .recordStats()
+                .build());
+        caffeineCacheManager.registerCustomCache(SHIP_PAGES, Caffeine.newBuilder()
+                .maximumSize(pagesMaxSize)
+                .expireAfterWrite(pagesTtl)
+                .recordStats()
+                .build());
+        // Defer puts and evictions to after commit, so a concurrent read cannot re-cache uncommitted state
+        return new TransactionAwareCacheManagerProxy(caffeineCacheManager);
+    }
+}
@@ -0,0 +1,34 @@
+package com.shiptracker.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.LocalDate;
+
+/**
+ * Shape of the synthetic fleet written by the {@code generate-data} profile.
+ *
+ * @param ships              number of ships to create
+ * @param meanReportsPerShip average location reports per ship; counts are log-normal, so a few ships carry most
+ * @param reportsSkew        sigma of the log-normal report count; 0 gives every ship the mean
+ * @param maxReportsPerShip  upper bound for a single ship
+ * @param historyStart       no report is dated before this day
+ * @param seed               same seed, same data
+ */
+@ConfigurationProperties(prefix = "data-generator")
+public record DataGeneratorProperties(
+        @DefaultValue("100000") int ships,
+        @DefaultValue("50") int meanReportsPerShip,
+        @DefaultValue("1.0") double reportsSkew,
+        @DefaultValue("5000") int maxReportsPerShip,
+        @DefaultValue("2010-01-01") LocalDate historyStart,
+        @DefaultValue("42") long seed
+) {
+
+    public DataGeneratorProperties {
+        if (ships < 0 || meanReportsPerShip < 0 || reportsSkew < 0 || maxReportsPerShip < meanReportsPerShip) {
+            throw new IllegalArgumentException("data-generator requires ships >= 0, mean-reports-per-ship >= 0, "
+                    + "reports-skew >= 0 and max-reports-per-ship >= mean-reports-per-ship");
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.shiptracker.config;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+/**
+ * Wraps every {@link DataSource} in a proxy that records each statement execution (a batch counts once)
+ * in {@link QueryStats} and, when {@link QueryLoggingProperties} are bound, feeds the {@link QueryLoggingListener}.
+ * The pool underneath stays reachable through {@code unwrap}.
+ */
+@Component
+public class DataSourceProxyPostProcessor implements BeanPostProcessor {
+
+    static final String START_NANOS = QueryStats.class.getName() + ".start";
+
+    private final ObjectProvider<QueryLoggingProperties> queryLoggingProperties;
+
+    public DataSourceProxyPostProcessor(ObjectProvider<QueryLoggingProperties> queryLoggingProperties) {
+        this.queryLoggingProperties = queryLoggingProperties;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (!(bean instanceof DataSource dataSource) || bean instanceof ProxyDataSource) {
+            return bean;
+        }
+        ProxyDataSourceBuilder builder = ProxyDataSourceBuilder.create(dataSource)
+                .name(beanName)
+                .listener(new QueryExecutionListener() {
+                    @Override
+                    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+                        // The proxy's own elapsed time is in whole milliseconds
+                        execInfo.addCustomValue(START_NANOS, System.nanoTime());
+                    }
+
+                    @Override
+                    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+                        QueryStats.record(elapsedNanos(execInfo));
+                    }
+                });
+        QueryLoggingProperties logging = queryLoggingProperties.getIfAvailable();
+        if (logging != null) {
+            builder.listener(new QueryLoggingListener(logging));
+        }
+        return builder.build();
+    }
+
+    static long elapsedNanos(ExecutionInfo execInfo) {
+        return System.nanoTime() - execInfo.getCustomValue(START_NANOS, Long.class);
+    }
+}
@@ -0,0 +1,46 @@
+package com.shiptracker.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import liquibase.integration.spring.SpringLiquibase;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Times the changelog run at startup, which happens while the {@link SpringLiquibase} bean initializes,
+ * and reports it as {@code liquibase.migration.duration}. The gauge is NaN when Liquibase is disabled.
+ */
+@Component
+public class LiquibaseMetrics implements BeanPostProcessor, MeterBinder {
+
+    private final AtomicLong startNanos = new AtomicLong();
+    private final AtomicLong durationNanos = new AtomicLong(-1);
+
+    @Override
+    public Object postProcessBeforeInitialization(Object bean, String beanName) {
+        if (bean instanceof SpringLiquibase) {
+            startNanos.set(System.nanoTime());
+        }
+        return bean;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof SpringLiquibase) {
+            durationNanos.set(System.nanoTime() - startNanos.get());
+        }
+        return bean;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        TimeGauge.builder("liquibase.migration.duration", durationNanos, TimeUnit.NANOSECONDS,
+                        duration -> duration.get() < 0 ? Double.NaN : duration.get())
+                .description("Time spent applying the Liquibase changelog at startup")
+                .register(registry);
+    }
+}
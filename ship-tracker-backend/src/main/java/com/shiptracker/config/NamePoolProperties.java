@@ -0,0 +1,29 @@
+package com.shiptracker.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Sizing of the in-memory pool of generated ship names.
+ *
+ * @param capacity          maximum number of names held
+ * @param lowWaterMark      a background refill starts when fewer names than this remain
+ * @param batchSize         names requested from the external API per refill
+ * @param prefetchOnStartup fill the pool once the application is ready instead of on first use
+ */
+@ConfigurationProperties(prefix = "name-pool")
+public record NamePoolProperties(
+        @DefaultValue("500") int capacity,
+        @DefaultValue("100") int lowWaterMark,
+        @DefaultValue("250") int batchSize,
+        @DefaultValue("true") boolean prefetchOnStartup
+) {
+
+    public NamePoolProperties {
+        if (capacity < 1 || lowWaterMark < 0 || lowWaterMark >= capacity || batchSize < 1) {
+            throw new IllegalArgumentException(
+                    "name-pool requires capacity >= 1, 0 <= low-water-mark < capacity and batch-size >= 1");
+        }
+        batchSize = Math.min(batchSize, capacity);
+    }
+}
@@ -0,0 +1,32 @@
+package com.shiptracker.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Deadlines and resilience limits for outbound HTTP calls.
+ *
+ * @param connectTimeout       TCP/TLS connect deadline
+ * @param readTimeout          deadline for the response headers once the request is sent
+ * @param totalTimeout         deadline for the whole call including the body; the caller is released after it
+ * @param maxConcurrentCalls   bulkhead size; further calls wait up to {@code maxWait} and are then rejected
+ * @param maxWait              how long a call may wait for a bulkhead permit
+ * @param failureRateThreshold failure percentage that opens the circuit breaker
+ * @param slidingWindowSize    number of recent calls the failure rate is computed over
+ * @param minimumCalls         calls needed before the failure rate is evaluated
+ * @param openStateWait        how long an open circuit rejects calls before letting probes through
+ */
+@ConfigurationProperties(prefix = "outbound.http")
+public record OutboundHttpProperties(
+        @DefaultValue("2s") Duration connectTimeout,
+        @DefaultValue("3s") Duration readTimeout,
+        @DefaultValue("5s") Duration totalTimeout,
+        @DefaultValue("10") int maxConcurrentCalls,
+        @DefaultValue("0ms") Duration maxWait,
+        @DefaultValue("50") float failureRateThreshold,
+        @DefaultValue("20") int slidingWindowSize,
+        @DefaultValue("10") int minimumCalls,
+        @DefaultValue("30s") Duration openStateWait
+) {}
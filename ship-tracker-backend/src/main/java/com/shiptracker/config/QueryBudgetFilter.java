@@ -0,0 +1,76 @@
+package com.shiptracker.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.web.util.OnCommittedResponseWrapper;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+
+/**
+ * Counts the statements and JDBC time of each HTTP request, logs them at debug level and warns when the request
+ * goes over its {@link QueryBudgetProperties budget}. The numbers are also sent as response headers; they cover
+ * the work done before the response was committed, so a streamed body reports only its first part.
+ */
+public class QueryBudgetFilter extends OncePerRequestFilter {
+
+    public static final String QUERY_COUNT_HEADER = "X-Query-Count";
+    public static final String QUERY_TIME_HEADER = "X-Query-Time";
+
+    private static final Logger log = LoggerFactory.getLogger(QueryBudgetFilter.class);
+
+    private final QueryBudgetProperties properties;
+
+    public QueryBudgetFilter(QueryBudgetProperties properties) {
+        this.properties = properties;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        QueryStats stats = QueryStats.start();
+        HttpServletResponse target = response;
+        if (properties.headers()) {
+            target = new OnCommittedResponseWrapper(response) {
+                @Override
+                protected void onResponseCommitted() {
+                    writeHeaders(response, stats);
+                }
+            };
+        }
+        try {
+            chain.doFilter(request, target);
+        } finally {
+            stats.stop();
+            if (properties.headers() && !response.isCommitted()) {
+                writeHeaders(response, stats);
+            }
+            report(request, stats);
+        }
+    }
+
+    private static void writeHeaders(HttpServletResponse response, QueryStats stats) {
+        response.setHeader(QUERY_COUNT_HEADER, Integer.toString(stats.queries()));
+        response.setHeader(QUERY_TIME_HEADER, millis(stats).toPlainString());
+    }
+
+    private void report(HttpServletRequest request, QueryStats stats) {
+        if (stats.queries() > properties.maxQueries() || stats.jdbcTime().compareTo(properties.maxJdbcTime()) > 0) {
+            log.warn("{} {} exceeded its query budget: {} queries (max {}), {} ms JDBC (max {} ms)",
+                    request.getMethod(), request.getRequestURI(), stats.queries(), properties.maxQueries(),
+                    millis(stats), properties.maxJdbcTime().toMillis());
+        } else if (log.isDebugEnabled()) {
+            log.debug("{} {}: {} queries, {} ms JDBC",
+                    request.getMethod(), request.getRequestURI(), stats.queries(), millis(stats));
+        }
+    }
+
+    private static BigDecimal millis(QueryStats stats) {
+        return BigDecimal.valueOf(stats.jdbcTime().toNanos() / 1_000, 3);
+    }
+}
@@ -0,0 +1,27 @@
+package com.shiptracker.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Per-request SQL budget; a request over either limit is logged as a warning.
+ *
+ * @param maxQueries  statements a single HTTP request may execute
+ * @param maxJdbcTime time a single HTTP request may spend in JDBC calls
+ * @param headers     whether responses carry {@code X-Query-Count} and {@code X-Query-Time}
+ */
+@ConfigurationProperties(prefix = "query-budget")
+public record QueryBudgetProperties(
+        @DefaultValue("20") int maxQueries,
+        @DefaultValue("250ms") Duration maxJdbcTime,
+        @DefaultValue("false") boolean headers
+) {
+
+    public QueryBudgetProperties {
+        if (maxQueries < 0 || maxJdbcTime.isNegative()) {
+            throw new IllegalArgumentException("query-budget requires max-queries >= 0 and max-jdbc-time >= 0");
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.shiptracker.config;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.spi.LoggingEventBuilder;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Collectors;
+
+/**
+ * Logs slow statements as warnings, a sample of the rest at INFO and all of them at TRACE, as key-value events
+ * ({@code elapsed_ms}, {@code sql}, {@code params}, ...). Statements that are neither slow nor sampled cost one
+ * comparison and one random draw. For batches only the first parameter set is logged.
+ */
+public class QueryLoggingListener implements QueryExecutionListener {
+
+    private static final Logger log = LoggerFactory.getLogger(QueryLoggingListener.class);
+
+    private final QueryLoggingProperties properties;
+    private final long slowThresholdNanos;
+
+    public QueryLoggingListener(QueryLoggingProperties properties) {
+        this.properties = properties;
+        this.slowThresholdNanos = properties.slowThreshold().toNanos();
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        long elapsedNanos = DataSourceProxyPostProcessor.elapsedNanos(execInfo);
+        boolean slow = elapsedNanos >= slowThresholdNanos;
+        LoggingEventBuilder event;
+        if (slow) {
+            event = log.atWarn();
+        } else if (log.isTraceEnabled()) {
+            event = log.atTrace();
+        } else if (properties.sampleRate() > 0 && log.isInfoEnabled()
+                && ThreadLocalRandom.current().nextDouble() < properties.sampleRate()) {
+            event = log.atInfo();
+        } else {
+            return;
+        }
+
+        event.setMessage(slow ? "Slow query" : "Query")
+                .addKeyValue("elapsed_ms", BigDecimal.valueOf(elapsedNanos / 1_000, 3))
+                .addKeyValue("statement", execInfo.getStatementType().name().toLowerCase(Locale.ROOT))
+                .addKeyValue("batch_size", execInfo.isBatch() ? execInfo.getBatchSize() : 1)
+                .addKeyValue("success", execInfo.isSuccess())
+                .addKeyValue("sql", queryInfoList.stream().map(QueryInfo::getQuery).collect(Collectors.joining("; ")))
+                .addKeyValue("params", parameters(queryInfoList))
+                .log();
+    }
+
+    private String parameters(List<QueryInfo> queryInfoList) {
+        if (queryInfoList.isEmpty() || queryInfoList.getFirst().getParametersList().isEmpty()) {
+            return "[]";
+        }
+        return queryInfoList.getFirst().getParametersList().getFirst().stream()
+                .map(this::parameter)
+                .collect(Collectors.joining(", ", "[", "]"));
+    }
+
+    private String parameter(ParameterSetOperation operation) {
+        if (ParameterSetOperation.isSetNullParameterOperation(operation)) {
+            return "null";
+        }
+        Object value = operation.getArgs().length > 1 ? operation.getArgs()[1] : null;
+        if (value == null) {
+            return "null";
+        }
+        return properties.maskParameters() ? "<" + value.getClass().getSimpleName() + ">" : String.valueOf(value);
+    }
+}
@@ -0,0 +1,30 @@
+package com.shiptracker.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Statement logging through the data source proxy. Every statement is logged when the
+ * {@link QueryLoggingListener} logger is at TRACE, for example switched on at runtime through
+ * {@code /actuator/loggers}. The JSON layout, {@code query-log.format}, is read by {@code logback-spring.xml}.
+ *
+ * @param sampleRate     share of statements logged at INFO, 0 to 1
+ * @param slowThreshold  statements taking at least this long are always logged, as warnings
+ * @param maskParameters log only the types of bound parameters, not their values
+ */
+@ConfigurationProperties(prefix = "query-log")
+public record QueryLoggingProperties(
+        @DefaultValue("0.01") double sampleRate,
+        @DefaultValue("500ms") Duration slowThreshold,
+        @DefaultValue("true") boolean maskParameters
+) {
+
+    public QueryLoggingProperties {
+        if (sampleRate < 0 || sampleRate > 1 || slowThreshold.isNegative()) {
+            throw new IllegalArgumentException("query-log requires sample-rate between 0 and 1 "
+                    + "and slow-threshold >= 0");
+        }
+    }
+}
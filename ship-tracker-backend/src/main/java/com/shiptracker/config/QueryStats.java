@@ -0,0 +1,50 @@
+package com.shiptracker.config;
+
+import java.time.Duration;
+
+/**
+ * Statements and JDBC time spent by the current thread since {@link #start()}. Scopes nest: a statement
+ * counts towards every open scope on the thread, so a test can measure one call inside a request.
+ */
+public final class QueryStats {
+
+    private static final ThreadLocal<QueryStats> CURRENT = new ThreadLocal<>();
+
+    private final QueryStats outer;
+    private int queries;
+    private long jdbcNanos;
+
+    private QueryStats(QueryStats outer) {
+        this.outer = outer;
+    }
+
+    public static QueryStats start() {
+        QueryStats stats = new QueryStats(CURRENT.get());
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    /** Closes this scope; the counters stay readable. */
+    public void stop() {
+        if (outer == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(outer);
+        }
+    }
+
+    public int queries() {
+        return queries;
+    }
+
+    public Duration jdbcTime() {
+        return Duration.ofNanos(jdbcNanos);
+    }
+
+    static void record(long elapsedNanos) {
+        for (QueryStats stats = CURRENT.get(); stats != null; stats = stats.outer) {
+            stats.queries++;
+            stats.jdbcNanos += elapsedNanos;
+        }
+    }
+}
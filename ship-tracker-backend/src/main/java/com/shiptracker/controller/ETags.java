@@ -0,0 +1,39 @@
+package com.shiptracker.controller;
+
+import com.shiptracker.exception.PreconditionFailedException;
+
+/**
+ * Strong entity tags derived from the ship version. Every write that changes a ship or its reports
+ * bumps the version, so the tag can be checked with a primary-key lookup instead of building the body.
+ * Bodies also carry dictionary labels, so the tag adds the dictionary generation: {@code "version.generation"}.
+ */
+final class ETags {
+
+    private ETags() {}
+
+    static String of(long version, long generation) {
+        return "\"" + version + "." + Long.toHexString(generation) + "\"";
+    }
+
+    /**
+     * Returns the version required by an {@code If-Match} header, or null when the header is absent or
+     * {@code *}. Only the version is compared: a relabel changes what a ship looks like, not what an
+     * update would overwrite. Weak and unparseable tags can never match strongly, so they fail the precondition.
+     */
+    static Long ifMatchVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.length() > 2 && tag.startsWith("\"") && tag.endsWith("\"")) {
+            String value = tag.substring(1, tag.length() - 1);
+            int dot = value.indexOf('.');
+            try {
+                return Long.valueOf(dot < 0 ? value : value.substring(0, dot));
+            } catch (NumberFormatException ignored) {
+                // falls through to the precondition failure below
+            }
+        }
+        throw new PreconditionFailedException("If-Match does not match the current ship version");
+    }
+}
@@ -0,0 +1,53 @@
+package com.shiptracker.controller;
+
+import com.shiptracker.service.ExportFormat;
+import com.shiptracker.service.ReportExportService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDate;
+
+@Tag(name = "Export")
+@RestController
+@RequestMapping("/api/export")
+public class ExportController {
+
+    private final ReportExportService reportExportService;
+
+    public ExportController(ReportExportService reportExportService) {
+        this.reportExportService = reportExportService;
+    }
+
+    @Operation(summary = "Stream all location reports with their ship",
+            description = "Rows are streamed in (ship, report date) order as they are read from the database.")
+    @ApiResponse(responseCode = "200", description = "NDJSON or CSV stream")
+    @ApiResponse(responseCode = "400", description = "Unsupported format or invalid date")
+    @ApiResponse(responseCode = "401", description = "Not authenticated")
+    @GetMapping("/reports")
+    public ResponseEntity<StreamingResponseBody> exportReports(
+            @Parameter(description = "ndjson or csv")
+            @RequestParam(defaultValue = "ndjson") String format,
+            @Parameter(description = "Only reports dated on or after this day, for incremental pulls")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate since) {
+        ExportFormat exportFormat = ExportFormat.fromParam(format);
+        ContentDisposition disposition = ContentDisposition.attachment()
+                .filename("location-reports." + exportFormat.extension())
+                .build();
+        StreamingResponseBody body = out -> reportExportService.exportReports(exportFormat, since, out);
+        return ResponseEntity.ok()
+                .contentType(exportFormat.mediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, disposition.toString())
+                .body(body);
+    }
+}
@@ -0,0 +1,35 @@
+package com.shiptracker.controller;
+
+import com.shiptracker.dto.LocationReportBatchRequest;
+import com.shiptracker.dto.LocationReportBatchResponse;
+import com.shiptracker.service.LocationReportBatchService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@Tag(name = "Location Reports")
+@RestController
+@RequestMapping("/api/reports")
+public class LocationReportBatchController {
+
+    private final LocationReportBatchService locationReportBatchService;
+
+    public LocationReportBatchController(LocationReportBatchService locationReportBatchService) {
+        this.locationReportBatchService = locationReportBatchService;
+    }
+
+    @Operation(summary = "Add location reports for many ships at once",
+            description = "Each report is validated on its own; invalid reports are rejected without failing the batch.")
+    @ApiResponse(responseCode = "200", description = "Per-report results")
+    @ApiResponse(responseCode = "400", description = "Empty or oversized batch")
+    @ApiResponse(responseCode = "401", description = "Not authenticated")
+    @PostMapping("/batch")
+    public LocationReportBatchResponse createBatch(@Valid @RequestBody LocationReportBatchRequest request) {
+        return locationReportBatchService.ingest(request.reports());
+    }
+}
@@ -1,12 +1,16 @@
 package com.shiptracker.controller;
 
+import com.shiptracker.dto.CursorPage;
 import com.shiptracker.dto.LocationReportRequest;
 import com.shiptracker.dto.LocationReportResponse;
+import com.shiptracker.service.Dictionaries;
 import com.shiptracker.service.LocationReportService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import io.swagger.v3.oas.annotations.Parameter;
 import jakarta.validation.Valid;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -14,8 +18,11 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
+import java.time.LocalDate;
 import java.util.List;
 
 @Tag(name = "Location Reports")
@@ -24,18 +31,56 @@ import java.util.List;
 public class LocationReportController {
 
     private final LocationReportService locationReportService;
+    private final Dictionaries dictionaries;
 
-    public LocationReportController(LocationReportService locationReportService) {
+    public LocationReportController(LocationReportService locationReportService, Dictionaries dictionaries) {
         this.locationReportService = locationReportService;
+        this.dictionaries = dictionaries;
     }
 
-    @Operation(summary = "Get location reports for a ship")
+    @Operation(summary = "Get location reports for a ship",
+            description = "Unpaginated; intended for short histories. Use /page for long-lived ships. "
+                    + "Returns a strong ETag that changes whenever the ship or its reports change.")
     @ApiResponse(responseCode = "200", description = "List of reports")
+    @ApiResponse(responseCode = "304", description = "Reports unchanged since the given ETag")
+    @ApiResponse(responseCode = "400", description = "Invalid date range")
     @ApiResponse(responseCode = "401", description = "Not authenticated")
     @ApiResponse(responseCode = "404", description = "Ship not found")
     @GetMapping
-    public List<LocationReportResponse> getByShip(@PathVariable Long shipId) {
-        return locationReportService.findByShipId(shipId);
+    public List<LocationReportResponse> getByShip(
+            @PathVariable Long shipId,
+            @Parameter(description = "Earliest report date (inclusive)")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @Parameter(description = "Latest report date (inclusive)")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            WebRequest webRequest) {
+        if (webRequest.checkNotModified(eTag(locationReportService.findShipVersion(shipId)))) {
+            return null;
+        }
+        return locationReportService.findByShipId(shipId, from, to);
+    }
+
+    @Operation(summary = "Get a page of location reports for a ship",
+            description = "Keyset-paginated in chronological order; pass nextCursor from the previous page to continue.")
+    @ApiResponse(responseCode = "200", description = "Page of reports")
+    @ApiResponse(responseCode = "304", description = "Reports unchanged since the given ETag")
+    @ApiResponse(responseCode = "400", description = "Invalid date range or cursor")
+    @ApiResponse(responseCode = "401", description = "Not authenticated")
+    @ApiResponse(responseCode = "404", description = "Ship not found")
+    @GetMapping("/page")
+    public CursorPage<LocationReportResponse> getPageByShip(
+            @PathVariable Long shipId,
+            @Parameter(description = "Earliest report date (inclusive)")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @Parameter(description = "Latest report date (inclusive)")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "100") int limit,
+            WebRequest webRequest) {
+        if (webRequest.checkNotModified(eTag(locationReportService.findShipVersion(shipId)))) {
+            return null;
+        }
+        return locationReportService.findPageByShipId(shipId, from, to, cursor, limit);
     }
 
     @Operation(summary = "Add a location report for a ship")
@@ -50,4 +95,8 @@ public class LocationReportController {
         return ResponseEntity.status(HttpStatus.CREATED)
                 .body(locationReportService.create(shipId, request));
     }
+
+    private String eTag(long version) {
+        return ETags.of(version, dictionaries.generation());
+    }
 }
@@ -0,0 +1,53 @@
+package com.shiptracker.controller;
+
+import com.shiptracker.service.PlaceNameIndex;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@Tag(name = "Location Reports")
+@RestController
+@RequestMapping("/api")
+public class PlaceSuggestionController {
+
+    private final PlaceNameIndex placeNameIndex;
+
+    public PlaceSuggestionController(PlaceNameIndex placeNameIndex) {
+        this.placeNameIndex = placeNameIndex;
+    }
+
+    @Operation(summary = "Suggest port names",
+            description = "Ports starting with q, ignoring case and accents, most reported first. "
+                    + "An empty q returns the most reported ports.")
+    @ApiResponse(responseCode = "200", description = "Port names")
+    @ApiResponse(responseCode = "401", description = "Not authenticated")
+    @GetMapping("/ports/suggest")
+    public List<String> suggestPorts(
+            @Parameter(description = "Typed prefix, e.g. 'gdan' for Gdańsk")
+            @RequestParam(defaultValue = "") String q,
+            @Parameter(description = "Maximum number of names, up to " + PlaceNameIndex.MAX_SUGGESTIONS)
+            @RequestParam(defaultValue = "10") int limit) {
+        return placeNameIndex.suggestPorts(q, limit);
+    }
+
+    @Operation(summary = "Suggest country names",
+            description = "Countries starting with q, ignoring case and accents, most reported first. "
+                    + "An empty q returns the most reported countries.")
+    @ApiResponse(responseCode = "200", description = "Country names")
+    @ApiResponse(responseCode = "401", description = "Not authenticated")
+    @GetMapping("/countries/suggest")
+    public List<String> suggestCountries(
+            @Parameter(description = "Typed prefix")
+            @RequestParam(defaultValue = "") String q,
+            @Parameter(description = "Maximum number of names, up to " + PlaceNameIndex.MAX_SUGGESTIONS)
+            @RequestParam(defaultValue = "10") int limit) {
+        return placeNameIndex.suggestCountries(q, limit);
+    }
+}
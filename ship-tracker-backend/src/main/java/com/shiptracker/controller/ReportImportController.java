@@ -0,0 +1,49 @@
+package com.shiptracker.controller;
+
+import com.shiptracker.dto.ImportProgressResponse;
+import com.shiptracker.dto.ReportImportResponse;
+import com.shiptracker.service.ReportImportService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.util.Collection;
+
+@Tag(name = "Admin")
+@RestController
+@RequestMapping("/api/admin/reports")
+public class ReportImportController {
+
+    private final ReportImportService reportImportService;
+
+    public ReportImportController(ReportImportService reportImportService) {
+        this.reportImportService = reportImportService;
+    }
+
+    @Operation(summary = "Bulk-import historical location reports from CSV",
+            description = "Request body is a text/csv stream with the header ship_name,report_date,country,port. "
+                    + "Ships are matched by unique name; rows for unknown or ambiguous names are skipped.")
+    @ApiResponse(responseCode = "200", description = "Import finished")
+    @ApiResponse(responseCode = "401", description = "Not authenticated")
+    @ApiResponse(responseCode = "403", description = "Not an administrator")
+    @PostMapping(value = "/import", consumes = "text/csv")
+    public ReportImportResponse importCsv(HttpServletRequest request) throws IOException {
+        long length = request.getContentLengthLong();
+        return reportImportService.importCsv(request.getInputStream(), length < 0 ? null : length);
+    }
+
+    @Operation(summary = "Progress of imports that are still running")
+    @ApiResponse(responseCode = "200", description = "Running imports")
+    @ApiResponse(responseCode = "401", description = "Not authenticated")
+    @ApiResponse(responseCode = "403", description = "Not an administrator")
+    @GetMapping("/import/progress")
+    public Collection<ImportProgressResponse> progress() {
+        return reportImportService.findRunning();
+    }
+}
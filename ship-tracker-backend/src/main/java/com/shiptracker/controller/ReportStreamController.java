@@ -0,0 +1,39 @@
+package com.shiptracker.controller;
+
+import com.shiptracker.service.ReportStreamService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Set;
+
+@Tag(name = "Streams")
+@RestController
+@RequestMapping("/api/stream")
+public class ReportStreamController {
+
+    private final ReportStreamService reportStreamService;
+
+    public ReportStreamController(ReportStreamService reportStreamService) {
+        this.reportStreamService = reportStreamService;
+    }
+
+    @Operation(summary = "Stream newly created location reports",
+            description = "Server-Sent Events: a 'report' event with {shipId, report} per committed report. "
+                    + "A 'dropped' event carries the number of reports skipped because the client fell behind.")
+    @ApiResponse(responseCode = "200", description = "Event stream")
+    @ApiResponse(responseCode = "401", description = "Not authenticated")
+    @GetMapping(value = "/reports", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamReports(
+            @Parameter(description = "Only reports of these ships; all ships when omitted")
+            @RequestParam(required = false) Set<Long> shipIds) {
+        return reportStreamService.subscribe(shipIds == null ? Set.of() : shipIds);
+    }
+}
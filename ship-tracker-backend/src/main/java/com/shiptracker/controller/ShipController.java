@@ -1,24 +1,41 @@
 package com.shiptracker.controller;
 
+import com.shiptracker.dto.CursorPage;
 import com.shiptracker.dto.GeneratedNameResponse;
+import com.shiptracker.dto.ShipFilter;
 import com.shiptracker.dto.ShipRequest;
+import com.shiptracker.dto.ShipPositionResponse;
 import com.shiptracker.dto.ShipResponse;
+import com.shiptracker.service.Dictionaries;
 import com.shiptracker.service.NameGeneratorService;
+import com.shiptracker.service.PositionSnapshotService;
+import com.shiptracker.service.ShipPositionService;
 import com.shiptracker.service.ShipService;
+import com.shiptracker.service.Versioned;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import org.springdoc.core.annotations.ParameterObject;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.LocalDate;
 import java.util.List;
 
 @Tag(name = "Ships")
@@ -28,27 +45,81 @@ public class ShipController {
 
     private final ShipService shipService;
     private final NameGeneratorService nameGeneratorService;
+    private final ShipPositionService shipPositionService;
+    private final PositionSnapshotService positionSnapshotService;
+    private final Dictionaries dictionaries;
 
-    public ShipController(ShipService shipService, NameGeneratorService nameGeneratorService) {
+    public ShipController(ShipService shipService,
+                          NameGeneratorService nameGeneratorService,
+                          ShipPositionService shipPositionService,
+                          PositionSnapshotService positionSnapshotService,
+                          Dictionaries dictionaries) {
         this.shipService = shipService;
         this.nameGeneratorService = nameGeneratorService;
+        this.shipPositionService = shipPositionService;
+        this.positionSnapshotService = positionSnapshotService;
+        this.dictionaries = dictionaries;
     }
 
-    @Operation(summary = "Get all ships")
-    @ApiResponse(responseCode = "200", description = "List of ships")
+    @Operation(summary = "Get a page of ships",
+            description = "Keyset-paginated; pass nextCursor from the previous page to continue. "
+                    + "Sort by name, launchDate or tonnage, prefixed with '-' for descending order.")
+    @ApiResponse(responseCode = "200", description = "Page of ships")
+    @ApiResponse(responseCode = "400", description = "Invalid filter, sort or cursor")
     @ApiResponse(responseCode = "401", description = "Not authenticated")
     @GetMapping
-    public List<ShipResponse> getAll() {
-        return shipService.findAll();
+    public CursorPage<ShipResponse> getAll(
+            @ParameterObject ShipFilter filter,
+            @RequestParam(defaultValue = "name") String sort,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit) {
+        return shipService.findPage(filter, sort, cursor, limit);
     }
 
-    @Operation(summary = "Get ship by ID")
+    @Operation(summary = "Get the latest position of every ship",
+            description = "One entry per ship with at least one report, ordered by ship id. "
+                    + "Reflects the report with the latest date; a backdated report does not move the ship.")
+    @ApiResponse(responseCode = "200", description = "Latest positions")
+    @ApiResponse(responseCode = "401", description = "Not authenticated")
+    @GetMapping("/positions")
+    public List<ShipPositionResponse> getPositions() {
+        return shipPositionService.findAll();
+    }
+
+    @Operation(summary = "Get the position of every ship on a given day",
+            description = "For each ship, its latest report dated on or before asOf; ships without such a report "
+                    + "are left out. Same shape as the current positions, streamed in ship id order.")
+    @ApiResponse(responseCode = "200", description = "Positions as of the given day")
+    @ApiResponse(responseCode = "400", description = "Invalid date")
+    @ApiResponse(responseCode = "401", description = "Not authenticated")
+    @GetMapping(value = "/positions", params = "asOf")
+    public ResponseEntity<StreamingResponseBody> getPositionsAsOf(
+            @Parameter(description = "Day to report positions for, e.g. 2024-06-30")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate asOf) {
+        StreamingResponseBody body = out -> positionSnapshotService.writePositions(asOf, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body);
+    }
+
+    @Operation(summary = "Get ship by ID",
+            description = "Returns a strong ETag; send it back in If-None-Match to get 304 while the ship is unchanged.")
     @ApiResponse(responseCode = "200", description = "Ship found")
+    @ApiResponse(responseCode = "304", description = "Ship unchanged since the given ETag")
     @ApiResponse(responseCode = "401", description = "Not authenticated")
     @ApiResponse(responseCode = "404", description = "Ship not found")
     @GetMapping("/{id}")
-    public ShipResponse getById(@PathVariable Long id) {
-        return shipService.findById(id);
+    public ShipResponse getById(@PathVariable Long id, WebRequest webRequest) {
+        Versioned<ShipResponse> ship = shipService.findById(id);
+        if (ship.version() != shipService.findVersion(id)) {
+            // Cached before a write that has committed but not evicted it yet
+            ship = shipService.refresh(id);
+        }
+        // The tag is the version the cached body was read at, so it never vouches for an older body
+        if (webRequest.checkNotModified(eTag(ship.version()))) {
+            return null;
+        }
+        return ship.body();
     }
 
     @Operation(summary = "Create a new ship")
@@ -60,17 +131,26 @@ public class ShipController {
         return ResponseEntity.status(HttpStatus.CREATED).body(shipService.create(request));
     }
 
-    @Operation(summary = "Update ship")
+    @Operation(summary = "Update ship",
+            description = "Send the ETag from a previous read in If-Match to reject the update if the ship changed since.")
     @ApiResponse(responseCode = "200", description = "Ship updated")
     @ApiResponse(responseCode = "400", description = "Validation error")
     @ApiResponse(responseCode = "401", description = "Not authenticated")
     @ApiResponse(responseCode = "404", description = "Ship not found")
+    @ApiResponse(responseCode = "409", description = "Ship modified concurrently")
+    @ApiResponse(responseCode = "412", description = "If-Match does not match the current version")
     @PutMapping("/{id}")
-    public ShipResponse update(@PathVariable Long id, @Valid @RequestBody ShipRequest request) {
-        return shipService.update(id, request);
+    public ResponseEntity<ShipResponse> update(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @Valid @RequestBody ShipRequest request) {
+        Versioned<ShipResponse> updated = shipService.update(id, request, ETags.ifMatchVersion(ifMatch));
+        return ResponseEntity.ok().eTag(eTag(updated.version())).body(updated.body());
     }
 
-    @Operation(summary = "Generate a random ship name")
+    @Operation(summary = "Generate a random ship name",
+            description = "Never returns a name already used by a ship. Falls back to embedded word lists "
+                    + "when the external name API is unavailable.")
     @ApiResponse(responseCode = "200", description = "Generated name")
     @ApiResponse(responseCode = "401", description = "Not authenticated")
     @ApiResponse(responseCode = "503", description = "External API unavailable")
@@ -78,4 +158,8 @@ public class ShipController {
     public GeneratedNameResponse generateName() {
         return new GeneratedNameResponse(nameGeneratorService.generateName());
     }
+
+    private String eTag(long version) {
+        return ETags.of(version, dictionaries.generation());
+    }
 }
@@ -0,0 +1,32 @@
+package com.shiptracker.controller;
+
+import com.shiptracker.dto.ShipPositionRebuildResponse;
+import com.shiptracker.service.ShipPositionService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@Tag(name = "Admin")
+@RestController
+@RequestMapping("/api/admin/ship-positions")
+public class ShipPositionController {
+
+    private final ShipPositionService shipPositionService;
+
+    public ShipPositionController(ShipPositionService shipPositionService) {
+        this.shipPositionService = shipPositionService;
+    }
+
+    @Operation(summary = "Recompute the latest position of every ship",
+            description = "Use after loading location reports outside the API, e.g. directly into the database.")
+    @ApiResponse(responseCode = "200", description = "Positions rebuilt")
+    @ApiResponse(responseCode = "401", description = "Not authenticated")
+    @ApiResponse(responseCode = "403", description = "Not an administrator")
+    @PostMapping("/rebuild")
+    public ShipPositionRebuildResponse rebuild() {
+        return shipPositionService.rebuild();
+    }
+}
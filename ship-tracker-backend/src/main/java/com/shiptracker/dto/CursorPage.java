@@ -0,0 +1,12 @@
+package com.shiptracker.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+public record CursorPage<T>(
+        List<T> items,
+
+        @Schema(description = "Opaque cursor for the next page, null when this is the last page")
+        String nextCursor
+) {}
@@ -0,0 +1,5 @@
+package com.shiptracker.dto;
+
+public record DictionaryRelabeledEvent(
+        String dictionary
+) {}
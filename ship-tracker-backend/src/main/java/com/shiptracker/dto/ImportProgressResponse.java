@@ -0,0 +1,11 @@
+package com.shiptracker.dto;
+
+import java.time.Instant;
+
+public record ImportProgressResponse(
+        String importId,
+        String phase,
+        long bytesRead,
+        Long totalBytes,
+        Instant startedAt
+) {}
@@ -0,0 +1,12 @@
+package com.shiptracker.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public record LocationReportBatchRequest(
+        @Schema(description = "Reports to ingest; items are validated one by one")
+        @NotEmpty @Size(max = 1000) List<LocationReportBatchItem> reports
+) {}
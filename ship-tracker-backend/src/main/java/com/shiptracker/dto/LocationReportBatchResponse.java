@@ -0,0 +1,23 @@
+package com.shiptracker.dto;
+
+import java.util.List;
+
+public record LocationReportBatchResponse(
+        int accepted,
+        int rejected,
+        List<ItemResult> results
+) {
+
+    public enum Status { ACCEPTED, REJECTED }
+
+    public record ItemResult(int index, Long shipId, Status status, String error) {
+
+        public static ItemResult accepted(int index, Long shipId) {
+            return new ItemResult(index, shipId, Status.ACCEPTED, null);
+        }
+
+        public static ItemResult rejected(int index, Long shipId, String error) {
+            return new ItemResult(index, shipId, Status.REJECTED, error);
+        }
+    }
+}
@@ -0,0 +1,6 @@
+package com.shiptracker.dto;
+
+public record LocationReportEvent(
+        Long shipId,
+        LocationReportResponse report
+) {}
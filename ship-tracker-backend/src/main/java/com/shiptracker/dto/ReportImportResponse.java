@@ -0,0 +1,9 @@
+package com.shiptracker.dto;
+
+public record ReportImportResponse(
+        String importId,
+        long rowsRead,
+        long rowsImported,
+        long rowsSkipped,
+        long durationMs
+) {}
@@ -0,0 +1,32 @@
+package com.shiptracker.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public record ShipFilter(
+        @Schema(description = "Exact ship type", example = "Cargo")
+        String shipType,
+
+        @Schema(description = "Minimum tonnage (inclusive)", example = "10000")
+        BigDecimal minTonnage,
+
+        @Schema(description = "Maximum tonnage (inclusive)", example = "100000")
+        BigDecimal maxTonnage,
+
+        @Schema(description = "Earliest launch date (inclusive)", example = "2000-01-01")
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate launchedFrom,
+
+        @Schema(description = "Latest launch date (inclusive)", example = "2020-12-31")
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate launchedTo,
+
+        @Schema(description = "Case-insensitive name prefix", example = "Atl")
+        String namePrefix
+) {
+
+    public static ShipFilter none() {
+        return new ShipFilter(null, null, null, null, null, null);
+    }
+}
@@ -0,0 +1,6 @@
+package com.shiptracker.dto;
+
+public record ShipPositionRebuildResponse(
+        int ships,
+        long durationMs
+) {}
@@ -0,0 +1,11 @@
+package com.shiptracker.dto;
+
+import java.time.LocalDate;
+
+public record ShipPositionResponse(
+        Long shipId,
+        Long reportId,
+        LocalDate reportDate,
+        String country,
+        String port
+) {}
@@ -0,0 +1,21 @@
+package com.shiptracker.entity;
+
+import jakarta.persistence.*;
+
+/** Country, referenced by {@code location_reports.country_id}. */
+@Entity
+@Table(name = "countries")
+public class Country {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Integer id;
+
+    @Column(unique = true, nullable = false, length = 100)
+    private String name;
+
+    public Country() {}
+
+    public Integer getId() { return id; }
+    public String getName() { return name; }
+}
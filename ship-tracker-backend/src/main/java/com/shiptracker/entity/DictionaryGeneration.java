@@ -0,0 +1,21 @@
+package com.shiptracker.entity;
+
+import jakarta.persistence.*;
+
+/** Relabel counter of one lookup table; database triggers bump it, adding entries does not. */
+@Entity
+@Table(name = "dictionary_generations")
+public class DictionaryGeneration {
+
+    @Id
+    @Column(length = 20)
+    private String dictionary;
+
+    @Column(nullable = false)
+    private long generation;
+
+    public DictionaryGeneration() {}
+
+    public String getDictionary() { return dictionary; }
+    public long getGeneration() { return generation; }
+}
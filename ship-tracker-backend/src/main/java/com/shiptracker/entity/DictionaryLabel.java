@@ -0,0 +1,54 @@
+package com.shiptracker.entity;
+
+import jakarta.persistence.*;
+import java.io.Serializable;
+import java.util.Objects;
+
+/** Display label of a lookup table entry in one locale; entries without one are shown by their name. */
+@Entity
+@Table(name = "dictionary_labels")
+@IdClass(DictionaryLabel.Key.class)
+public class DictionaryLabel {
+
+    @Id
+    @Column(length = 20)
+    private String dictionary;
+
+    @Id
+    @Column(name = "entry_id")
+    private Integer entryId;
+
+    @Id
+    @Column(length = 35)
+    private String locale;
+
+    @Column(nullable = false, length = 100)
+    private String label;
+
+    public DictionaryLabel() {}
+
+    public String getDictionary() { return dictionary; }
+    public Integer getEntryId() { return entryId; }
+    public String getLocale() { return locale; }
+    public String getLabel() { return label; }
+
+    public static class Key implements Serializable {
+
+        private String dictionary;
+        private Integer entryId;
+        private String locale;
+
+        public Key() {}
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Key other && Objects.equals(dictionary, other.dictionary)
+                    && Objects.equals(entryId, other.entryId) && Objects.equals(locale, other.locale);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(dictionary, entryId, locale);
+        }
+    }
+}
@@ -8,7 +8,8 @@ import java.time.LocalDate;
 public class LocationReport {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "location_reports_id_seq")
+    @SequenceGenerator(name = "location_reports_id_seq", sequenceName = "location_reports_id_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -18,22 +19,22 @@ public class LocationReport {
     @Column(name = "report_date", nullable = false)
     private LocalDate reportDate;
 
-    @Column(nullable = false, length = 100)
-    private String country;
+    @Column(name = "country_id", nullable = false)
+    private Integer countryId;
 
-    @Column(nullable = false, length = 100)
-    private String port;
+    @Column(name = "port_id", nullable = false)
+    private Integer portId;
 
     public LocationReport() {}
 
     public Long getId() { return id; }
     public Ship getShip() { return ship; }
     public LocalDate getReportDate() { return reportDate; }
-    public String getCountry() { return country; }
-    public String getPort() { return port; }
+    public Integer getCountryId() { return countryId; }
+    public Integer getPortId() { return portId; }
 
     public void setShip(Ship ship) { this.ship = ship; }
     public void setReportDate(LocalDate reportDate) { this.reportDate = reportDate; }
-    public void setCountry(String country) { this.country = country; }
-    public void setPort(String port) { this.port = port; }
+    public void setCountryId(Integer countryId) { this.countryId = countryId; }
+    public void setPortId(Integer portId) { this.portId = portId; }
 }
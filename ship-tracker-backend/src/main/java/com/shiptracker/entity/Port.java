@@ -0,0 +1,21 @@
+package com.shiptracker.entity;
+
+import jakarta.persistence.*;
+
+/** Port, referenced by {@code location_reports.port_id}. */
+@Entity
+@Table(name = "ports")
+public class Port {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Integer id;
+
+    @Column(unique = true, nullable = false, length = 100)
+    private String name;
+
+    public Port() {}
+
+    public Integer getId() { return id; }
+    public String getName() { return name; }
+}
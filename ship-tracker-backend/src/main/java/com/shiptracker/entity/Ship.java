@@ -11,7 +11,8 @@ import java.util.List;
 public class Ship {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "ships_id_seq")
+    @SequenceGenerator(name = "ships_id_seq", sequenceName = "ships_id_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, length = 100)
@@ -20,12 +21,16 @@ public class Ship {
     @Column(name = "launch_date", nullable = false)
     private LocalDate launchDate;
 
-    @Column(name = "ship_type", nullable = false, length = 50)
-    private String shipType;
+    @Column(name = "ship_type_id", nullable = false)
+    private Integer shipTypeId;
 
     @Column(nullable = false, precision = 12, scale = 2)
     private BigDecimal tonnage;
 
+    @Version
+    @Column(nullable = false)
+    private long version;
+
     @OneToMany(mappedBy = "ship", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<LocationReport> locationReports = new ArrayList<>();
 
@@ -34,12 +39,13 @@ public class Ship {
     public Long getId() { return id; }
     public String getName() { return name; }
     public LocalDate getLaunchDate() { return launchDate; }
-    public String getShipType() { return shipType; }
+    public Integer getShipTypeId() { return shipTypeId; }
     public BigDecimal getTonnage() { return tonnage; }
+    public long getVersion() { return version; }
     public List<LocationReport> getLocationReports() { return locationReports; }
 
     public void setName(String name) { this.name = name; }
     public void setLaunchDate(LocalDate launchDate) { this.launchDate = launchDate; }
-    public void setShipType(String shipType) { this.shipType = shipType; }
+    public void setShipTypeId(Integer shipTypeId) { this.shipTypeId = shipTypeId; }
     public void setTonnage(BigDecimal tonnage) { this.tonnage = tonnage; }
 }
@@ -0,0 +1,41 @@
+package com.shiptracker.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDate;
+
+/**
+ * Copy of the newest location report of a ship, plus the date of its oldest one, maintained by
+ * {@code ShipPositionService}.
+ */
+@Entity
+@Table(name = "ship_latest_position")
+public class ShipLatestPosition {
+
+    @Id
+    @Column(name = "ship_id")
+    private Long shipId;
+
+    @Column(name = "report_id", nullable = false)
+    private Long reportId;
+
+    @Column(name = "report_date", nullable = false)
+    private LocalDate reportDate;
+
+    @Column(name = "country_id", nullable = false)
+    private Integer countryId;
+
+    @Column(name = "port_id", nullable = false)
+    private Integer portId;
+
+    @Column(name = "first_report_date", nullable = false)
+    private LocalDate firstReportDate;
+
+    public ShipLatestPosition() {}
+
+    public Long getShipId() { return shipId; }
+    public Long getReportId() { return reportId; }
+    public LocalDate getReportDate() { return reportDate; }
+    public Integer getCountryId() { return countryId; }
+    public Integer getPortId() { return portId; }
+    public LocalDate getFirstReportDate() { return firstReportDate; }
+}
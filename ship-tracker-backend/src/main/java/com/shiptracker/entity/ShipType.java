@@ -0,0 +1,24 @@
+package com.shiptracker.entity;
+
+import jakarta.persistence.*;
+
+/**
+ * Ship type, referenced by {@code ships.ship_type_id}. Like the other lookup tables it is written and read
+ * through {@code Dictionaries}; the entity only describes the schema.
+ */
+@Entity
+@Table(name = "ship_types")
+public class ShipType {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Integer id;
+
+    @Column(unique = true, nullable = false, length = 50)
+    private String name;
+
+    public ShipType() {}
+
+    public Integer getId() { return id; }
+    public String getName() { return name; }
+}
@@ -5,7 +5,8 @@ import org.springframework.data.jpa.repository.JpaRepository;
 
 import java.util.List;
 
-public interface LocationReportRepository extends JpaRepository<LocationReport, Long> {
+public interface LocationReportRepository extends JpaRepository<LocationReport, Long>,
+        LocationReportRepositoryCustom {
 
     List<LocationReport> findByShipIdOrderByReportDateAsc(Long shipId);
 }
@@ -0,0 +1,16 @@
+package com.shiptracker.repository;
+
+import com.shiptracker.entity.LocationReport;
+import org.springframework.data.domain.Limit;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface LocationReportRepositoryCustom {
+
+    /**
+     * Reports of a ship ordered by (reportDate, id), optionally bounded by inclusive dates and
+     * starting after the given keyset. Null bounds and a null keyset are left out of the query.
+     */
+    List<LocationReport> findHistory(Long shipId, LocalDate from, LocalDate to, ReportKeyset after, Limit limit);
+}
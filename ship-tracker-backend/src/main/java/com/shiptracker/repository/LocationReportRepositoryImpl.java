@@ -0,0 +1,58 @@
+package com.shiptracker.repository;
+
+import com.shiptracker.entity.LocationReport;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.domain.Limit;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+class LocationReportRepositoryImpl implements LocationReportRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<LocationReport> findHistory(Long shipId, LocalDate from, LocalDate to,
+                                            ReportKeyset after, Limit limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<LocationReport> query = cb.createQuery(LocationReport.class);
+        Root<LocationReport> report = query.from(LocationReport.class);
+        Path<LocalDate> reportDate = report.get("reportDate");
+        Path<Long> id = report.get("id");
+
+        List<Predicate> predicates = new ArrayList<>();
+        predicates.add(cb.equal(report.get("ship").get("id"), shipId));
+        if (from != null) {
+            predicates.add(cb.greaterThanOrEqualTo(reportDate, from));
+        }
+        if (to != null) {
+            predicates.add(cb.lessThanOrEqualTo(reportDate, to));
+        }
+        if (after != null) {
+            // Implied by the keyset condition, but spelled out as a plain range so PostgreSQL prunes older partitions
+            predicates.add(cb.greaterThanOrEqualTo(reportDate, after.reportDate()));
+            predicates.add(cb.or(
+                    cb.greaterThan(reportDate, after.reportDate()),
+                    cb.and(cb.equal(reportDate, after.reportDate()), cb.greaterThan(id, after.id()))));
+        }
+
+        query.select(report)
+                .where(predicates.toArray(Predicate[]::new))
+                .orderBy(cb.asc(reportDate), cb.asc(id));
+
+        TypedQuery<LocationReport> typedQuery = entityManager.createQuery(query);
+        if (limit.isLimited()) {
+            typedQuery.setMaxResults(limit.max());
+        }
+        return typedQuery.getResultList();
+    }
+}
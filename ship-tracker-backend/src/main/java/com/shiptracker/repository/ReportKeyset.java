@@ -0,0 +1,9 @@
+package com.shiptracker.repository;
+
+import java.time.LocalDate;
+
+/**
+ * Position after the last report of a page: its report date and id as tie-breaker.
+ */
+public record ReportKeyset(LocalDate reportDate, Long id) {
+}
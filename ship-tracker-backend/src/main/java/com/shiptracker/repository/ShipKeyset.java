@@ -0,0 +1,7 @@
+package com.shiptracker.repository;
+
+/**
+ * Position after the last row of a page: the value of the sort column and the ship id as tie-breaker.
+ */
+public record ShipKeyset(Comparable<?> value, Long id) {
+}
@@ -0,0 +1,47 @@
+package com.shiptracker.repository;
+
+import com.shiptracker.entity.ShipLatestPosition;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface ShipLatestPositionRepository extends JpaRepository<ShipLatestPosition, Long> {
+
+    /** The whole fleet in primary key order, projected without loading entities. */
+    @Query("""
+            select new com.shiptracker.repository.ShipPositionRow(p.shipId, p.reportId, p.reportDate, p.countryId, p.portId)
+            from ShipLatestPosition p
+            order by p.shipId
+            """)
+    List<ShipPositionRow> findAllPositions();
+
+    /** Replaces the stored position only if the given report is newer; returns 0 otherwise or when there is none. */
+    @Modifying
+    @Query("""
+            update ShipLatestPosition p
+            set p.reportId = :reportId, p.reportDate = :reportDate, p.countryId = :countryId, p.portId = :portId
+            where p.shipId = :shipId
+              and (p.reportDate < :reportDate or (p.reportDate = :reportDate and p.reportId < :reportId))
+            """)
+    int advance(Long shipId, Long reportId, LocalDate reportDate, Integer countryId, Integer portId);
+
+    /** Stores the first position of a ship; returns 0 when the ship already has one. */
+    @Modifying
+    @Query(value = """
+            INSERT INTO ship_latest_position (ship_id, report_id, report_date, country_id, port_id, first_report_date)
+            SELECT :shipId, :reportId, :reportDate, :countryId, :portId, :reportDate
+            WHERE NOT EXISTS (SELECT 1 FROM ship_latest_position WHERE ship_id = :shipId)
+            """, nativeQuery = true)
+    int insertIfAbsent(Long shipId, Long reportId, LocalDate reportDate, Integer countryId, Integer portId);
+
+    /** Moves the start of the ship's history back to {@code reportDate} if it is older. */
+    @Modifying
+    @Query("""
+            update ShipLatestPosition p set p.firstReportDate = :reportDate
+            where p.shipId = :shipId and p.firstReportDate > :reportDate
+            """)
+    int extendHistory(Long shipId, LocalDate reportDate);
+}
@@ -0,0 +1,11 @@
+package com.shiptracker.repository;
+
+import java.time.LocalDate;
+
+public record ShipPositionRow(
+        Long shipId,
+        Long reportId,
+        LocalDate reportDate,
+        Integer countryId,
+        Integer portId
+) {}
@@ -1,7 +1,44 @@
 package com.shiptracker.repository;
 
 import com.shiptracker.entity.Ship;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
-public interface ShipRepository extends JpaRepository<Ship, Long> {
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+public interface ShipRepository extends JpaRepository<Ship, Long>, ShipRepositoryCustom {
+
+    @Query("""
+            select new com.shiptracker.repository.ShipSummary(
+                s.id, s.name, s.launchDate, s.shipTypeId, s.tonnage, count(r), s.version)
+            from Ship s left join s.locationReports r
+            where s.id = :id
+            group by s.id, s.name, s.launchDate, s.shipTypeId, s.tonnage, s.version
+            """)
+    Optional<ShipSummary> findSummaryById(Long id);
+
+    @Query("select count(r) from LocationReport r where r.ship.id = :shipId")
+    long countReportsByShipId(Long shipId);
+
+    @Query("select s.version from Ship s where s.id = :id")
+    Optional<Long> findVersionById(Long id);
+
+    /** Bumps the version without loading the ship; returns 0 when the ship does not exist. */
+    @Modifying
+    @Query("update Ship s set s.version = s.version + 1 where s.id = :id")
+    int incrementVersion(Long id);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("select s.name from Ship s")
+    Stream<String> streamAllNames();
+
+    @Query("select s.id from Ship s where s.id in :ids")
+    List<Long> findExistingIds(Collection<Long> ids);
 }
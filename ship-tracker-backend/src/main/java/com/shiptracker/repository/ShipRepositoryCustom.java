@@ -0,0 +1,10 @@
+package com.shiptracker.repository;
+
+import com.shiptracker.dto.ShipFilter;
+
+import java.util.List;
+
+public interface ShipRepositoryCustom {
+
+    List<ShipSummary> findPage(ShipFilter filter, ShipSort sort, ShipKeyset after, int limit);
+}
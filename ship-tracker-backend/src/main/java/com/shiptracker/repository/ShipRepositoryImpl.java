@@ -0,0 +1,111 @@
+package com.shiptracker.repository;
+
+import com.shiptracker.dto.ShipFilter;
+import com.shiptracker.entity.LocationReport;
+import com.shiptracker.entity.Ship;
+import com.shiptracker.entity.ShipType;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+class ShipRepositoryImpl implements ShipRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<ShipSummary> findPage(ShipFilter filter, ShipSort sort, ShipKeyset after, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<ShipSummary> query = cb.createQuery(ShipSummary.class);
+        Root<Ship> ship = query.from(Ship.class);
+
+        // Correlated count instead of join + group by, so the planner can walk the sort index and stop at the limit
+        Subquery<Long> reportCount = query.subquery(Long.class);
+        Root<LocationReport> report = reportCount.from(LocationReport.class);
+        reportCount.select(cb.count(report)).where(cb.equal(report.get("ship"), ship));
+
+        query.select(cb.construct(ShipSummary.class,
+                ship.get("id"),
+                ship.get("name"),
+                ship.get("launchDate"),
+                ship.get("shipTypeId"),
+                ship.get("tonnage"),
+                reportCount,
+                ship.get("version")));
+
+        List<Predicate> predicates = filterPredicates(cb, query, ship, filter);
+        if (after != null) {
+            predicates.add(keysetPredicate(cb, ship, sort, after));
+        }
+        query.where(predicates.toArray(Predicate[]::new));
+
+        Expression<?> sortPath = ship.get(sort.field().attribute());
+        Expression<?> idPath = ship.get("id");
+        List<Order> order = sort.descending()
+                ? List.of(cb.desc(sortPath), cb.desc(idPath))
+                : List.of(cb.asc(sortPath), cb.asc(idPath));
+        query.orderBy(order);
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    private List<Predicate> filterPredicates(CriteriaBuilder cb, CriteriaQuery<?> query, Root<Ship> ship,
+                                             ShipFilter filter) {
+        List<Predicate> predicates = new ArrayList<>();
+        if (filter.shipType() != null && !filter.shipType().isBlank()) {
+            // Resolved in SQL rather than through Dictionaries, so filtering by an unknown type adds no entry
+            Subquery<Integer> shipType = query.subquery(Integer.class);
+            Root<ShipType> type = shipType.from(ShipType.class);
+            shipType.select(type.get("id")).where(cb.equal(type.get("name"), filter.shipType()));
+            predicates.add(cb.equal(ship.get("shipTypeId"), shipType));
+        }
+        if (filter.minTonnage() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(ship.get("tonnage"), filter.minTonnage()));
+        }
+        if (filter.maxTonnage() != null) {
+            predicates.add(cb.lessThanOrEqualTo(ship.get("tonnage"), filter.maxTonnage()));
+        }
+        if (filter.launchedFrom() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(ship.get("launchDate"), filter.launchedFrom()));
+        }
+        if (filter.launchedTo() != null) {
+            predicates.add(cb.lessThanOrEqualTo(ship.get("launchDate"), filter.launchedTo()));
+        }
+        if (filter.namePrefix() != null && !filter.namePrefix().isBlank()) {
+            String pattern = escapeLike(filter.namePrefix().toLowerCase(Locale.ROOT)) + "%";
+            predicates.add(cb.like(cb.lower(ship.get("name")), pattern, '\\'));
+        }
+        return predicates;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private Predicate keysetPredicate(CriteriaBuilder cb, Root<Ship> ship, ShipSort sort, ShipKeyset after) {
+        Expression sortPath = ship.get(sort.field().attribute());
+        Expression<Long> idPath = ship.get("id");
+        Comparable value = after.value();
+        if (sort.descending()) {
+            return cb.or(
+                    cb.lessThan(sortPath, value),
+                    cb.and(cb.equal(sortPath, value), cb.lessThan(idPath, after.id())));
+        }
+        return cb.or(
+                cb.greaterThan(sortPath, value),
+                cb.and(cb.equal(sortPath, value), cb.greaterThan(idPath, after.id())));
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
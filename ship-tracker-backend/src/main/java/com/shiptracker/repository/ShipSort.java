@@ -0,0 +1,22 @@
+package com.shiptracker.repository;
+
+public record ShipSort(ShipSortField field, boolean descending) {
+
+    public static final ShipSort DEFAULT = new ShipSort(ShipSortField.NAME, false);
+
+    /**
+     * Parses {@code name}, {@code -name}, {@code tonnage}, {@code -launchDate} etc.
+     */
+    public static ShipSort parse(String value) {
+        if (value == null || value.isBlank()) {
+            return DEFAULT;
+        }
+        boolean descending = value.startsWith("-");
+        return new ShipSort(ShipSortField.fromAttribute(descending ? value.substring(1) : value), descending);
+    }
+
+    @Override
+    public String toString() {
+        return (descending ? "-" : "") + field.attribute();
+    }
+}
@@ -0,0 +1,45 @@
+package com.shiptracker.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.function.Function;
+
+public enum ShipSortField {
+
+    NAME("name", value -> value, ShipSummary::name),
+    LAUNCH_DATE("launchDate", LocalDate::parse, summary -> summary.launchDate().toString()),
+    TONNAGE("tonnage", BigDecimal::new, summary -> summary.tonnage().toPlainString());
+
+    private final String attribute;
+    private final Function<String, Comparable<?>> parser;
+    private final Function<ShipSummary, String> formatter;
+
+    ShipSortField(String attribute,
+                  Function<String, Comparable<?>> parser,
+                  Function<ShipSummary, String> formatter) {
+        this.attribute = attribute;
+        this.parser = parser;
+        this.formatter = formatter;
+    }
+
+    public String attribute() {
+        return attribute;
+    }
+
+    public Comparable<?> parse(String value) {
+        return parser.apply(value);
+    }
+
+    public String format(ShipSummary summary) {
+        return formatter.apply(summary);
+    }
+
+    public static ShipSortField fromAttribute(String attribute) {
+        for (ShipSortField field : values()) {
+            if (field.attribute.equals(attribute)) {
+                return field;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported sort field: " + attribute);
+    }
+}
@@ -0,0 +1,14 @@
+package com.shiptracker.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public record ShipSummary(
+        Long id,
+        String name,
+        LocalDate launchDate,
+        Integer shipTypeId,
+        BigDecimal tonnage,
+        Long reportCount,
+        Long version
+) {}
@@ -0,0 +1,63 @@
+package com.shiptracker.service;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongConsumer;
+
+/**
+ * Counts the bytes read through it so long-running imports can report progress, both on demand from
+ * another thread and through a callback each time another {@code interval} bytes have been read.
+ */
+class CountingInputStream extends FilterInputStream {
+
+    private final AtomicLong count = new AtomicLong();
+    private final long interval;
+    private final LongConsumer listener;
+    private long nextReport;
+
+    CountingInputStream(InputStream in, long interval, LongConsumer listener) {
+        super(in);
+        this.interval = interval;
+        this.listener = listener;
+        this.nextReport = interval;
+    }
+
+    long getCount() {
+        return count.get();
+    }
+
+    @Override
+    public int read() throws IOException {
+        int b = super.read();
+        if (b >= 0) {
+            advance(1);
+        }
+        return b;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        int n = super.read(b, off, len);
+        if (n > 0) {
+            advance(n);
+        }
+        return n;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        long skipped = super.skip(n);
+        advance(skipped);
+        return skipped;
+    }
+
+    private void advance(long bytes) {
+        long total = count.addAndGet(bytes);
+        if (total >= nextReport) {
+            nextReport = (total / interval + 1) * interval;
+            listener.accept(total);
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.shiptracker.service;
+
+import com.shiptracker.exception.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Encodes keyset positions as opaque URL-safe tokens, so clients never depend on their layout.
+ */
+final class CursorCodec {
+
+    private static final String SEPARATOR = "\u001F";
+    private static final Pattern SPLITTER = Pattern.compile(SEPARATOR);
+
+    private CursorCodec() {}
+
+    static String encode(String... parts) {
+        byte[] raw = String.join(SEPARATOR, parts).getBytes(StandardCharsets.UTF_8);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw);
+    }
+
+    static List<String> decode(String cursor, int expectedParts) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            List<String> parts = List.of(SPLITTER.split(raw, -1));
+            if (parts.size() != expectedParts) {
+                throw new BadRequestException("Invalid cursor");
+            }
+            return parts;
+        } catch (IllegalArgumentException ex) {
+            throw new BadRequestException("Invalid cursor");
+        }
+    }
+}
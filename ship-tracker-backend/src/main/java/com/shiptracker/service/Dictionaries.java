@@ -0,0 +1,65 @@
+package com.shiptracker.service;
+
+import com.shiptracker.dto.DictionaryRelabeledEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+
+/**
+ * The dictionary-encoded columns: {@code ships.ship_type_id}, {@code location_reports.country_id} and
+ * {@code port_id}. Labels are shown in {@code dictionary.locale}; renames made directly in the database are
+ * picked up every {@code dictionary.refresh-interval} and announced with a {@link DictionaryRelabeledEvent}.
+ */
+@Component
+public class Dictionaries {
+
+    private final LabelDictionary shipTypes;
+    private final LabelDictionary countries;
+    private final LabelDictionary ports;
+
+    public Dictionaries(JdbcTemplate jdbcTemplate,
+                        ApplicationEventPublisher eventPublisher,
+                        @Value("${dictionary.locale:en}") Locale locale) {
+        this.shipTypes = dictionary("ship_types", jdbcTemplate, eventPublisher, locale);
+        this.countries = dictionary("countries", jdbcTemplate, eventPublisher, locale);
+        this.ports = dictionary("ports", jdbcTemplate, eventPublisher, locale);
+    }
+
+    private static LabelDictionary dictionary(String table, JdbcTemplate jdbcTemplate,
+                                              ApplicationEventPublisher eventPublisher, Locale locale) {
+        return new LabelDictionary(table, jdbcTemplate, locale,
+                () -> eventPublisher.publishEvent(new DictionaryRelabeledEvent(table)));
+    }
+
+    public LabelDictionary shipTypes() {
+        return shipTypes;
+    }
+
+    public LabelDictionary countries() {
+        return countries;
+    }
+
+    public LabelDictionary ports() {
+        return ports;
+    }
+
+    /**
+     * Sum of the relabel counters, so it moves whenever any dictionary shows an entry differently and is the
+     * same on every instance that has read the same counters. Part of response ETags.
+     */
+    public long generation() {
+        return shipTypes.generation() + countries.generation() + ports.generation();
+    }
+
+    @Scheduled(fixedDelayString = "${dictionary.refresh-interval:5m}",
+            initialDelayString = "${dictionary.refresh-interval:5m}")
+    public void refresh() {
+        shipTypes.reload();
+        countries.reload();
+        ports.reload();
+    }
+}
@@ -0,0 +1,416 @@
+package com.shiptracker.service;
+
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.PreparedStatement;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-process copy of one lookup table: names become integer keys on the way in, keys become labels on the
+ * way out.
+ * <p>
+ * Labels are interned, so every row with the same key shares one {@code String} instance, however many rows
+ * a response holds. The copy is read as a whole on first use and by {@link #reload}; a key it does not know,
+ * e.g. one added by another instance or by a bulk load, is read on its own and merged into it. New names are
+ * inserted in the caller's transaction, so no second pooled connection is needed; until it commits, the keys
+ * it added are only visible to it. A rolled-back key simply leaves a gap in the table's identity sequence.
+ * <p>
+ * A reload that changes the name or a label of an entry already handed out, or finds the table's counter in
+ * {@code dictionary_generations} moved on, runs {@code onRelabel}, so whatever cached the old labels can drop
+ * them.
+ */
+public class LabelDictionary {
+
+    private static final String LABELS_SQL = "SELECT entry_id, locale, label FROM dictionary_labels WHERE dictionary = ?";
+    private static final String GENERATION_SQL = "SELECT generation FROM dictionary_generations WHERE dictionary = ?";
+    private static final int LOOKUP_CHUNK = 1000;
+
+    private final String table;
+    private final JdbcTemplate jdbcTemplate;
+    private final Locale displayLocale;
+    private final Runnable onRelabel;
+    // Not synchronized: with spring.threads.virtual.enabled a reader would pin its carrier for the whole read
+    private final Lock lock = new ReentrantLock();
+    private volatile Snapshot snapshot;
+
+    LabelDictionary(String table, JdbcTemplate jdbcTemplate, Locale displayLocale, Runnable onRelabel) {
+        this.table = table;
+        this.jdbcTemplate = jdbcTemplate;
+        this.displayLocale = displayLocale;
+        this.onRelabel = onRelabel;
+    }
+
+    public String table() {
+        return table;
+    }
+
+    /**
+     * The table's relabel counter as of the last full read. Triggers bump it when an entry is renamed,
+     * deleted or relabelled; adding entries leaves it unchanged.
+     */
+    public long generation() {
+        return current().generation;
+    }
+
+    /** Label of {@code id} in the display locale ({@code dictionary.locale}). */
+    public String label(int id) {
+        return label(id, displayLocale);
+    }
+
+    /** Label of {@code id} in {@code locale}, falling back to its language and then to the entry name. */
+    public String label(int id, Locale locale) {
+        String label = current().label(id, locale);
+        if (label == null) {
+            Added added = added();
+            // Nothing can have labelled a key this transaction has just inserted
+            label = added != null ? added.names.get(id) : null;
+        }
+        if (label == null) {
+            label = merge(lookUp("id", List.of(id))).label(id, locale);
+            if (label == null) {
+                throw new IllegalStateException("Unknown " + table + " id " + id);
+            }
+        }
+        return label;
+    }
+
+    /** Key of {@code name}, or of the entry it labels in the display locale. Unknown names are added. */
+    public int idOf(String name) {
+        Integer id = find(name);
+        return id != null ? id : idsOf(List.of(name)).get(name);
+    }
+
+    /** Keys of all {@code names}, adding the unknown ones with a single batch. */
+    public Map<String, Integer> idsOf(Collection<String> names) {
+        Map<String, Integer> ids = new HashMap<>();
+        Set<String> missing = new LinkedHashSet<>();
+        for (String name : names) {
+            Integer id = find(name);
+            if (id != null) {
+                ids.put(name, id);
+            } else {
+                missing.add(name);
+            }
+        }
+        if (!missing.isEmpty()) {
+            Set<String> inserted = insert(missing);
+            Entries found = lookUp("name", missing);
+            Map<Integer, String> own = new HashMap<>();
+            found.names.forEach((id, name) -> {
+                ids.put(name, id);
+                if (inserted.contains(name) && TransactionSynchronizationManager.isSynchronizationActive()) {
+                    own.put(id, name);
+                }
+            });
+            for (String name : missing) {
+                if (!ids.containsKey(name)) {
+                    throw new IllegalStateException("No " + table + " entry for " + name);
+                }
+            }
+            found.names.keySet().removeAll(own.keySet());
+            if (!found.names.isEmpty()) {
+                merge(found);
+            }
+            if (!own.isEmpty()) {
+                keepAdded(own);
+            }
+        }
+        return ids;
+    }
+
+    /** Key of {@code name} as {@link #idOf} resolves it, or null if it is unknown. Never adds the name. */
+    public Integer find(String name) {
+        Integer id = current().ids.get(name);
+        if (id == null) {
+            Added added = added();
+            if (added != null) {
+                id = added.ids.get(name);
+            }
+        }
+        return id;
+    }
+
+    /** Reads the table and its labels again, e.g. after entries were renamed in the database. */
+    public void reload() {
+        reloadIfUnchanged(snapshot);
+    }
+
+    /** Reads the table unless another thread has replaced {@code seen} in the meantime. */
+    private Snapshot reloadIfUnchanged(Snapshot seen) {
+        Snapshot loaded;
+        lock.lock();
+        try {
+            Snapshot current = snapshot;
+            if (current != seen) {
+                return current;
+            }
+            loaded = read();
+            snapshot = loaded;
+        } finally {
+            lock.unlock();
+        }
+        if (seen != null && (loaded.generation != seen.generation || loaded.relabels(seen))) {
+            onRelabel.run();
+        }
+        return loaded;
+    }
+
+    private Snapshot read() {
+        Map<Integer, String> entries = new HashMap<>();
+        int[] maxId = {0};
+        jdbcTemplate.query("SELECT id, name FROM " + table, (RowCallbackHandler) rs -> {
+            int id = rs.getInt(1);
+            entries.put(id, rs.getString(2));
+            maxId[0] = Math.max(maxId[0], id);
+        });
+        String[] names = new String[maxId[0] + 1];
+        entries.forEach((id, name) -> names[id] = name);
+
+        Map<String, Map<Integer, String>> labels = new HashMap<>();
+        jdbcTemplate.query(LABELS_SQL, (RowCallbackHandler) rs -> labels
+                .computeIfAbsent(rs.getString(2), locale -> new HashMap<>())
+                .put(rs.getInt(1), rs.getString(3)), table);
+
+        // No row until the changelog has run, e.g. on a schema Hibernate created
+        List<Long> generation = jdbcTemplate.queryForList(GENERATION_SQL, Long.class, table);
+        return new Snapshot(names, labels, generation.isEmpty() ? 0 : generation.getFirst(), displayLocale);
+    }
+
+    /** Reads only the rows whose {@code column} is one of {@code values}, with their labels. */
+    private Entries lookUp(String column, Collection<?> values) {
+        Entries entries = new Entries(new HashMap<>(), new HashMap<>());
+        List<?> all = List.copyOf(values);
+        for (int from = 0; from < all.size(); from += LOOKUP_CHUNK) {
+            List<?> chunk = all.subList(from, Math.min(from + LOOKUP_CHUNK, all.size()));
+            String sql = "SELECT id, name FROM " + table + " WHERE " + column + " IN (" + placeholders(chunk) + ")";
+            jdbcTemplate.query(sql, (RowCallbackHandler) rs -> entries.names.put(rs.getInt(1), rs.getString(2)),
+                    chunk.toArray());
+        }
+        List<Integer> ids = List.copyOf(entries.names.keySet());
+        for (int from = 0; from < ids.size(); from += LOOKUP_CHUNK) {
+            List<Integer> chunk = ids.subList(from, Math.min(from + LOOKUP_CHUNK, ids.size()));
+            Object[] args = new Object[chunk.size() + 1];
+            args[0] = table;
+            for (int i = 0; i < chunk.size(); i++) {
+                args[i + 1] = chunk.get(i);
+            }
+            jdbcTemplate.query(LABELS_SQL + " AND entry_id IN (" + placeholders(chunk) + ")",
+                    (RowCallbackHandler) rs -> entries.labels
+                            .computeIfAbsent(rs.getString(2), locale -> new HashMap<>())
+                            .put(rs.getInt(1), rs.getString(3)), args);
+        }
+        return entries;
+    }
+
+    private static String placeholders(List<?> values) {
+        return String.join(", ", Collections.nCopies(values.size(), "?"));
+    }
+
+    /**
+     * Adds committed entries the copy does not have yet. Entries it already has are left alone, so a row read
+     * before a concurrent {@link #reload} cannot bring back an old name; new entries relabel nothing, so the
+     * generation stays and {@code onRelabel} does not run.
+     */
+    private Snapshot merge(Entries entries) {
+        current();
+        lock.lock();
+        try {
+            Snapshot merged = snapshot.with(entries);
+            snapshot = merged;
+            return merged;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private Snapshot current() {
+        Snapshot current = snapshot;
+        return current != null ? current : reloadIfUnchanged(null);
+    }
+
+    /** The keys the current transaction added, or null if it added none. */
+    private Added added() {
+        return (Added) TransactionSynchronizationManager.getResource(this);
+    }
+
+    private void keepAdded(Map<Integer, String> names) {
+        Added bound = (Added) TransactionSynchronizationManager.unbindResourceIfPossible(this);
+        Added added = bound != null ? bound : new Added(new HashMap<>(), new HashMap<>());
+        if (bound == null) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    Added completed = (Added) TransactionSynchronizationManager.unbindResourceIfPossible(
+                            LabelDictionary.this);
+                    // After a rollback the keys never existed
+                    if (completed != null && status == STATUS_COMMITTED) {
+                        merge(new Entries(completed.names, Map.of()));
+                    }
+                }
+            });
+        }
+        names.forEach((id, name) -> {
+            added.names.put(id, name);
+            added.ids.put(name, id);
+        });
+        TransactionSynchronizationManager.bindResource(this, added);
+    }
+
+    /** Inserts the names not yet in the table; returns those this statement added a row for. */
+    private Set<String> insert(Collection<String> names) {
+        int[] counts = jdbcTemplate.execute((ConnectionCallback<int[]>) connection -> {
+            // NOT EXISTS keeps known names from drawing identity values; ON CONFLICT covers concurrent adds
+            String sql = "INSERT INTO " + table + " (name) SELECT ? WHERE NOT EXISTS (SELECT 1 FROM " + table
+                    + " WHERE name = ?)";
+            if ("PostgreSQL".equals(connection.getMetaData().getDatabaseProductName())) {
+                sql += " ON CONFLICT (name) DO NOTHING";
+            }
+            try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                for (String name : names) {
+                    statement.setString(1, name);
+                    statement.setString(2, name);
+                    statement.addBatch();
+                }
+                return statement.executeBatch();
+            }
+        });
+        // Unknown counts (SUCCESS_NO_INFO) are negative and taken as added
+        Set<String> inserted = new HashSet<>();
+        int i = 0;
+        for (String name : names) {
+            if (counts == null || i >= counts.length || counts[i++] != 0) {
+                inserted.add(name);
+            }
+        }
+        return inserted;
+    }
+
+    /** Rows read by key: names by id, and labels by locale and id. */
+    private record Entries(Map<Integer, String> names, Map<String, Map<Integer, String>> labels) {
+    }
+
+    /** Keys the current transaction inserted and has not committed, both ways round. */
+    private record Added(Map<Integer, String> names, Map<String, Integer> ids) {
+    }
+
+    /** Immutable view of the table; labels per locale are resolved once and shared. */
+    private static final class Snapshot {
+
+        private final String[] names;
+        private final Map<String, Map<Integer, String>> labels;
+        private final Map<String, Integer> ids = new HashMap<>();
+        private final ConcurrentMap<Locale, String[]> resolved = new ConcurrentHashMap<>();
+        private final long generation;
+        private final Locale displayLocale;
+
+        private Snapshot(String[] names, Map<String, Map<Integer, String>> labels, long generation,
+                         Locale displayLocale) {
+            this.names = names;
+            this.labels = labels;
+            this.generation = generation;
+            this.displayLocale = displayLocale;
+            for (int id = 0; id < names.length; id++) {
+                if (names[id] != null) {
+                    ids.put(names[id], id);
+                }
+            }
+            // Lets clients send back what they were shown
+            String[] displayed = labels(displayLocale);
+            for (int id = 0; id < displayed.length; id++) {
+                if (displayed[id] != null) {
+                    ids.putIfAbsent(displayed[id], id);
+                }
+            }
+        }
+
+        /** A copy with the entries of {@code added} that are not here yet, and their labels. */
+        private Snapshot with(Entries added) {
+            List<Integer> fresh = added.names.keySet().stream()
+                    .filter(id -> id >= 0 && (id >= names.length || names[id] == null))
+                    .toList();
+            if (fresh.isEmpty()) {
+                return this;
+            }
+            String[] merged = Arrays.copyOf(names, Math.max(names.length, Collections.max(fresh) + 1));
+            Map<String, Map<Integer, String>> mergedLabels = new HashMap<>();
+            labels.forEach((locale, byId) -> mergedLabels.put(locale, new HashMap<>(byId)));
+            for (int id : fresh) {
+                merged[id] = added.names.get(id);
+                added.labels.forEach((locale, byId) -> {
+                    String label = byId.get(id);
+                    if (label != null) {
+                        mergedLabels.computeIfAbsent(locale, l -> new HashMap<>()).put(id, label);
+                    }
+                });
+            }
+            return new Snapshot(merged, mergedLabels, generation, displayLocale);
+        }
+
+        /** Whether an entry of {@code previous} is gone or has another name or label here. New entries are not. */
+        private boolean relabels(Snapshot previous) {
+            for (int id = 0; id < previous.names.length; id++) {
+                if (previous.names[id] != null && !previous.names[id].equals(id < names.length ? names[id] : null)) {
+                    return true;
+                }
+            }
+            Set<String> locales = new HashSet<>(labels.keySet());
+            locales.addAll(previous.labels.keySet());
+            for (String locale : locales) {
+                Map<Integer, String> before = previous.labels.getOrDefault(locale, Map.of());
+                Map<Integer, String> after = labels.getOrDefault(locale, Map.of());
+                for (int id = 0; id < previous.names.length; id++) {
+                    if (previous.names[id] != null && !Objects.equals(before.get(id), after.get(id))) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+
+        private String label(int id, Locale locale) {
+            String[] localized = labels(locale);
+            return id >= 0 && id < localized.length ? localized[id] : null;
+        }
+
+        private String[] labels(Locale locale) {
+            return resolved.computeIfAbsent(locale, this::resolve);
+        }
+
+        private String[] resolve(Locale locale) {
+            Map<Integer, String> language = labels.get(locale.getLanguage());
+            Map<Integer, String> exact = labels.get(locale.toLanguageTag());
+            if (language == null && exact == null) {
+                return names;
+            }
+            String[] localized = Arrays.copyOf(names, names.length);
+            for (Map<Integer, String> overrides : Arrays.asList(language, exact)) {
+                if (overrides != null) {
+                    overrides.forEach((id, label) -> {
+                        if (id >= 0 && id < localized.length && localized[id] != null) {
+                            localized[id] = label;
+                        }
+                    });
+                }
+            }
+            return localized;
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.shiptracker.service;
+
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Builds ship names from the embedded word lists under {@code names/} without any network call.
+ * Names already used in the fleet are rejected; once random pairs keep colliding a numeric suffix
+ * is appended, so generation always terminates.
+ */
+@Component
+public class LocalNameGenerator {
+
+    static final int MAX_PAIR_ATTEMPTS = 16;
+
+    private final ShipNameIndex shipNameIndex;
+    private final List<String> prefixes = readWords("names/prefixes.txt");
+    private final List<String> nouns = readWords("names/nouns.txt");
+
+    public LocalNameGenerator(ShipNameIndex shipNameIndex) {
+        this.shipNameIndex = shipNameIndex;
+    }
+
+    public String generate() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        String candidate = null;
+        for (int attempt = 0; attempt < MAX_PAIR_ATTEMPTS; attempt++) {
+            candidate = prefixes.get(random.nextInt(prefixes.size())) + " " + nouns.get(random.nextInt(nouns.size()));
+            if (!shipNameIndex.contains(candidate)) {
+                return candidate;
+            }
+        }
+        for (int suffix = 2; ; suffix++) {
+            String numbered = candidate + " " + suffix;
+            if (!shipNameIndex.contains(numbered)) {
+                return numbered;
+            }
+        }
+    }
+
+    static List<String> readWords(String path) {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new ClassPathResource(path).getInputStream(), StandardCharsets.UTF_8))) {
+            List<String> words = reader.lines()
+                    .map(String::trim)
+                    .filter(line -> !line.isEmpty() && !line.startsWith("#"))
+                    .distinct()
+                    .toList();
+            if (words.isEmpty()) {
+                throw new IllegalStateException("Word list " + path + " is empty");
+            }
+            return words;
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Cannot read word list " + path, ex);
+        }
+    }
+}
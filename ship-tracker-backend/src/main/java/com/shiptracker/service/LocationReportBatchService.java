@@ -0,0 +1,118 @@
+package com.shiptracker.service;
+
+import com.shiptracker.dto.LocationReportBatchItem;
+import com.shiptracker.dto.LocationReportBatchResponse;
+import com.shiptracker.dto.LocationReportBatchResponse.ItemResult;
+import com.shiptracker.repository.ShipRepository;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Date;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Service
+public class LocationReportBatchService {
+
+    static final int JDBC_BATCH_SIZE = 500;
+
+    private static final String INSERT_SQL =
+            "INSERT INTO location_reports (ship_id, report_date, country_id, port_id) VALUES (?, ?, ?, ?)";
+
+    // Ships are bumped in id order so concurrent batches lock rows in the same order
+    private static final String BUMP_VERSION_SQL = "UPDATE ships SET version = version + 1 WHERE id = ?";
+
+    private final ShipRepository shipRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final Validator validator;
+    private final ShipCacheEvictor shipCacheEvictor;
+    private final ShipPositionService shipPositionService;
+    private final Dictionaries dictionaries;
+
+    public LocationReportBatchService(ShipRepository shipRepository,
+                                      JdbcTemplate jdbcTemplate,
+                                      Validator validator,
+                                      ShipCacheEvictor shipCacheEvictor,
+                                      ShipPositionService shipPositionService,
+                                      Dictionaries dictionaries) {
+        this.shipRepository = shipRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.validator = validator;
+        this.shipCacheEvictor = shipCacheEvictor;
+        this.shipPositionService = shipPositionService;
+        this.dictionaries = dictionaries;
+    }
+
+    /**
+     * Validates every item independently, checks all referenced ships with one query and inserts the
+     * accepted items in JDBC batches. Rejected items are reported back instead of failing the request.
+     */
+    @Transactional
+    public LocationReportBatchResponse ingest(List<LocationReportBatchItem> items) {
+        Set<Long> requestedShipIds = items.stream()
+                .filter(Objects::nonNull)
+                .map(LocationReportBatchItem::shipId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Set<Long> existingShipIds = requestedShipIds.isEmpty()
+                ? Set.of()
+                : new HashSet<>(shipRepository.findExistingIds(requestedShipIds));
+
+        List<ItemResult> results = new ArrayList<>(items.size());
+        List<LocationReportBatchItem> accepted = new ArrayList<>(items.size());
+        for (int i = 0; i < items.size(); i++) {
+            LocationReportBatchItem item = items.get(i);
+            String error = validate(item, existingShipIds);
+            if (error == null) {
+                accepted.add(item);
+                results.add(ItemResult.accepted(i, item.shipId()));
+            } else {
+                results.add(ItemResult.rejected(i, item == null ? null : item.shipId(), error));
+            }
+        }
+
+        if (!accepted.isEmpty()) {
+            Map<String, Integer> countryIds = dictionaries.countries().idsOf(
+                    accepted.stream().map(LocationReportBatchItem::country).collect(Collectors.toSet()));
+            Map<String, Integer> portIds = dictionaries.ports().idsOf(
+                    accepted.stream().map(LocationReportBatchItem::port).collect(Collectors.toSet()));
+            jdbcTemplate.batchUpdate(INSERT_SQL, accepted, JDBC_BATCH_SIZE, (ps, item) -> {
+                ps.setLong(1, item.shipId());
+                ps.setDate(2, Date.valueOf(item.reportDate()));
+                ps.setInt(3, countryIds.get(item.country()));
+                ps.setInt(4, portIds.get(item.port()));
+            });
+            List<Long> shipIds = accepted.stream().map(LocationReportBatchItem::shipId).distinct().sorted().toList();
+            jdbcTemplate.batchUpdate(BUMP_VERSION_SQL, shipIds, JDBC_BATCH_SIZE, (ps, shipId) -> ps.setLong(1, shipId));
+            shipPositionService.rebuild(shipIds);
+            shipCacheEvictor.evictShips(shipIds);
+        }
+
+        return new LocationReportBatchResponse(accepted.size(), items.size() - accepted.size(), results);
+    }
+
+    private String validate(LocationReportBatchItem item, Set<Long> existingShipIds) {
+        if (item == null) {
+            return "Report must not be null";
+        }
+        Set<ConstraintViolation<LocationReportBatchItem>> violations = validator.validate(item);
+        if (!violations.isEmpty()) {
+            return violations.stream()
+                    .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining(", "));
+        }
+        if (!existingShipIds.contains(item.shipId())) {
+            return "Ship not found with id: " + item.shipId();
+        }
+        return null;
+    }
+}
@@ -0,0 +1,76 @@
+package com.shiptracker.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Keeps monthly partitions of {@code location_reports} created up to {@code months-ahead} months past the
+ * current one, at startup and then daily, so new reports do not land in the default partition. Backdated
+ * reports that did end up there are moved into a partition of their own month on the next run. Does nothing
+ * when the table is not partitioned (databases other than PostgreSQL, or Liquibase not run).
+ */
+@Component
+public class LocationReportPartitionMaintainer {
+
+    private static final Logger log = LoggerFactory.getLogger(LocationReportPartitionMaintainer.class);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int monthsAhead;
+
+    public LocationReportPartitionMaintainer(
+            JdbcTemplate jdbcTemplate,
+            @Value("${location-reports.partitions.months-ahead:3}") int monthsAhead) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.monthsAhead = monthsAhead;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${location-reports.partitions.cron:0 0 3 * * *}")
+    public void createPartitions() {
+        if (!isPartitioned()) {
+            return;
+        }
+        Set<YearMonth> months = new TreeSet<>();
+        YearMonth current = YearMonth.now();
+        for (int i = 0; i <= monthsAhead; i++) {
+            months.add(current.plusMonths(i));
+        }
+        jdbcTemplate.queryForList(
+                        "SELECT DISTINCT CAST(date_trunc('month', report_date) AS DATE) FROM location_reports_default",
+                        LocalDate.class)
+                .forEach(month -> months.add(YearMonth.from(month)));
+
+        for (YearMonth month : months) {
+            try {
+                if (Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                        "SELECT create_location_report_partition(?)", Boolean.class, month.atDay(1)))) {
+                    log.info("Created location_reports partition for {}", month);
+                }
+            } catch (DataAccessException ex) {
+                // Another instance may be creating the same month; the next run picks up anything missed
+                log.warn("Could not create location_reports partition for {}: {}", month, ex.getMessage());
+            }
+        }
+    }
+
+    private boolean isPartitioned() {
+        String database = jdbcTemplate.execute(
+                (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+        return "PostgreSQL".equals(database) && Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM pg_partitioned_table WHERE partrelid = to_regclass('location_reports'))",
+                Boolean.class));
+    }
+}
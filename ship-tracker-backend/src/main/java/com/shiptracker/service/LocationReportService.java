@@ -1,59 +1,140 @@
 package com.shiptracker.service;
 
+import com.shiptracker.config.CacheConfig;
+import com.shiptracker.dto.CursorPage;
+import com.shiptracker.dto.LocationReportEvent;
 import com.shiptracker.dto.LocationReportRequest;
 import com.shiptracker.dto.LocationReportResponse;
 import com.shiptracker.entity.LocationReport;
-import com.shiptracker.entity.Ship;
+import com.shiptracker.exception.BadRequestException;
 import com.shiptracker.exception.ResourceNotFoundException;
 import com.shiptracker.repository.LocationReportRepository;
+import com.shiptracker.repository.ReportKeyset;
 import com.shiptracker.repository.ShipRepository;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
 import java.util.List;
 
 @Service
 @Transactional(readOnly = true)
 public class LocationReportService {
 
+    public static final int MAX_PAGE_SIZE = 500;
+
     private final LocationReportRepository locationReportRepository;
     private final ShipRepository shipRepository;
+    private final ShipPositionService shipPositionService;
+    private final Dictionaries dictionaries;
+    private final ApplicationEventPublisher eventPublisher;
 
     public LocationReportService(LocationReportRepository locationReportRepository,
-                                 ShipRepository shipRepository) {
+                                 ShipRepository shipRepository,
+                                 ShipPositionService shipPositionService,
+                                 Dictionaries dictionaries,
+                                 ApplicationEventPublisher eventPublisher) {
         this.locationReportRepository = locationReportRepository;
         this.shipRepository = shipRepository;
+        this.shipPositionService = shipPositionService;
+        this.dictionaries = dictionaries;
+        this.eventPublisher = eventPublisher;
     }
 
-    public List<LocationReportResponse> findByShipId(Long shipId) {
-        if (!shipRepository.existsById(shipId)) {
-            throw new ResourceNotFoundException("Ship not found with id: " + shipId);
-        }
-        return locationReportRepository.findByShipIdOrderByReportDateAsc(shipId).stream()
+    public List<LocationReportResponse> findByShipId(Long shipId, LocalDate from, LocalDate to) {
+        validateRange(from, to);
+        requireShip(shipId);
+        List<LocationReport> reports = from == null && to == null
+                ? locationReportRepository.findByShipIdOrderByReportDateAsc(shipId)
+                : locationReportRepository.findHistory(shipId, from, to, null, Limit.unlimited());
+        return reports.stream()
                 .map(this::toResponse)
                 .toList();
     }
 
+    public CursorPage<LocationReportResponse> findPageByShipId(Long shipId, LocalDate from, LocalDate to,
+                                                               String cursor, int limit) {
+        validateRange(from, to);
+        ReportKeyset after = cursor == null || cursor.isBlank() ? null : decodeCursor(cursor);
+        int pageSize = Math.clamp(limit, 1, MAX_PAGE_SIZE);
+        requireShip(shipId);
+
+        List<LocationReport> rows = locationReportRepository.findHistory(
+                shipId, from, to, after, Limit.of(pageSize + 1));
+        boolean hasMore = rows.size() > pageSize;
+        List<LocationReport> page = hasMore ? rows.subList(0, pageSize) : rows;
+        String nextCursor = hasMore ? encodeCursor(page.getLast()) : null;
+
+        return new CursorPage<>(page.stream().map(this::toResponse).toList(), nextCursor);
+    }
+
+    public long findShipVersion(Long shipId) {
+        return shipRepository.findVersionById(shipId)
+                .orElseThrow(() -> new ResourceNotFoundException("Ship not found with id: " + shipId));
+    }
+
+    /**
+     * Adds a report and bumps the ship version, which invalidates ETags on the ship and its reports.
+     * The ship's latest position moves only if the report is newer than the one it holds.
+     * Stream subscribers and the autocomplete ranking are notified once the transaction commits.
+     */
     @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.SHIPS, key = "#shipId"),
+            @CacheEvict(cacheNames = CacheConfig.SHIP_PAGES, allEntries = true)})
     public LocationReportResponse create(Long shipId, LocationReportRequest dto) {
-        Ship ship = shipRepository.findById(shipId)
-                .orElseThrow(() -> new ResourceNotFoundException("Ship not found with id: " + shipId));
+        if (shipRepository.incrementVersion(shipId) == 0) {
+            throw new ResourceNotFoundException("Ship not found with id: " + shipId);
+        }
 
         LocationReport report = new LocationReport();
-        report.setShip(ship);
+        report.setShip(shipRepository.getReferenceById(shipId));
         report.setReportDate(dto.reportDate());
-        report.setCountry(dto.country());
-        report.setPort(dto.port());
+        report.setCountryId(dictionaries.countries().idOf(dto.country()));
+        report.setPortId(dictionaries.ports().idOf(dto.port()));
 
-        return toResponse(locationReportRepository.save(report));
+        LocationReport saved = locationReportRepository.save(report);
+        shipPositionService.record(saved);
+        LocationReportResponse response = toResponse(saved);
+        eventPublisher.publishEvent(new LocationReportEvent(shipId, response));
+        return response;
+    }
+
+    private void requireShip(Long shipId) {
+        if (!shipRepository.existsById(shipId)) {
+            throw new ResourceNotFoundException("Ship not found with id: " + shipId);
+        }
+    }
+
+    private void validateRange(LocalDate from, LocalDate to) {
+        if (from != null && to != null && from.isAfter(to)) {
+            throw new BadRequestException("'from' must not be after 'to'");
+        }
+    }
+
+    private String encodeCursor(LocationReport last) {
+        return CursorCodec.encode(last.getReportDate().toString(), last.getId().toString());
+    }
+
+    private ReportKeyset decodeCursor(String cursor) {
+        List<String> parts = CursorCodec.decode(cursor, 2);
+        try {
+            return new ReportKeyset(LocalDate.parse(parts.get(0)), Long.valueOf(parts.get(1)));
+        } catch (RuntimeException ex) {
+            throw new BadRequestException("Invalid cursor");
+        }
     }
 
-    private LocationReportResponse toResponse(LocationReport report) {
+    LocationReportResponse toResponse(LocationReport report) {
         return new LocationReportResponse(
                 report.getId(),
                 report.getReportDate(),
-                report.getCountry(),
-                report.getPort()
+                dictionaries.countries().label(report.getCountryId()),
+                dictionaries.ports().label(report.getPortId())
         );
     }
 }
@@ -0,0 +1,8 @@
+package com.shiptracker.service;
+
+public enum NameGeneratorMode {
+    /** Names from randommer.io via the prefetched pool; the local generator covers API failures. */
+    REMOTE,
+    /** Names from the embedded word lists only; never touches the network. */
+    LOCAL
+}
@@ -1,41 +1,116 @@
 package com.shiptracker.service;
 
+import com.shiptracker.config.NamePoolProperties;
 import com.shiptracker.exception.ExternalApiException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestClient;
-import org.springframework.web.client.RestClientException;
 
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Serves ship names from a bounded in-memory pool. The pool is refilled in the background with one
+ * {@code quantity=N} call when it drops below the low-water mark, so requests normally never wait on
+ * the external API. Only when the pool is empty does a request fall back to a direct single-name call,
+ * and only when that fails to the local word-list generator. Names already used in the fleet are skipped.
+ */
 @Service
 public class NameGeneratorService {
 
-    private final RestClient restClient;
-    private final String apiKey;
-    private final String apiUrl;
+    private static final Logger log = LoggerFactory.getLogger(NameGeneratorService.class);
+
+    private final RandommerClient randommerClient;
+    private final LocalNameGenerator localNameGenerator;
+    private final ShipNameIndex shipNameIndex;
+    private final TaskExecutor refillExecutor;
+    private final NamePoolProperties poolProperties;
+    private final NameGeneratorMode mode;
+    private final BlockingQueue<String> pool;
+    private final AtomicBoolean refilling = new AtomicBoolean();
 
     public NameGeneratorService(
-            RestClient restClient,
-            @Value("${randommer.api.key}") String apiKey,
-            @Value("${randommer.api.url}") String apiUrl) {
-        this.restClient = restClient;
-        this.apiKey = apiKey;
-        this.apiUrl = apiUrl;
+            RandommerClient randommerClient,
+            LocalNameGenerator localNameGenerator,
+            ShipNameIndex shipNameIndex,
+            @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME) TaskExecutor refillExecutor,
+            NamePoolProperties poolProperties,
+            @Value("${name-generator.mode:remote}") NameGeneratorMode mode) {
+        this.randommerClient = randommerClient;
+        this.localNameGenerator = localNameGenerator;
+        this.shipNameIndex = shipNameIndex;
+        this.refillExecutor = refillExecutor;
+        this.poolProperties = poolProperties;
+        this.mode = mode;
+        this.pool = new ArrayBlockingQueue<>(poolProperties.capacity());
     }
 
     public String generateName() {
+        if (mode == NameGeneratorMode.LOCAL) {
+            return localNameGenerator.generate();
+        }
+        String name = pool.poll();
+        while (name != null && shipNameIndex.contains(name)) {
+            name = pool.poll();
+        }
+        refillIfLow();
+        return name != null ? name : generateDirectly();
+    }
+
+    private String generateDirectly() {
+        try {
+            String name = randommerClient.fetchSurnames(1).getFirst();
+            return shipNameIndex.contains(name) ? localNameGenerator.generate() : name;
+        } catch (ExternalApiException ex) {
+            log.debug("Falling back to local name generation: {}", ex.getMessage());
+            return localNameGenerator.generate();
+        }
+    }
+
+    int poolSize() {
+        return pool.size();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    void prefetch() {
+        if (mode == NameGeneratorMode.REMOTE && poolProperties.prefetchOnStartup()) {
+            refillIfLow();
+        }
+    }
+
+    private void refillIfLow() {
+        if (pool.size() < poolProperties.lowWaterMark() && refilling.compareAndSet(false, true)) {
+            try {
+                refillExecutor.execute(this::refill);
+            } catch (TaskRejectedException ex) {
+                refilling.set(false);
+            }
+        }
+    }
+
+    private void refill() {
         try {
-            String[] names = restClient.get()
-                    .uri(apiUrl + "?nameType=surname&quantity=1")
-                    .header("X-Api-Key", apiKey)
-                    .retrieve()
-                    .body(String[].class);
-
-            if (names == null || names.length == 0) {
-                throw new ExternalApiException("Name generator returned empty response");
+            int wanted = Math.min(poolProperties.batchSize(), pool.remainingCapacity());
+            if (wanted > 0) {
+                for (String name : randommerClient.fetchSurnames(wanted)) {
+                    if (!shipNameIndex.contains(name) && !pool.offer(name)) {
+                        break;
+                    }
+                }
             }
-            return names[0];
-        } catch (RestClientException ex) {
-            throw new ExternalApiException("Name generator service is unavailable", ex);
+        } catch (ExternalApiException ex) {
+            // Requests keep working through the direct call or the local generator; the next one retries
+            log.warn("Name pool refill failed: {}", ex.getMessage());
+        } finally {
+            refilling.set(false);
         }
     }
 }
@@ -0,0 +1,133 @@
+package com.shiptracker.service;
+
+import com.shiptracker.dto.DictionaryRelabeledEvent;
+import com.shiptracker.dto.LocationReportEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Autocomplete for the country and port of a location report, independent of case and accents. Names
+ * are ranked by the number of reports using them; ports from {@link PortCatalog} count as many reports
+ * as their traffic weight, so a fresh database still suggests the busy ones first. Loaded once at startup
+ * and kept current by the {@link LocationReportEvent} each report added through the API publishes. Report
+ * counts are kept per dictionary key, so a relabel rebuilds the tries under the new labels without going
+ * back to the database.
+ */
+@Component
+public class PlaceNameIndex {
+
+    public static final int MAX_SUGGESTIONS = 20;
+
+    private static final Logger log = LoggerFactory.getLogger(PlaceNameIndex.class);
+
+    private static final String USAGE_SQL = """
+            SELECT country_id, port_id, COUNT(*)
+            FROM location_reports
+            GROUP BY country_id, port_id
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Dictionaries dictionaries;
+    private final PortCatalog portCatalog;
+    // Guards the counts and the swap of the tries; suggestions read the tries without it
+    private final Lock lock = new ReentrantLock();
+    private final Map<Integer, Long> countryReports = new HashMap<>();
+    private final Map<Integer, Long> portReports = new HashMap<>();
+    private volatile PrefixTrie countries = new PrefixTrie(MAX_SUGGESTIONS);
+    private volatile PrefixTrie ports = new PrefixTrie(MAX_SUGGESTIONS);
+
+    public PlaceNameIndex(JdbcTemplate jdbcTemplate, Dictionaries dictionaries, PortCatalog portCatalog) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.dictionaries = dictionaries;
+        this.portCatalog = portCatalog;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        long start = System.nanoTime();
+        lock.lock();
+        try {
+            countryReports.clear();
+            portReports.clear();
+            jdbcTemplate.query(USAGE_SQL, (RowCallbackHandler) rs -> {
+                countryReports.merge(rs.getInt(1), rs.getLong(3), Long::sum);
+                portReports.merge(rs.getInt(2), rs.getLong(3), Long::sum);
+            });
+            rebuild();
+        } finally {
+            lock.unlock();
+        }
+        log.info("Indexed {} countries and {} ports in {} ms",
+                countries.size(), ports.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    @EventListener
+    public void onDictionaryRelabeled(DictionaryRelabeledEvent event) {
+        lock.lock();
+        try {
+            rebuild();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Counts a report once its transaction has committed, so a rolled-back one never ranks. */
+    @TransactionalEventListener
+    public void onReportCreated(LocationReportEvent event) {
+        add(event.report().country(), event.report().port());
+    }
+
+    public List<String> suggestCountries(String prefix, int limit) {
+        return countries.suggest(prefix, Math.clamp(limit, 1, MAX_SUGGESTIONS));
+    }
+
+    public List<String> suggestPorts(String prefix, int limit) {
+        return ports.suggest(prefix, Math.clamp(limit, 1, MAX_SUGGESTIONS));
+    }
+
+    /** Counts one more report at {@code port} in {@code country}. */
+    public void add(String country, String port) {
+        lock.lock();
+        try {
+            count(dictionaries.countries(), country, countryReports);
+            count(dictionaries.ports(), port, portReports);
+            countries.add(country, 1);
+            ports.add(port, 1);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static void count(LabelDictionary dictionary, String name, Map<Integer, Long> reports) {
+        // A name relabelled in the meantime is unknown; its count then only lasts until the next rebuild
+        Integer id = dictionary.find(name);
+        if (id != null) {
+            reports.merge(id, 1L, Long::sum);
+        }
+    }
+
+    private void rebuild() {
+        PrefixTrie countryTrie = new PrefixTrie(MAX_SUGGESTIONS);
+        PrefixTrie portTrie = new PrefixTrie(MAX_SUGGESTIONS);
+        for (PortCatalog.Port port : portCatalog.ports()) {
+            countryTrie.add(port.country(), port.weight());
+            portTrie.add(port.name(), port.weight());
+        }
+        countryReports.forEach((id, reports) -> countryTrie.add(dictionaries.countries().label(id), reports));
+        portReports.forEach((id, reports) -> portTrie.add(dictionaries.ports().label(id), reports));
+        countries = countryTrie;
+        ports = portTrie;
+    }
+}
@@ -0,0 +1,44 @@
+package com.shiptracker.service;
+
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/** Major seaports from the embedded UN/LOCODE extract under {@code ports/}, with a relative traffic weight. */
+@Component
+public class PortCatalog {
+
+    public record Port(String locode, String country, String name, int weight) {}
+
+    private static final String PATH = "ports/un-locode.csv";
+
+    private final List<Port> ports = read();
+
+    public List<Port> ports() {
+        return ports;
+    }
+
+    private static List<Port> read() {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new ClassPathResource(PATH).getInputStream(), StandardCharsets.UTF_8))) {
+            List<Port> ports = reader.lines()
+                    .map(String::trim)
+                    .filter(line -> !line.isEmpty() && !line.startsWith("#") && !line.startsWith("locode,"))
+                    .map(line -> line.split(",", -1))
+                    .map(fields -> new Port(fields[0], fields[1], fields[2], Integer.parseInt(fields[3])))
+                    .toList();
+            if (ports.isEmpty()) {
+                throw new IllegalStateException("Port list " + PATH + " is empty");
+            }
+            return ports;
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Cannot read port list " + PATH, ex);
+        }
+    }
+}
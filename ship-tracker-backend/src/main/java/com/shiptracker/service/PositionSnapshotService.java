@@ -0,0 +1,153 @@
+package com.shiptracker.service;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.postgresql.PGStatement;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+
+/**
+ * Answers "where was every ship on day X" with one statement whose rows are written to the response as they
+ * are fetched.
+ * <p>
+ * On PostgreSQL the query walks {@code ship_latest_position} and joins each ship {@code LATERAL} to a backward
+ * probe of {@code idx_location_reports_ship_date_id}, so the cost grows with the fleet, not with the history.
+ * Ships whose latest position is on or before the day take it as is, and ships whose first report is after
+ * the day are skipped, both without touching {@code location_reports}. The probe is bounded below by
+ * {@code location_report_history_start()}: with the default partition pruned, monthly partitions are read
+ * newest first and the probe stops at the first month with a report. Months before the ship's first report
+ * are pruned at run time. Other databases use a window function over the reports instead.
+ */
+@Service
+public class PositionSnapshotService {
+
+    static final int FETCH_SIZE = 1000;
+
+    static final String LATERAL_SQL = """
+            SELECT p.ship_id, r.id AS report_id, r.report_date, r.country_id, r.port_id
+            FROM ship_latest_position p
+            CROSS JOIN LATERAL (
+                SELECT p.report_id AS id, p.report_date, p.country_id, p.port_id
+                WHERE p.report_date <= ?
+                UNION ALL
+                (SELECT lr.id, lr.report_date, lr.country_id, lr.port_id
+                 FROM location_reports lr
+                 WHERE lr.ship_id = p.ship_id AND lr.report_date <= ?
+                   AND lr.report_date >= ? AND lr.report_date >= p.first_report_date
+                 ORDER BY lr.report_date DESC, lr.id DESC
+                 LIMIT 1)
+                LIMIT 1
+            ) r
+            WHERE p.first_report_date <= ?
+            ORDER BY p.ship_id
+            """;
+
+    private static final String HISTORY_START_SQL = "SELECT location_report_history_start()";
+
+    private static final LocalDate BEGINNING = LocalDate.of(1, 1, 1);
+
+    private static final String WINDOW_SQL = """
+            SELECT ship_id, id AS report_id, report_date, country_id, port_id
+            FROM (SELECT lr.*, ROW_NUMBER() OVER (PARTITION BY ship_id ORDER BY report_date DESC, id DESC) AS rn
+                  FROM location_reports lr
+                  WHERE report_date <= ?) latest
+            WHERE rn = 1
+            ORDER BY ship_id
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final Dictionaries dictionaries;
+
+    public PositionSnapshotService(DataSource dataSource,
+                                   PlatformTransactionManager transactionManager,
+                                   ObjectMapper objectMapper,
+                                   Dictionaries dictionaries) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        // PostgreSQL only honours the fetch size inside a transaction (autocommit off)
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.objectMapper = objectMapper;
+        this.dictionaries = dictionaries;
+    }
+
+    /**
+     * Writes a JSON array with the latest report dated on or before {@code asOf} of every ship that has one,
+     * in ship id order, and returns the number of ships written.
+     */
+    public long writePositions(LocalDate asOf, OutputStream out) throws IOException {
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(out, JsonEncoding.UTF8);
+        try {
+            generator.writeStartArray();
+            Long count = transactionTemplate.execute(status -> jdbcTemplate.execute(
+                    (ConnectionCallback<Long>) connection -> {
+                        boolean postgres = "PostgreSQL".equals(connection.getMetaData().getDatabaseProductName());
+                        try (PreparedStatement statement = connection.prepareStatement(
+                                postgres ? LATERAL_SQL : WINDOW_SQL)) {
+                            statement.setFetchSize(FETCH_SIZE);
+                            statement.setDate(1, Date.valueOf(asOf));
+                            if (postgres) {
+                                // Partitions are pruned while planning, so the bounds must never go into a generic plan
+                                statement.unwrap(PGStatement.class).setPrepareThreshold(0);
+                                statement.setDate(2, Date.valueOf(asOf));
+                                statement.setDate(3, Date.valueOf(historyStart(connection)));
+                                statement.setDate(4, Date.valueOf(asOf));
+                            }
+                            try (ResultSet rs = statement.executeQuery()) {
+                                long rows = 0;
+                                while (rs.next()) {
+                                    write(generator, rs);
+                                    rows++;
+                                }
+                                return rows;
+                            }
+                        }
+                    }));
+            generator.writeEndArray();
+            generator.flush();
+            return count == null ? 0 : count;
+        } catch (UncheckedIOException ex) {
+            throw ex.getCause();
+        }
+    }
+
+    private static LocalDate historyStart(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery(HISTORY_START_SQL)) {
+            rs.next();
+            Date start = rs.getDate(1);
+            return start == null ? BEGINNING : start.toLocalDate();
+        }
+    }
+
+    private void write(JsonGenerator generator, ResultSet rs) throws SQLException {
+        try {
+            generator.writeStartObject();
+            generator.writeNumberField("shipId", rs.getLong("ship_id"));
+            generator.writeNumberField("reportId", rs.getLong("report_id"));
+            generator.writeStringField("reportDate", rs.getDate("report_date").toLocalDate().toString());
+            generator.writeStringField("country", dictionaries.countries().label(rs.getInt("country_id")));
+            generator.writeStringField("port", dictionaries.ports().label(rs.getInt("port_id")));
+            generator.writeEndObject();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package com.shiptracker.service;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * Prefix trie over names, ranked by popularity. Keys are folded to lower case without diacritics, so
+ * "Gdańsk" and "gdansk" are one entry, shown in whichever spelling was counted most.
+ * <p>
+ * Every node caches its {@code maxResults} most popular entries the first time it is queried. Counting a
+ * name clears the caches on its path only, so a lookup is a walk down the prefix plus, at worst, one
+ * ranking of the subtree below it.
+ */
+final class PrefixTrie {
+
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern SPACES = Pattern.compile("\\s+");
+    private static final Comparator<Entry> BY_POPULARITY =
+            Comparator.comparingLong((Entry entry) -> entry.count).reversed().thenComparing(entry -> entry.key);
+
+    private final int maxResults;
+    private final Node root = new Node();
+    // Lookups fill node caches under the read lock; those writes are idempotent, so only counting is exclusive
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private int size;
+
+    PrefixTrie(int maxResults) {
+        this.maxResults = maxResults;
+    }
+
+    int maxResults() {
+        return maxResults;
+    }
+
+    int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Adds {@code count} uses of {@code name}; blank names are ignored. */
+    void add(String name, long count) {
+        String key = fold(name);
+        if (key.isEmpty()) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            Node node = root;
+            node.top = null;
+            for (int i = 0; i < key.length(); i++) {
+                node = node.children.computeIfAbsent(key.charAt(i), c -> new Node());
+                node.top = null;
+            }
+            if (node.entry == null) {
+                node.entry = new Entry(key);
+                size++;
+            }
+            node.entry.add(name.trim(), count);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** Up to {@code limit} names starting with {@code prefix}, most popular first. */
+    List<String> suggest(String prefix, int limit) {
+        String key = fold(prefix);
+        lock.readLock().lock();
+        try {
+            Node node = root;
+            for (int i = 0; i < key.length() && node != null; i++) {
+                node = node.children.get(key.charAt(i));
+            }
+            if (node == null) {
+                return List.of();
+            }
+            List<Entry> top = top(node);
+            return top.subList(0, Math.min(limit, top.size())).stream().map(entry -> entry.label).toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private List<Entry> top(Node node) {
+        List<Entry> top = node.top;
+        if (top == null) {
+            List<Entry> entries = new ArrayList<>();
+            collect(node, entries);
+            entries.sort(BY_POPULARITY);
+            top = List.copyOf(entries.subList(0, Math.min(maxResults, entries.size())));
+            node.top = top;
+        }
+        return top;
+    }
+
+    private static void collect(Node node, List<Entry> entries) {
+        if (node.entry != null) {
+            entries.add(node.entry);
+        }
+        for (Node child : node.children.values()) {
+            collect(child, entries);
+        }
+    }
+
+    /** Lower case, without accents and with single spaces. Letters Unicode does not decompose are mapped by hand. */
+    static String fold(String name) {
+        if (name == null) {
+            return "";
+        }
+        String folded = MARKS.matcher(Normalizer.normalize(name, Normalizer.Form.NFD)).replaceAll("");
+        folded = SPACES.matcher(folded.toLowerCase(Locale.ROOT).trim()).replaceAll(" ");
+        StringBuilder plain = new StringBuilder(folded.length());
+        for (int i = 0; i < folded.length(); i++) {
+            char c = folded.charAt(i);
+            switch (c) {
+                case 'ł' -> plain.append('l');
+                case 'ø' -> plain.append('o');
+                case 'đ' -> plain.append('d');
+                case 'ı' -> plain.append('i');
+                case 'æ' -> plain.append("ae");
+                case 'œ' -> plain.append("oe");
+                case 'ß' -> plain.append("ss");
+                case 'þ' -> plain.append("th");
+                default -> plain.append(c);
+            }
+        }
+        return plain.toString();
+    }
+
+    private static final class Node {
+
+        private final Map<Character, Node> children = new HashMap<>(4);
+        private Entry entry;
+        private volatile List<Entry> top;
+    }
+
+    private static final class Entry {
+
+        private final String key;
+        private final Map<String, Long> spellings = new HashMap<>(2);
+        private long count;
+        private String label;
+
+        private Entry(String key) {
+            this.key = key;
+        }
+
+        private void add(String spelling, long uses) {
+            long spellingCount = spellings.merge(spelling, uses, Long::sum);
+            count += uses;
+            if (label == null || !label.equals(spelling) && spellingCount > spellings.get(label)) {
+                label = spelling;
+            }
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package com.shiptracker.service;
+
+import com.shiptracker.config.OutboundHttpProperties;
+import com.shiptracker.exception.ExternalApiException;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestClientException;
+
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Client for the randommer.io name API. Every call passes a concurrency bulkhead and a circuit breaker
+ * and is cut off after the total deadline, so a slow or failing API cannot hold request threads.
+ * All failures surface as {@link ExternalApiException}. Each call is timed as {@code name.generator.requests},
+ * tagged with its outcome.
+ */
+@Component
+public class RandommerClient {
+
+    private final RestClient restClient;
+    private final CircuitBreaker circuitBreaker;
+    private final Bulkhead bulkhead;
+    private final MeterRegistry meterRegistry;
+    private final Duration totalTimeout;
+    private final String apiKey;
+    private final String apiUrl;
+    private final ExecutorService callExecutor = Executors.newVirtualThreadPerTaskExecutor();
+
+    public RandommerClient(RestClient restClient,
+                           CircuitBreaker nameGeneratorCircuitBreaker,
+                           Bulkhead nameGeneratorBulkhead,
+                           MeterRegistry meterRegistry,
+                           OutboundHttpProperties properties,
+                           @Value("${randommer.api.key}") String apiKey,
+                           @Value("${randommer.api.url}") String apiUrl) {
+        this.restClient = restClient;
+        this.circuitBreaker = nameGeneratorCircuitBreaker;
+        this.bulkhead = nameGeneratorBulkhead;
+        this.meterRegistry = meterRegistry;
+        this.totalTimeout = properties.totalTimeout();
+        this.apiKey = apiKey;
+        this.apiUrl = apiUrl;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        callExecutor.shutdownNow();
+    }
+
+    public List<String> fetchSurnames(int quantity) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "error";
+        try {
+            List<String> names = bulkhead.executeSupplier(
+                    () -> circuitBreaker.executeSupplier(() -> withDeadline(quantity)));
+            outcome = "success";
+            return names;
+        } catch (CallNotPermittedException ex) {
+            outcome = "circuit_open";
+            throw new ExternalApiException("Name generator service is unavailable (circuit open)", ex);
+        } catch (BulkheadFullException ex) {
+            outcome = "bulkhead_full";
+            throw new ExternalApiException("Name generator service is unavailable (too many concurrent calls)", ex);
+        } catch (ExternalApiException ex) {
+            outcome = isTimeout(ex) ? "timeout" : "error";
+            throw ex;
+        } finally {
+            sample.stop(Timer.builder("name.generator.requests")
+                    .description("Outbound calls to the name generator API")
+                    .tag("outcome", outcome)
+                    .register(meterRegistry));
+        }
+    }
+
+    // The total deadline or the read timeout of the HTTP client; depending on timing the latter surfaces
+    // as the cancellation of the pending response
+    private static boolean isTimeout(Throwable failure) {
+        for (Throwable cause = failure; cause != null; cause = cause.getCause()) {
+            if (cause instanceof TimeoutException || cause instanceof HttpTimeoutException
+                    || cause instanceof CancellationException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private List<String> withDeadline(int quantity) {
+        Future<List<String>> call = callExecutor.submit(() -> request(quantity));
+        try {
+            return call.get(totalTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException ex) {
+            call.cancel(true);
+            throw new ExternalApiException("Name generator service is unavailable (timed out)", ex);
+        } catch (InterruptedException ex) {
+            call.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new ExternalApiException("Name generator call interrupted", ex);
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof ExternalApiException apiException) {
+                throw apiException;
+            }
+            throw new ExternalApiException("Name generator service is unavailable", ex.getCause());
+        }
+    }
+
+    private List<String> request(int quantity) {
+        try {
+            String[] names = restClient.get()
+                    .uri(apiUrl + "?nameType=surname&quantity={quantity}", quantity)
+                    .header("X-Api-Key", apiKey)
+                    .retrieve()
+                    .body(String[].class);
+
+            List<String> result = names == null ? List.of()
+                    : Arrays.stream(names).filter(name -> name != null && !name.isBlank()).toList();
+            if (result.isEmpty()) {
+                throw new ExternalApiException("Name generator returned empty response");
+            }
+            return result;
+        } catch (RestClientException ex) {
+            throw new ExternalApiException("Name generator service is unavailable", ex);
+        }
+    }
+}
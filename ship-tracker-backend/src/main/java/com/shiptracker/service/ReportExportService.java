@@ -0,0 +1,183 @@
+package com.shiptracker.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+
+/**
+ * Streams location reports joined with their ship straight from a forward-only JDBC cursor.
+ * Rows are written as they are fetched, so memory use does not depend on the size of the table.
+ */
+@Service
+public class ReportExportService {
+
+    static final int FETCH_SIZE = 1000;
+
+    private static final String EXPORT_SQL = """
+            SELECT s.id AS ship_id, s.name AS ship_name, s.ship_type_id,
+                   r.id AS report_id, r.report_date, r.country_id, r.port_id
+            FROM location_reports r
+            JOIN ships s ON s.id = r.ship_id
+            WHERE r.report_date >= ?
+            ORDER BY r.ship_id, r.report_date, r.id
+            """;
+
+    private static final LocalDate BEGINNING = LocalDate.of(1, 1, 1);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final Dictionaries dictionaries;
+
+    public ReportExportService(DataSource dataSource,
+                               PlatformTransactionManager transactionManager,
+                               ObjectMapper objectMapper,
+                               Dictionaries dictionaries) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(FETCH_SIZE);
+        // PostgreSQL only honours the fetch size inside a transaction (autocommit off)
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.objectMapper = objectMapper;
+        this.dictionaries = dictionaries;
+    }
+
+    /**
+     * Writes every report dated on or after {@code since} (all reports when null) and returns the row count.
+     */
+    public long exportReports(ExportFormat format, LocalDate since, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        RowWriter rowWriter = switch (format) {
+            case NDJSON -> new NdjsonRowWriter(objectMapper.getFactory().createGenerator(writer), dictionaries);
+            case CSV -> new CsvRowWriter(writer, dictionaries);
+        };
+        long[] count = {0};
+        try {
+            rowWriter.begin();
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.query(
+                    EXPORT_SQL,
+                    (RowCallbackHandler) rs -> {
+                        try {
+                            rowWriter.write(rs);
+                        } catch (IOException ex) {
+                            throw new UncheckedIOException(ex);
+                        }
+                        count[0]++;
+                    },
+                    Date.valueOf(since == null ? BEGINNING : since)));
+            rowWriter.end();
+        } catch (UncheckedIOException ex) {
+            throw ex.getCause();
+        }
+        writer.flush();
+        return count[0];
+    }
+
+    private interface RowWriter {
+
+        void begin() throws IOException;
+
+        void write(ResultSet rs) throws SQLException, IOException;
+
+        void end() throws IOException;
+    }
+
+    private static final class NdjsonRowWriter implements RowWriter {
+
+        private final JsonGenerator generator;
+        private final Dictionaries dictionaries;
+
+        private NdjsonRowWriter(JsonGenerator generator, Dictionaries dictionaries) {
+            this.generator = generator;
+            this.dictionaries = dictionaries;
+            this.generator.setRootValueSeparator(null);
+        }
+
+        @Override
+        public void begin() {
+        }
+
+        @Override
+        public void write(ResultSet rs) throws SQLException, IOException {
+            generator.writeStartObject();
+            generator.writeNumberField("shipId", rs.getLong("ship_id"));
+            generator.writeStringField("shipName", rs.getString("ship_name"));
+            generator.writeStringField("shipType", dictionaries.shipTypes().label(rs.getInt("ship_type_id")));
+            generator.writeNumberField("reportId", rs.getLong("report_id"));
+            generator.writeStringField("reportDate", rs.getDate("report_date").toLocalDate().toString());
+            generator.writeStringField("country", dictionaries.countries().label(rs.getInt("country_id")));
+            generator.writeStringField("port", dictionaries.ports().label(rs.getInt("port_id")));
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        }
+
+        @Override
+        public void end() throws IOException {
+            generator.flush();
+        }
+    }
+
+    private static final class CsvRowWriter implements RowWriter {
+
+        private final Writer writer;
+        private final Dictionaries dictionaries;
+
+        private CsvRowWriter(Writer writer, Dictionaries dictionaries) {
+            this.writer = writer;
+            this.dictionaries = dictionaries;
+        }
+
+        @Override
+        public void begin() throws IOException {
+            writer.write("ship_id,ship_name,ship_type,report_id,report_date,country,port\n");
+        }
+
+        @Override
+        public void write(ResultSet rs) throws SQLException, IOException {
+            writer.write(Long.toString(rs.getLong("ship_id")));
+            writer.write(',');
+            writer.write(escape(rs.getString("ship_name")));
+            writer.write(',');
+            writer.write(escape(dictionaries.shipTypes().label(rs.getInt("ship_type_id"))));
+            writer.write(',');
+            writer.write(Long.toString(rs.getLong("report_id")));
+            writer.write(',');
+            writer.write(rs.getDate("report_date").toLocalDate().toString());
+            writer.write(',');
+            writer.write(escape(dictionaries.countries().label(rs.getInt("country_id"))));
+            writer.write(',');
+            writer.write(escape(dictionaries.ports().label(rs.getInt("port_id"))));
+            writer.write('\n');
+        }
+
+        @Override
+        public void end() throws IOException {
+            writer.flush();
+        }
+
+        private static String escape(String value) {
+            if (value.indexOf(',') < 0 && value.indexOf('"') < 0
+                    && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+                return value;
+            }
+            return '"' + value.replace("\"", "\"\"") + '"';
+        }
+    }
+}
@@ -0,0 +1,197 @@
+package com.shiptracker.service;
+
+import com.shiptracker.dto.ImportProgressResponse;
+import com.shiptracker.dto.ReportImportResponse;
+import com.shiptracker.exception.BadRequestException;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Bulk-loads historical location reports with PostgreSQL {@code COPY FROM STDIN}.
+ * <p>
+ * The CSV stream is copied into a session-local temp table (temp tables are never WAL-logged). Rows
+ * without a date or whose ship name is unknown or not unique are skipped before anything else. Countries and
+ * ports of the remaining rows are resolved through {@link Dictionaries}, so names and display labels are both
+ * accepted and unknown ones are added, one batch per table. Their keys are staged in a second temp table, and
+ * one {@code INSERT ... SELECT} moves the rows into {@code location_reports}. The upload is consumed as a
+ * stream, so file size is not bounded by heap. The latest positions of the ships it imported into are rebuilt
+ * in the same transaction.
+ */
+@Service
+public class ReportImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(ReportImportService.class);
+
+    private static final long PROGRESS_LOG_INTERVAL = 64L * 1024 * 1024;
+
+    private static final String CREATE_STAGING_SQL = """
+            CREATE TEMP TABLE report_import_staging (
+                ship_name   VARCHAR(100),
+                report_date DATE,
+                country     VARCHAR(100),
+                port        VARCHAR(100)
+            ) ON COMMIT DROP
+            """;
+
+    private static final String COPY_SQL = """
+            COPY report_import_staging (ship_name, report_date, country, port)
+            FROM STDIN WITH (FORMAT csv, HEADER true)
+            """;
+
+    private static final String DROP_UNMATCHED_SQL = """
+            DELETE FROM report_import_staging
+            WHERE report_date IS NULL
+               OR ship_name IS NULL
+               OR ship_name NOT IN (SELECT name FROM ships WHERE name IS NOT NULL GROUP BY name HAVING COUNT(*) = 1)
+            """;
+
+    private static final String CREATE_KEYS_SQL = """
+            CREATE TEMP TABLE report_import_keys (
+                dictionary VARCHAR(20),
+                name       VARCHAR(100),
+                id         INTEGER
+            ) ON COMMIT DROP
+            """;
+
+    private static final String STAGE_KEY_SQL = "INSERT INTO report_import_keys (dictionary, name, id) VALUES (?, ?, ?)";
+
+    private static final String INSERT_SQL = """
+            INSERT INTO location_reports (ship_id, report_date, country_id, port_id)
+            SELECT s.id, st.report_date, c.id, p.id
+            FROM report_import_staging st
+            JOIN (SELECT name, MIN(id) AS id FROM ships GROUP BY name HAVING COUNT(*) = 1) s
+              ON s.name = st.ship_name
+            JOIN report_import_keys c ON c.dictionary = 'countries' AND c.name = st.country
+            JOIN report_import_keys p ON p.dictionary = 'ports' AND p.name = st.port
+            """;
+
+    private static final String DISTINCT_SQL = "SELECT DISTINCT %s FROM report_import_staging WHERE %<s IS NOT NULL";
+
+    private static final int STAGE_KEY_BATCH_SIZE = 1000;
+
+    private static final String BUMP_VERSIONS_SQL = """
+            UPDATE ships SET version = version + 1
+            WHERE name IN (SELECT DISTINCT ship_name FROM report_import_staging)
+            RETURNING id
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ShipCacheEvictor shipCacheEvictor;
+    private final ShipPositionService shipPositionService;
+    private final Dictionaries dictionaries;
+    private final Map<String, ImportProgress> running = new ConcurrentHashMap<>();
+
+    public ReportImportService(JdbcTemplate jdbcTemplate,
+                               ShipCacheEvictor shipCacheEvictor,
+                               ShipPositionService shipPositionService,
+                               Dictionaries dictionaries) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.shipCacheEvictor = shipCacheEvictor;
+        this.shipPositionService = shipPositionService;
+        this.dictionaries = dictionaries;
+    }
+
+    @Transactional
+    public ReportImportResponse importCsv(InputStream csv, Long totalBytes) {
+        ImportProgress progress = new ImportProgress(UUID.randomUUID().toString(), totalBytes, csv);
+        running.put(progress.id, progress);
+        try {
+            log.info("Import {} started ({} bytes announced)", progress.id, totalBytes);
+            jdbcTemplate.execute(CREATE_STAGING_SQL);
+
+            progress.phase = "COPY";
+            long rowsRead = jdbcTemplate.execute((Connection connection) -> {
+                CopyManager copyManager = connection.unwrap(PGConnection.class).getCopyAPI();
+                try {
+                    return copyManager.copyIn(COPY_SQL, progress.input);
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                } catch (SQLException ex) {
+                    if (isDataError(ex)) {
+                        throw new BadRequestException("Invalid CSV: " + ex.getMessage());
+                    }
+                    throw ex;
+                }
+            });
+            log.info("Import {} staged {} rows from {} bytes", progress.id, rowsRead, progress.input.getCount());
+
+            progress.phase = "INSERT";
+            // Unmatched rows go first, so their countries and ports are never added to the dictionaries
+            jdbcTemplate.update(DROP_UNMATCHED_SQL);
+            jdbcTemplate.execute(CREATE_KEYS_SQL);
+            stageKeys(dictionaries.countries(), "country");
+            stageKeys(dictionaries.ports(), "port");
+            long rowsImported = jdbcTemplate.update(INSERT_SQL);
+            List<Long> shipIds = jdbcTemplate.queryForList(BUMP_VERSIONS_SQL, Long.class);
+            shipPositionService.rebuild(shipIds);
+            shipCacheEvictor.evictAll();
+            long durationMs = Duration.between(progress.startedAt, Instant.now()).toMillis();
+            log.info("Import {} finished: {} imported, {} skipped in {} ms",
+                    progress.id, rowsImported, rowsRead - rowsImported, durationMs);
+
+            return new ReportImportResponse(progress.id, rowsRead, rowsImported, rowsRead - rowsImported, durationMs);
+        } finally {
+            running.remove(progress.id);
+        }
+    }
+
+    /** Stages the key of every distinct {@code column} value, as {@link LabelDictionary#idsOf} resolves it. */
+    private void stageKeys(LabelDictionary dictionary, String column) {
+        Map<String, Integer> ids = dictionary.idsOf(
+                jdbcTemplate.queryForList(DISTINCT_SQL.formatted(column), String.class));
+        jdbcTemplate.batchUpdate(STAGE_KEY_SQL, ids.entrySet(), STAGE_KEY_BATCH_SIZE, (statement, key) -> {
+            statement.setString(1, dictionary.table());
+            statement.setString(2, key.getKey());
+            statement.setInt(3, key.getValue());
+        });
+    }
+
+    private static boolean isDataError(SQLException ex) {
+        // SQLSTATE class 22 covers malformed values and bad COPY file format
+        return ex.getSQLState() != null && ex.getSQLState().startsWith("22");
+    }
+
+    public Collection<ImportProgressResponse> findRunning() {
+        return running.values().stream()
+                .map(ImportProgress::toResponse)
+                .toList();
+    }
+
+    private static final class ImportProgress {
+
+        private final String id;
+        private final Long totalBytes;
+        private final CountingInputStream input;
+        private final Instant startedAt = Instant.now();
+        private volatile String phase = "STAGING";
+
+        private ImportProgress(String id, Long totalBytes, InputStream input) {
+            this.id = id;
+            this.totalBytes = totalBytes;
+            this.input = new CountingInputStream(input, PROGRESS_LOG_INTERVAL,
+                    bytes -> log.info("Import {} copied {} of {} bytes", id, bytes, totalBytes == null ? "?" : totalBytes));
+        }
+
+        private ImportProgressResponse toResponse() {
+            return new ImportProgressResponse(id, phase, input.getCount(), totalBytes, startedAt);
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package com.shiptracker.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shiptracker.dto.LocationReportEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Fans committed location reports out to Server-Sent Event subscribers.
+ * <p>
+ * Each subscriber owns a bounded buffer drained by its own virtual thread, so a blocking socket write
+ * parks only that virtual thread. Publishing never blocks: when a subscriber's buffer is full the report
+ * is dropped for that subscriber and it receives a {@code dropped} event with the count before the next
+ * report, telling the client to re-read the history it missed.
+ */
+@Service
+public class ReportStreamService {
+
+    private static final Logger log = LoggerFactory.getLogger(ReportStreamService.class);
+
+    private final ObjectMapper objectMapper;
+    private final int bufferSize;
+    private final Duration heartbeat;
+    private final Duration timeout;
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final ExecutorService senders =
+            Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("report-stream-", 0).factory());
+    private final Counter droppedCounter;
+
+    public ReportStreamService(ObjectMapper objectMapper,
+                               MeterRegistry meterRegistry,
+                               @Value("${stream.reports.buffer-size:256}") int bufferSize,
+                               @Value("${stream.reports.heartbeat:25s}") Duration heartbeat,
+                               @Value("${stream.reports.timeout:30m}") Duration timeout) {
+        this.objectMapper = objectMapper;
+        this.bufferSize = bufferSize;
+        this.heartbeat = heartbeat;
+        this.timeout = timeout;
+        Gauge.builder("reports.stream.subscribers", subscribers, Set::size).register(meterRegistry);
+        this.droppedCounter = Counter.builder("reports.stream.dropped")
+                .description("Reports not delivered to a subscriber whose buffer was full")
+                .register(meterRegistry);
+    }
+
+    /** Opens a stream of reports for the given ships, or for all ships when {@code shipIds} is empty. */
+    public SseEmitter subscribe(Set<Long> shipIds) {
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        Subscriber subscriber = new Subscriber(emitter, Set.copyOf(shipIds), bufferSize);
+        emitter.onCompletion(() -> close(subscriber));
+        emitter.onTimeout(emitter::complete);
+        subscribers.add(subscriber);
+        senders.execute(() -> drain(subscriber));
+        return emitter;
+    }
+
+    @TransactionalEventListener
+    public void onReportCreated(LocationReportEvent event) {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        // Serialized once here instead of once per subscriber by the message converters
+        Outgoing outgoing = new Outgoing(event.report().id(), toJson(event));
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.accepts(event.shipId()) && !subscriber.offer(outgoing)) {
+                droppedCounter.increment();
+            }
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        senders.shutdownNow();
+    }
+
+    private void drain(Subscriber subscriber) {
+        subscriber.drainer = Thread.currentThread();
+        try {
+            while (!subscriber.closed) {
+                Outgoing next = subscriber.queue.poll(heartbeat.toMillis(), TimeUnit.MILLISECONDS);
+                long missed = subscriber.dropped.getAndSet(0);
+                if (missed > 0) {
+                    subscriber.emitter.send(SseEmitter.event().name("dropped").data(missed));
+                }
+                if (next == null) {
+                    subscriber.emitter.send(SseEmitter.event().comment("keep-alive"));
+                } else {
+                    subscriber.emitter.send(SseEmitter.event().id(Long.toString(next.id())).name("report").data(next.json()));
+                }
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } catch (IOException | IllegalStateException ex) {
+            // Client went away or the emitter already completed; the container reports the disconnect
+            log.debug("Report stream closed: {}", ex.getMessage());
+        } finally {
+            close(subscriber);
+        }
+    }
+
+    private void close(Subscriber subscriber) {
+        subscriber.closed = true;
+        if (subscribers.remove(subscriber)) {
+            Thread drainer = subscriber.drainer;
+            if (drainer != null && drainer != Thread.currentThread()) {
+                drainer.interrupt();
+            }
+        }
+    }
+
+    private String toJson(LocationReportEvent event) {
+        try {
+            return objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    record Outgoing(Long id, String json) {}
+
+    static final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final Set<Long> shipIds;
+        private final BlockingQueue<Outgoing> queue;
+        private final AtomicLong dropped = new AtomicLong();
+        private volatile Thread drainer;
+        private volatile boolean closed;
+
+        Subscriber(SseEmitter emitter, Set<Long> shipIds, int bufferSize) {
+            this.emitter = emitter;
+            this.shipIds = shipIds;
+            this.queue = new ArrayBlockingQueue<>(bufferSize);
+        }
+
+        boolean accepts(Long shipId) {
+            return shipIds.isEmpty() || shipIds.contains(shipId);
+        }
+
+        boolean offer(Outgoing outgoing) {
+            if (queue.offer(outgoing)) {
+                return true;
+            }
+            dropped.incrementAndGet();
+            return false;
+        }
+
+        long pendingDrops() {
+            return dropped.get();
+        }
+    }
+}
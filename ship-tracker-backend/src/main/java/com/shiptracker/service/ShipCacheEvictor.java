@@ -0,0 +1,50 @@
+package com.shiptracker.service;
+
+import com.shiptracker.config.CacheConfig;
+import com.shiptracker.dto.DictionaryRelabeledEvent;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Objects;
+
+/**
+ * Programmatic invalidation for writers whose affected ships are only known at runtime.
+ * Single-ship writes use {@code @CacheEvict} directly.
+ */
+@Component
+public class ShipCacheEvictor {
+
+    private final CacheManager cacheManager;
+
+    public ShipCacheEvictor(CacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+    public void evictShips(Collection<Long> shipIds) {
+        Cache ships = cache(CacheConfig.SHIPS);
+        shipIds.forEach(ships::evict);
+        cache(CacheConfig.SHIP_PAGES).clear();
+    }
+
+    public void evictAll() {
+        cache(CacheConfig.SHIPS).clear();
+        cache(CacheConfig.SHIP_PAGES).clear();
+    }
+
+    /**
+     * Cached responses hold labels, so a relabel drops them all. Unlike {@link #evictAll()} this is not
+     * deferred to a commit: the rename is already in the database, whatever the transaction that noticed it does.
+     */
+    @EventListener
+    public void onDictionaryRelabeled(DictionaryRelabeledEvent event) {
+        cache(CacheConfig.SHIPS).invalidate();
+        cache(CacheConfig.SHIP_PAGES).invalidate();
+    }
+
+    private Cache cache(String name) {
+        return Objects.requireNonNull(cacheManager.getCache(name), name);
+    }
+}
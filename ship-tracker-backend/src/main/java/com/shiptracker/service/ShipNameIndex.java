@@ -0,0 +1,98 @@
+package com.shiptracker.service;
+
+import com.shiptracker.repository.ShipRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * In-memory index of the names used in {@code ships}, compared case-insensitively. A Bloom filter
+ * answers the common "never used" case; its positives are confirmed against an exact multiset, which
+ * also lets renamed ships release their old name. Loaded once at startup and kept current by
+ * {@link ShipService}.
+ */
+@Component
+public class ShipNameIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(ShipNameIndex.class);
+
+    private final ShipRepository shipRepository;
+    private final double falsePositiveRate;
+    private final Map<String, Integer> names = new ConcurrentHashMap<>();
+    // Adds share the read lock; growing the filter takes the write lock so no add is lost in the swap
+    private final ReadWriteLock filterLock = new ReentrantReadWriteLock();
+    private volatile BloomFilter filter;
+
+    public ShipNameIndex(ShipRepository shipRepository,
+                         @Value("${name-generator.index.expected-names:100000}") int expectedNames,
+                         @Value("${name-generator.index.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.shipRepository = shipRepository;
+        this.falsePositiveRate = falsePositiveRate;
+        this.filter = new BloomFilter(expectedNames, falsePositiveRate);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void load() {
+        long start = System.nanoTime();
+        try (Stream<String> all = shipRepository.streamAllNames()) {
+            all.forEach(this::add);
+        }
+        log.info("Indexed {} distinct ship names in {} ms", names.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    public boolean contains(String name) {
+        String key = normalize(name);
+        return filter.mightContain(key) && names.containsKey(key);
+    }
+
+    public void add(String name) {
+        String key = normalize(name);
+        filterLock.readLock().lock();
+        try {
+            names.merge(key, 1, Integer::sum);
+            filter.put(key);
+        } finally {
+            filterLock.readLock().unlock();
+        }
+        if (names.size() > filter.capacity()) {
+            grow();
+        }
+    }
+
+    public void rename(String oldName, String newName) {
+        if (normalize(oldName).equals(normalize(newName))) {
+            return;
+        }
+        names.computeIfPresent(normalize(oldName), (key, count) -> count == 1 ? null : count - 1);
+        add(newName);
+    }
+
+    private void grow() {
+        filterLock.writeLock().lock();
+        try {
+            if (names.size() > filter.capacity()) {
+                BloomFilter larger = new BloomFilter(filter.capacity() * 2, falsePositiveRate);
+                names.keySet().forEach(larger::put);
+                filter = larger;
+            }
+        } finally {
+            filterLock.writeLock().unlock();
+        }
+    }
+
+    private static String normalize(String name) {
+        return name.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,106 @@
+package com.shiptracker.service;
+
+import com.shiptracker.dto.ShipPositionRebuildResponse;
+import com.shiptracker.dto.ShipPositionResponse;
+import com.shiptracker.entity.LocationReport;
+import com.shiptracker.repository.ShipLatestPositionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Serves the latest position of every ship from {@code ship_latest_position}.
+ * <p>
+ * Single reports advance the row in place, guarded by {@code (report_date, id)} so a backdated report never
+ * replaces a newer one. Bulk writers rebuild the affected ships from {@code location_reports} instead.
+ * Callers hold the ship row lock (every writer bumps the ship version first), so check-then-insert is safe.
+ */
+@Service
+@Transactional(readOnly = true)
+public class ShipPositionService {
+
+    private static final Logger log = LoggerFactory.getLogger(ShipPositionService.class);
+
+    private static final String LATEST_REPORTS_SQL = """
+            SELECT ship_id, id, report_date, country_id, port_id, first_report_date
+            FROM (SELECT r.*, ROW_NUMBER() OVER (PARTITION BY ship_id ORDER BY report_date DESC, id DESC) AS rn,
+                         MIN(report_date) OVER (PARTITION BY ship_id) AS first_report_date
+                  FROM location_reports r%s) latest
+            WHERE rn = 1
+            """;
+
+    // Keeps IN lists well below the driver's bind parameter limit when an import names many ships
+    private static final int REBUILD_CHUNK = 1000;
+
+    private static final String INSERT_SQL = "INSERT INTO ship_latest_position"
+            + " (ship_id, report_id, report_date, country_id, port_id, first_report_date) ";
+
+    private final ShipLatestPositionRepository shipLatestPositionRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final Dictionaries dictionaries;
+
+    public ShipPositionService(ShipLatestPositionRepository shipLatestPositionRepository,
+                               JdbcTemplate jdbcTemplate,
+                               Dictionaries dictionaries) {
+        this.shipLatestPositionRepository = shipLatestPositionRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.dictionaries = dictionaries;
+    }
+
+    public List<ShipPositionResponse> findAll() {
+        return shipLatestPositionRepository.findAllPositions().stream()
+                .map(position -> new ShipPositionResponse(
+                        position.shipId(),
+                        position.reportId(),
+                        position.reportDate(),
+                        dictionaries.countries().label(position.countryId()),
+                        dictionaries.ports().label(position.portId())))
+                .toList();
+    }
+
+    /**
+     * Moves the ship's position to {@code report} unless a newer report is already recorded. A backdated
+     * report may instead move the start of the ship's history back.
+     */
+    @Transactional
+    public void record(LocationReport report) {
+        Long shipId = report.getShip().getId();
+        if (shipLatestPositionRepository.advance(shipId, report.getId(), report.getReportDate(),
+                report.getCountryId(), report.getPortId()) == 0
+                && shipLatestPositionRepository.insertIfAbsent(shipId, report.getId(), report.getReportDate(),
+                report.getCountryId(), report.getPortId()) == 0) {
+            shipLatestPositionRepository.extendHistory(shipId, report.getReportDate());
+        }
+    }
+
+    /** Recomputes every position from {@code location_reports}, e.g. after a backfill. */
+    @Transactional
+    public ShipPositionRebuildResponse rebuild() {
+        long start = System.nanoTime();
+        jdbcTemplate.update("DELETE FROM ship_latest_position");
+        int ships = jdbcTemplate.update(INSERT_SQL + LATEST_REPORTS_SQL.formatted(""));
+        long durationMs = (System.nanoTime() - start) / 1_000_000;
+        log.info("Rebuilt latest positions of {} ships in {} ms", ships, durationMs);
+        return new ShipPositionRebuildResponse(ships, durationMs);
+    }
+
+    /** Recomputes the positions of the given ships only, {@value #REBUILD_CHUNK} ships per statement. */
+    @Transactional
+    public void rebuild(Collection<Long> shipIds) {
+        List<Long> all = List.copyOf(shipIds);
+        for (int from = 0; from < all.size(); from += REBUILD_CHUNK) {
+            List<Long> chunk = all.subList(from, Math.min(from + REBUILD_CHUNK, all.size()));
+            String placeholders = String.join(", ", Collections.nCopies(chunk.size(), "?"));
+            Object[] ids = chunk.toArray();
+            jdbcTemplate.update("DELETE FROM ship_latest_position WHERE ship_id IN (" + placeholders + ")", ids);
+            jdbcTemplate.update(INSERT_SQL
+                    + LATEST_REPORTS_SQL.formatted(" WHERE ship_id IN (" + placeholders + ")"), ids);
+        }
+    }
+}
@@ -1,13 +1,26 @@
 package com.shiptracker.service;
 
+import com.shiptracker.config.CacheConfig;
+import com.shiptracker.dto.CursorPage;
+import com.shiptracker.dto.ShipFilter;
 import com.shiptracker.dto.ShipRequest;
 import com.shiptracker.dto.ShipResponse;
 import com.shiptracker.entity.Ship;
+import com.shiptracker.exception.BadRequestException;
+import com.shiptracker.exception.PreconditionFailedException;
 import com.shiptracker.exception.ResourceNotFoundException;
+import com.shiptracker.repository.ShipKeyset;
 import com.shiptracker.repository.ShipRepository;
-import org.springframework.data.domain.Sort;
+import com.shiptracker.repository.ShipSort;
+import com.shiptracker.repository.ShipSummary;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.util.List;
 
@@ -15,53 +28,155 @@ import java.util.List;
 @Transactional(readOnly = true)
 public class ShipService {
 
+    public static final int MAX_PAGE_SIZE = 200;
+
     private final ShipRepository shipRepository;
+    private final ShipNameIndex shipNameIndex;
+    private final Dictionaries dictionaries;
 
-    public ShipService(ShipRepository shipRepository) {
+    public ShipService(ShipRepository shipRepository, ShipNameIndex shipNameIndex, Dictionaries dictionaries) {
         this.shipRepository = shipRepository;
+        this.shipNameIndex = shipNameIndex;
+        this.dictionaries = dictionaries;
+    }
+
+    @Cacheable(CacheConfig.SHIP_PAGES)
+    public CursorPage<ShipResponse> findPage(ShipFilter filter, String sort, String cursor, int limit) {
+        ShipSort order = parseSort(sort);
+        ShipKeyset after = cursor == null || cursor.isBlank() ? null : decodeCursor(cursor, order);
+        int pageSize = Math.clamp(limit, 1, MAX_PAGE_SIZE);
+
+        List<ShipSummary> rows = shipRepository.findPage(filter, order, after, pageSize + 1);
+        boolean hasMore = rows.size() > pageSize;
+        List<ShipSummary> page = hasMore ? rows.subList(0, pageSize) : rows;
+        String nextCursor = hasMore ? encodeCursor(order, page.getLast()) : null;
+
+        return new CursorPage<>(page.stream().map(this::toResponse).toList(), nextCursor);
     }
 
-    public List<ShipResponse> findAll() {
-        return shipRepository.findAll(Sort.by("name")).stream()
-                .map(this::toResponse)
-                .toList();
+    /** The ship together with the version it was read at, from the same statement. */
+    @Cacheable(cacheNames = CacheConfig.SHIPS, key = "#id")
+    public Versioned<ShipResponse> findById(Long id) {
+        return read(id);
     }
 
-    public ShipResponse findById(Long id) {
-        return shipRepository.findById(id)
-                .map(this::toResponse)
+    /** Reads the ship again and replaces its cached copy, e.g. one cached just before a write committed. */
+    @CachePut(cacheNames = CacheConfig.SHIPS, key = "#id")
+    public Versioned<ShipResponse> refresh(Long id) {
+        return read(id);
+    }
+
+    private Versioned<ShipResponse> read(Long id) {
+        return shipRepository.findSummaryById(id)
+                .map(summary -> new Versioned<>(toResponse(summary), summary.version()))
+                .orElseThrow(() -> new ResourceNotFoundException("Ship not found with id: " + id));
+    }
+
+    public long findVersion(Long id) {
+        return shipRepository.findVersionById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Ship not found with id: " + id));
     }
 
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.SHIP_PAGES, allEntries = true)
     public ShipResponse create(ShipRequest dto) {
         Ship ship = new Ship();
         ship.setName(dto.name());
         ship.setLaunchDate(dto.launchDate());
-        ship.setShipType(dto.shipType());
+        ship.setShipTypeId(dictionaries.shipTypes().idOf(dto.shipType()));
         ship.setTonnage(dto.tonnage());
-        return toResponse(shipRepository.save(ship));
+        Ship saved = shipRepository.save(ship);
+        String name = saved.getName();
+        afterCommit(() -> shipNameIndex.add(name));
+        return toResponse(saved, 0);
     }
 
+    /**
+     * Updates a ship, optionally only if it is still at {@code expectedVersion}. A concurrent writer that
+     * commits between the read and the flush fails the version check with an optimistic lock failure.
+     */
     @Transactional
-    public ShipResponse update(Long id, ShipRequest dto) {
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.SHIPS, key = "#id"),
+            @CacheEvict(cacheNames = CacheConfig.SHIP_PAGES, allEntries = true)})
+    public Versioned<ShipResponse> update(Long id, ShipRequest dto, Long expectedVersion) {
         Ship ship = shipRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Ship not found with id: " + id));
+        if (expectedVersion != null && ship.getVersion() != expectedVersion) {
+            throw new PreconditionFailedException("Ship " + id + " is at version " + ship.getVersion()
+                    + ", not " + expectedVersion);
+        }
+        String oldName = ship.getName();
         ship.setName(dto.name());
         ship.setLaunchDate(dto.launchDate());
-        ship.setShipType(dto.shipType());
+        ship.setShipTypeId(dictionaries.shipTypes().idOf(dto.shipType()));
         ship.setTonnage(dto.tonnage());
-        return toResponse(shipRepository.save(ship));
+        Ship saved = shipRepository.saveAndFlush(ship);
+        String newName = saved.getName();
+        afterCommit(() -> shipNameIndex.rename(oldName, newName));
+        return new Versioned<>(toResponse(saved, shipRepository.countReportsByShipId(id)), saved.getVersion());
+    }
+
+    /**
+     * Runs {@code action} once the current transaction commits, so a rolled-back write neither adds a name
+     * to {@link ShipNameIndex} nor releases one that is still in use.
+     */
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private ShipSort parseSort(String sort) {
+        try {
+            return ShipSort.parse(sort);
+        } catch (IllegalArgumentException ex) {
+            throw new BadRequestException(ex.getMessage());
+        }
+    }
+
+    private String encodeCursor(ShipSort sort, ShipSummary last) {
+        return CursorCodec.encode(sort.toString(), sort.field().format(last), last.id().toString());
+    }
+
+    private ShipKeyset decodeCursor(String cursor, ShipSort sort) {
+        List<String> parts = CursorCodec.decode(cursor, 3);
+        if (!parts.get(0).equals(sort.toString())) {
+            throw new BadRequestException("Cursor does not match sort order " + sort);
+        }
+        try {
+            return new ShipKeyset(sort.field().parse(parts.get(1)), Long.valueOf(parts.get(2)));
+        } catch (RuntimeException ex) {
+            throw new BadRequestException("Invalid cursor");
+        }
+    }
+
+    ShipResponse toResponse(ShipSummary summary) {
+        return new ShipResponse(
+                summary.id(),
+                summary.name(),
+                summary.launchDate(),
+                dictionaries.shipTypes().label(summary.shipTypeId()),
+                summary.tonnage(),
+                Math.toIntExact(summary.reportCount())
+        );
     }
 
-    private ShipResponse toResponse(Ship ship) {
+    private ShipResponse toResponse(Ship ship, long reportCount) {
         return new ShipResponse(
                 ship.getId(),
                 ship.getName(),
                 ship.getLaunchDate(),
-                ship.getShipType(),
+                dictionaries.shipTypes().label(ship.getShipTypeId()),
                 ship.getTonnage(),
-                ship.getLocationReports().size()
+                Math.toIntExact(reportCount)
         );
     }
 }
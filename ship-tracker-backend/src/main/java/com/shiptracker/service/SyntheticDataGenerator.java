@@ -0,0 +1,304 @@
+package com.shiptracker.service;
+
+import com.shiptracker.config.DataGeneratorProperties;
+import com.shiptracker.service.PortCatalog.Port;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.PGCopyOutputStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Writes a large synthetic fleet straight to the database: ship types and tonnage follow the world fleet mix,
+ * report counts per ship are log-normal, and each ship's reports move between real ports, weighted by traffic,
+ * in date order. PostgreSQL gets {@code COPY FROM STDIN}; other databases fall back to JDBC batches.
+ * <p>
+ * Every ship draws from its own seeded random, so ships and reports are produced in two streaming passes
+ * without holding the fleet in memory. Ids are reserved from the entity sequences up front, so Hibernate
+ * keeps allocating above them afterwards. Meant for an otherwise idle database.
+ */
+@Service
+public class SyntheticDataGenerator {
+
+    private static final Logger log = LoggerFactory.getLogger(SyntheticDataGenerator.class);
+
+    public record Result(long ships, long reports, Duration elapsed) {}
+
+    private static final String[] SHIP_TYPES = {"Cargo Ship", "Tanker", "Bulk Carrier", "Container Ship"};
+    // World fleet mix by count: 34% cargo, 29% tankers, 24% bulk, 13% container
+    private static final double[] SHIP_TYPE_CUMULATIVE_SHARES = {0.34, 0.63, 0.87, 1.0};
+    private static final double[] MEDIAN_TONNAGE = {6_000, 40_000, 55_000, 35_000};
+    private static final LocalDate FIRST_LAUNCH = LocalDate.of(1975, 1, 1);
+    private static final int JDBC_BATCH_SIZE = 1_000;
+    private static final int COPY_BUFFER_SIZE = 1 << 16;
+
+    private final DataSource dataSource;
+    private final DataGeneratorProperties properties;
+    private final ShipCacheEvictor shipCacheEvictor;
+    private final ShipPositionService shipPositionService;
+    private final Dictionaries dictionaries;
+    private final List<Port> ports;
+    private final double[] cumulativePortWeights;
+    private final List<String> prefixes = LocalNameGenerator.readWords("names/prefixes.txt");
+    private final List<String> nouns = LocalNameGenerator.readWords("names/nouns.txt");
+
+    public SyntheticDataGenerator(DataSource dataSource,
+                                  DataGeneratorProperties properties,
+                                  ShipCacheEvictor shipCacheEvictor,
+                                  ShipPositionService shipPositionService,
+                                  Dictionaries dictionaries,
+                                  PortCatalog portCatalog) {
+        this.dataSource = dataSource;
+        this.properties = properties;
+        this.shipCacheEvictor = shipCacheEvictor;
+        this.shipPositionService = shipPositionService;
+        this.dictionaries = dictionaries;
+        this.ports = portCatalog.ports();
+        this.cumulativePortWeights = new double[ports.size()];
+        double total = 0;
+        for (int i = 0; i < ports.size(); i++) {
+            total += ports.get(i).weight();
+            cumulativePortWeights[i] = total;
+        }
+    }
+
+    public Result generate() {
+        long start = System.nanoTime();
+        LocalDate today = LocalDate.now();
+        long reports = 0;
+        // Lookup keys are committed before the COPY, aligned with SHIP_TYPES and the port list
+        int[] shipTypeIds = keys(dictionaries.shipTypes(), Arrays.asList(SHIP_TYPES));
+        int[] countryIds = keys(dictionaries.countries(), ports.stream().map(Port::country).toList());
+        int[] portIds = keys(dictionaries.ports(), ports.stream().map(Port::name).toList());
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            boolean postgres = connection.isWrapperFor(PGConnection.class);
+            if (postgres) {
+                createReportPartitions(connection, properties.historyStart(), today);
+            }
+
+            long firstShipId = reserveIds(connection, postgres, "ships_id_seq", properties.ships());
+            try (TableWriter writer = writer(connection, postgres, "ships",
+                    "id", "name", "launch_date", "ship_type_id", "tonnage", "version")) {
+                for (int i = 0; i < properties.ships(); i++) {
+                    ShipDraw ship = drawShip(i, today);
+                    writer.write(firstShipId + i, ship.name(), ship.launchDate(), shipTypeIds[ship.type()],
+                            ship.tonnage(), 0L);
+                    reports += ship.reportCount();
+                }
+            }
+            log.info("Wrote {} ships, {} location reports to go", properties.ships(), reports);
+
+            long reportId = reserveIds(connection, postgres, "location_reports_id_seq", reports);
+            try (TableWriter writer = writer(connection, postgres, "location_reports",
+                    "id", "ship_id", "report_date", "country_id", "port_id")) {
+                for (int i = 0; i < properties.ships(); i++) {
+                    ShipDraw ship = drawShip(i, today);
+                    LocalDate date = ship.firstReportDate();
+                    // Exponential gaps of at least a day, spread so the last report lands around today
+                    long span = ChronoUnit.DAYS.between(date, today);
+                    double meanExtraDays = Math.max(0, span / (double) Math.max(1, ship.reportCount()) - 1);
+                    int port = -1;
+                    for (int r = 0; r < ship.reportCount(); r++) {
+                        port = nextPort(ship.random(), port);
+                        writer.write(reportId++, firstShipId + i, date, countryIds[port], portIds[port]);
+                        long gap = 1 + (long) (-Math.log(1 - ship.random().nextDouble()) * meanExtraDays);
+                        date = date.plusDays(gap).isAfter(today) ? today : date.plusDays(gap);
+                    }
+                }
+            }
+            connection.commit();
+
+            if (postgres) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("ANALYZE ships");
+                    statement.execute("ANALYZE location_reports");
+                }
+            }
+        } catch (SQLException ex) {
+            throw new IllegalStateException("Synthetic data generation failed", ex);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Synthetic data generation failed", ex);
+        }
+        shipPositionService.rebuild();
+        shipCacheEvictor.evictAll();
+        return new Result(properties.ships(), reports, Duration.ofNanos(System.nanoTime() - start));
+    }
+
+    private record ShipDraw(String name, LocalDate launchDate, int type, BigDecimal tonnage,
+                            int reportCount, LocalDate firstReportDate, SplittableRandom random) {}
+
+    /** Deterministic per ship; the reports pass calls it again and continues with the same random. */
+    private ShipDraw drawShip(int index, LocalDate today) {
+        SplittableRandom random = new SplittableRandom(properties.seed() * 0x9E3779B97F4A7C15L + index);
+
+        int combinations = prefixes.size() * nouns.size();
+        int pair = (int) ((index * 7_919L) % combinations);
+        String name = prefixes.get(pair / nouns.size()) + " " + nouns.get(pair % nouns.size())
+                + (index < combinations ? "" : " " + (index / combinations + 1));
+
+        int type = pick(random.nextDouble(), SHIP_TYPE_CUMULATIVE_SHARES);
+        double tonnage = Math.max(100, MEDIAN_TONNAGE[type] * Math.exp(0.6 * gaussian(random)));
+
+        // Skewed towards younger ships, like the active fleet
+        long launchSpan = ChronoUnit.DAYS.between(FIRST_LAUNCH, today.minusMonths(1));
+        LocalDate launchDate = FIRST_LAUNCH.plusDays((long) (Math.sqrt(random.nextDouble()) * launchSpan));
+
+        LocalDate firstReportDate = launchDate.isAfter(properties.historyStart())
+                ? launchDate
+                : properties.historyStart();
+        double sigma = properties.reportsSkew();
+        double mu = Math.log(Math.max(properties.meanReportsPerShip(), 1e-9)) - sigma * sigma / 2;
+        long reportCount = Math.round(Math.exp(mu + sigma * gaussian(random)));
+        reportCount = Math.min(reportCount, Math.min(properties.maxReportsPerShip(),
+                ChronoUnit.DAYS.between(firstReportDate, today) + 1));
+
+        return new ShipDraw(name, launchDate, type,
+                BigDecimal.valueOf(tonnage).setScale(2, RoundingMode.HALF_UP), (int) Math.max(0, reportCount),
+                firstReportDate, random);
+    }
+
+    /** Index into the port list, redrawn once if it repeats the previous port. */
+    private int nextPort(SplittableRandom random, int previous) {
+        double total = cumulativePortWeights[cumulativePortWeights.length - 1];
+        int port = pick(random.nextDouble() * total, cumulativePortWeights);
+        return port == previous ? pick(random.nextDouble() * total, cumulativePortWeights) : port;
+    }
+
+    private static int[] keys(LabelDictionary dictionary, List<String> names) {
+        Map<String, Integer> ids = dictionary.idsOf(names);
+        return names.stream().mapToInt(ids::get).toArray();
+    }
+
+    private static int pick(double value, double[] cumulative) {
+        int index = Arrays.binarySearch(cumulative, value);
+        return Math.min(index >= 0 ? index + 1 : -index - 1, cumulative.length - 1);
+    }
+
+    private static double gaussian(SplittableRandom random) {
+        return Math.sqrt(-2 * Math.log(1 - random.nextDouble())) * Math.cos(2 * Math.PI * random.nextDouble());
+    }
+
+    /** Gives every generated month its own partition when {@code location_reports} is partitioned. */
+    private static void createReportPartitions(Connection connection, LocalDate from, LocalDate to)
+            throws SQLException {
+        try (Statement check = connection.createStatement();
+             ResultSet exists = check.executeQuery(
+                     "SELECT to_regproc('create_location_report_partition') IS NOT NULL")) {
+            exists.next();
+            if (!exists.getBoolean(1)) {
+                return;
+            }
+        }
+        try (PreparedStatement create = connection.prepareStatement("""
+                SELECT create_location_report_partition(CAST(month AS DATE))
+                FROM generate_series(date_trunc('month', CAST(? AS DATE)), CAST(? AS DATE), INTERVAL '1 month') AS month
+                """)) {
+            create.setObject(1, from);
+            create.setObject(2, to);
+            create.executeQuery().close();
+        }
+    }
+
+    /** Hands out {@code count} ids and moves the sequence past them. */
+    private static long reserveIds(Connection connection, boolean postgres, String sequence, long count)
+            throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            long first;
+            try (ResultSet next = statement.executeQuery(postgres
+                    ? "SELECT nextval('" + sequence + "')"
+                    : "SELECT NEXT VALUE FOR " + sequence)) {
+                next.next();
+                first = next.getLong(1);
+            }
+            statement.execute("ALTER SEQUENCE " + sequence + " RESTART WITH " + (first + count));
+            return first;
+        }
+    }
+
+    private interface TableWriter extends AutoCloseable {
+
+        void write(Object... values) throws SQLException, IOException;
+
+        @Override
+        void close() throws SQLException, IOException;
+    }
+
+    private static TableWriter writer(Connection connection, boolean postgres, String table, String... columns)
+            throws SQLException {
+        String columnList = String.join(", ", columns);
+        if (postgres) {
+            Writer out = new BufferedWriter(new OutputStreamWriter(new PGCopyOutputStream(
+                    connection.unwrap(PGConnection.class), "COPY " + table + " (" + columnList + ") FROM STDIN",
+                    COPY_BUFFER_SIZE), StandardCharsets.UTF_8), COPY_BUFFER_SIZE);
+            return new TableWriter() {
+                @Override
+                public void write(Object... values) throws IOException {
+                    // Text format; generated values never contain tabs, newlines or backslashes
+                    for (int i = 0; i < values.length; i++) {
+                        if (i > 0) {
+                            out.write('\t');
+                        }
+                        Object value = values[i];
+                        out.write(value instanceof BigDecimal decimal ? decimal.toPlainString() : value.toString());
+                    }
+                    out.write('\n');
+                }
+
+                @Override
+                public void close() throws IOException {
+                    out.close();
+                }
+            };
+        }
+
+        PreparedStatement insert = connection.prepareStatement("INSERT INTO " + table + " (" + columnList
+                + ") VALUES (" + String.join(", ", Collections.nCopies(columns.length, "?")) + ")");
+        return new TableWriter() {
+            private int pending;
+
+            @Override
+            public void write(Object... values) throws SQLException {
+                for (int i = 0; i < values.length; i++) {
+                    insert.setObject(i + 1, values[i]);
+                }
+                insert.addBatch();
+                if (++pending == JDBC_BATCH_SIZE) {
+                    insert.executeBatch();
+                    pending = 0;
+                }
+            }
+
+            @Override
+            public void close() throws SQLException {
+                if (pending > 0) {
+                    insert.executeBatch();
+                }
+                insert.close();
+            }
+        };
+    }
+}
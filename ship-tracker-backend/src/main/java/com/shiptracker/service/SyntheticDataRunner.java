@@ -0,0 +1,38 @@
+package com.shiptracker.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+/**
+ * Fills the database once on startup under the {@code generate-data} profile, e.g.
+ * {@code java -jar app.jar --spring.profiles.active=generate-data --data-generator.ships=1000000}.
+ * Closes the context when done, since the scheduler's threads would otherwise keep the JVM alive.
+ */
+@Component
+@Profile("generate-data")
+public class SyntheticDataRunner implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(SyntheticDataRunner.class);
+
+    private final SyntheticDataGenerator generator;
+    private final ConfigurableApplicationContext context;
+
+    public SyntheticDataRunner(SyntheticDataGenerator generator, ConfigurableApplicationContext context) {
+        this.generator = generator;
+        this.context = context;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        SyntheticDataGenerator.Result result = generator.generate();
+        log.info("Generated {} ships and {} location reports in {} s",
+                result.ships(), result.reports(), result.elapsed().toSeconds());
+        SpringApplication.exit(context);
+    }
+}
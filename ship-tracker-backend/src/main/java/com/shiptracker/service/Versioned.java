@@ -0,0 +1,4 @@
+package com.shiptracker.service;
+
+/** A response body together with the ship version it was read at, for ETag headers. */
+public record Versioned<T>(T body, long version) {}
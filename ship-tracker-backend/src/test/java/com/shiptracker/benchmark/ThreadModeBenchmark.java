@@ -0,0 +1,245 @@
+package com.shiptracker.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.shiptracker.ShipTrackerBackendApplication;
+import com.shiptracker.entity.Ship;
+import com.shiptracker.entity.User;
+import com.shiptracker.repository.ShipRepository;
+import com.shiptracker.repository.UserRepository;
+import com.shiptracker.service.Dictionaries;
+import com.shiptracker.support.StubHttpServer;
+import com.shiptracker.support.StubHttpServer.Response;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Platform vs virtual request threads under closed-loop load against {@code /api/ships} and
+ * {@code /api/ships/generate-name}, the latter backed by a stub name API with fixed latency.
+ * Pinned virtual threads are recorded through JFR and listed by their first non-JDK frame.
+ * <p>
+ * Run with {@code ./mvnw test -Pbenchmark}. Tune with {@code -Dbenchmark.concurrency},
+ * {@code -Dbenchmark.warmup-seconds}, {@code -Dbenchmark.duration-seconds} and
+ * {@code -Dbenchmark.name-latency-ms}; any Spring property given as {@code -D} (e.g. a PostgreSQL
+ * datasource) overrides the defaults below. Results go to {@code target/benchmarks/thread-modes.json}.
+ */
+@Tag("benchmark")
+class ThreadModeBenchmark {
+
+    private static final int CONCURRENCY = Integer.getInteger("benchmark.concurrency", 400);
+    private static final Duration WARMUP = Duration.ofSeconds(Long.getLong("benchmark.warmup-seconds", 5));
+    private static final Duration DURATION = Duration.ofSeconds(Long.getLong("benchmark.duration-seconds", 15));
+    private static final Duration NAME_LATENCY = Duration.ofMillis(Long.getLong("benchmark.name-latency-ms", 50));
+    private static final int FLEET_SIZE = 500;
+    private static final String USERNAME = "bench";
+    private static final String PASSWORD = "bench-password";
+    private static final Path REPORT = Path.of("target", "benchmarks", "thread-modes.json");
+
+    record Result(String mode, String endpoint, int concurrency, long requests, long errors,
+                  double throughputPerSecond, double p50Millis, double p99Millis, double maxMillis) {}
+
+    record Report(String generatedAt, String javaVersion, int availableProcessors, int concurrency,
+                  long warmupSeconds, long durationSeconds, long nameLatencyMillis,
+                  List<Result> results, Map<String, Map<String, Long>> pinnedFrames) {}
+
+    @Test
+    void comparePlatformAndVirtualThreads() throws Exception {
+        List<Result> results = new ArrayList<>();
+        Map<String, Map<String, Long>> pinnedFrames = new LinkedHashMap<>();
+
+        try (StubHttpServer nameApi = new StubHttpServer()) {
+            nameApi.respond(uri -> Response.json("[\"Nautilus\"]").delayedBy(NAME_LATENCY));
+            for (boolean virtual : new boolean[] {false, true}) {
+                String mode = virtual ? "virtual" : "platform";
+                Map<String, Long> pins = new ConcurrentHashMap<>();
+                try (ConfigurableApplicationContext app = start(mode, virtual, nameApi);
+                     RecordingStream pinning = recordPinning(pins)) {
+                    String baseUrl = "http://127.0.0.1:" + app.getEnvironment().getProperty("local.server.port");
+                    HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+                    String session = seedAndLogin(app, client, baseUrl);
+                    for (String endpoint : List.of("/api/ships?limit=50", "/api/ships/generate-name")) {
+                        results.add(measure(mode, endpoint, client, URI.create(baseUrl + endpoint), session));
+                    }
+                    pinning.stop();
+                }
+                pinnedFrames.put(mode, pins);
+            }
+        }
+
+        Report report = new Report(Instant.now().toString(), Runtime.version().toString(),
+                Runtime.getRuntime().availableProcessors(), CONCURRENCY, WARMUP.toSeconds(),
+                DURATION.toSeconds(), NAME_LATENCY.toMillis(), results, pinnedFrames);
+        Files.createDirectories(REPORT.getParent());
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(REPORT.toFile(), report);
+        print(report);
+
+        assertThat(results).allSatisfy(result -> assertThat(result.requests()).isPositive());
+    }
+
+    private static ConfigurableApplicationContext start(String mode, boolean virtual, StubHttpServer nameApi) {
+        Map<String, String> defaults = new LinkedHashMap<>();
+        defaults.put("server.port", "0");
+        defaults.put("spring.threads.virtual.enabled", String.valueOf(virtual));
+        defaults.put("spring.datasource.url", "jdbc:h2:mem:bench-" + mode + ";DB_CLOSE_DELAY=-1");
+        defaults.put("randommer.api.url", nameApi.url("/api/Name"));
+        // A one-slot pool that never refills sends every generate-name request to the name API
+        defaults.put("name-pool.capacity", "1");
+        defaults.put("name-pool.low-water-mark", "0");
+        defaults.put("outbound.http.max-concurrent-calls", String.valueOf(CONCURRENCY));
+        defaults.put("cache.ships.max-size", "0");
+        defaults.put("cache.ship-pages.max-size", "0");
+        defaults.put("logging.level.root", "WARN");
+
+        String[] args = defaults.entrySet().stream()
+                .filter(entry -> System.getProperty(entry.getKey()) == null)
+                .map(entry -> "--" + entry.getKey() + "=" + entry.getValue())
+                .toArray(String[]::new);
+        return new SpringApplicationBuilder(ShipTrackerBackendApplication.class).run(args);
+    }
+
+    private static RecordingStream recordPinning(Map<String, Long> pins) {
+        RecordingStream stream = new RecordingStream();
+        stream.enable("jdk.VirtualThreadPinned").withThreshold(Duration.ZERO).withStackTrace();
+        stream.onEvent("jdk.VirtualThreadPinned", event -> {
+            String frame = event.getStackTrace() == null ? "unknown" : event.getStackTrace().getFrames().stream()
+                    .map(RecordedFrame::getMethod)
+                    .map(method -> method.getType().getName() + "." + method.getName())
+                    .filter(name -> !name.startsWith("java.") && !name.startsWith("jdk.") && !name.startsWith("sun."))
+                    .findFirst()
+                    .orElse("jdk");
+            pins.merge(frame, 1L, Long::sum);
+        });
+        stream.startAsync();
+        return stream;
+    }
+
+    private static String seedAndLogin(ConfigurableApplicationContext app, HttpClient client, String baseUrl)
+            throws Exception {
+        User user = new User();
+        user.setUsername(USERNAME);
+        user.setPassword(app.getBean(PasswordEncoder.class).encode(PASSWORD));
+        user.setRole("ADMIN");
+        app.getBean(UserRepository.class).save(user);
+
+        Dictionaries dictionaries = app.getBean(Dictionaries.class);
+        app.getBean(ShipRepository.class).saveAll(IntStream.range(0, FLEET_SIZE).mapToObj(i -> {
+            Ship ship = new Ship();
+            ship.setName("Bench " + i);
+            ship.setLaunchDate(LocalDate.of(1990, 1, 1).plusDays(i * 17L));
+            ship.setShipTypeId(dictionaries.shipTypes().idOf(i % 3 == 0 ? "Tanker" : "Container Ship"));
+            ship.setTonnage(BigDecimal.valueOf(10_000 + i * 37L));
+            return ship;
+        }).toList());
+
+        HttpResponse<Void> login = client.send(HttpRequest.newBuilder(URI.create(baseUrl + "/api/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(
+                        "{\"username\":\"" + USERNAME + "\",\"password\":\"" + PASSWORD + "\"}"))
+                .build(), HttpResponse.BodyHandlers.discarding());
+        assertThat(login.statusCode()).isEqualTo(200);
+        return login.headers().firstValue("Set-Cookie").orElseThrow().split(";", 2)[0];
+    }
+
+    private static Result measure(String mode, String endpoint, HttpClient client, URI uri, String session)
+            throws InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(uri).header("Cookie", session).GET().build();
+        long measureFrom = System.nanoTime() + WARMUP.toNanos();
+        long measureUntil = measureFrom + DURATION.toNanos();
+        long[][] samples = new long[CONCURRENCY][];
+        int[] counts = new int[CONCURRENCY];
+        AtomicLong errors = new AtomicLong();
+        CountDownLatch done = new CountDownLatch(CONCURRENCY);
+
+        for (int i = 0; i < CONCURRENCY; i++) {
+            int worker = i;
+            Thread.ofVirtual().start(() -> {
+                long[] latencies = new long[1024];
+                int count = 0;
+                try {
+                    long now = System.nanoTime();
+                    while (now < measureUntil) {
+                        boolean ok;
+                        try {
+                            ok = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200;
+                        } catch (Exception ex) {
+                            ok = false;
+                        }
+                        long end = System.nanoTime();
+                        if (now >= measureFrom) {
+                            if (!ok) {
+                                errors.incrementAndGet();
+                            } else {
+                                if (count == latencies.length) {
+                                    latencies = Arrays.copyOf(latencies, count * 2);
+                                }
+                                latencies[count++] = end - now;
+                            }
+                        }
+                        now = end;
+                    }
+                } finally {
+                    samples[worker] = latencies;
+                    counts[worker] = count;
+                    done.countDown();
+                }
+            });
+        }
+        done.await();
+
+        long[] all = new long[Arrays.stream(counts).sum()];
+        int offset = 0;
+        for (int i = 0; i < CONCURRENCY; i++) {
+            System.arraycopy(samples[i], 0, all, offset, counts[i]);
+            offset += counts[i];
+        }
+        Arrays.sort(all);
+        return new Result(mode, endpoint, CONCURRENCY, all.length, errors.get(),
+                all.length / (double) DURATION.toSeconds(),
+                percentile(all, 0.50), percentile(all, 0.99), all.length == 0 ? 0 : all[all.length - 1] / 1e6);
+    }
+
+    private static double percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        return sorted[(int) Math.min(sorted.length - 1, Math.ceil(quantile * sorted.length) - 1)] / 1e6;
+    }
+
+    private static void print(Report report) {
+        System.out.printf("%n%-9s %-28s %10s %8s %10s %9s %9s %9s%n",
+                "mode", "endpoint", "requests", "errors", "req/s", "p50 ms", "p99 ms", "max ms");
+        for (Result r : report.results()) {
+            System.out.printf("%-9s %-28s %10d %8d %10.1f %9.2f %9.2f %9.2f%n", r.mode(), r.endpoint(),
+                    r.requests(), r.errors(), r.throughputPerSecond(), r.p50Millis(), r.p99Millis(), r.maxMillis());
+        }
+        System.out.println("pinned virtual threads: " + report.pinnedFrames());
+        System.out.println("report: " + REPORT.toAbsolutePath());
+    }
+}
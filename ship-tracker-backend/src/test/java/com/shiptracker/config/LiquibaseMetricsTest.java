@@ -0,0 +1,36 @@
+package com.shiptracker.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import liquibase.integration.spring.SpringLiquibase;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LiquibaseMetricsTest {
+
+    private final LiquibaseMetrics liquibaseMetrics = new LiquibaseMetrics();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void bindTo_reportsTimeBetweenInitializationCallbacks() throws Exception {
+        SpringLiquibase liquibase = new SpringLiquibase();
+        liquibaseMetrics.bindTo(meterRegistry);
+
+        liquibaseMetrics.postProcessBeforeInitialization(liquibase, "liquibase");
+        Thread.sleep(20);
+        liquibaseMetrics.postProcessAfterInitialization(liquibase, "liquibase");
+
+        assertThat(meterRegistry.get("liquibase.migration.duration").timeGauge().value(TimeUnit.MILLISECONDS))
+                .isGreaterThanOrEqualTo(20);
+    }
+
+    @Test
+    void bindTo_isNaNWhenLiquibaseNeverRan() {
+        liquibaseMetrics.postProcessAfterInitialization(new Object(), "other");
+        liquibaseMetrics.bindTo(meterRegistry);
+
+        assertThat(meterRegistry.get("liquibase.migration.duration").timeGauge().value()).isNaN();
+    }
+}
@@ -0,0 +1,62 @@
+package com.shiptracker.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class QueryBudgetFilterTest {
+
+    private final QueryBudgetFilter filter =
+            new QueryBudgetFilter(new QueryBudgetProperties(2, Duration.ofMillis(250), true));
+
+    @Test
+    void doFilter_reportsStatementsOfTheRequest() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/ships"), response, (req, res) -> {
+            QueryStats.record(1_500_000);
+            QueryStats.record(500_000);
+            QueryStats.record(250_000);
+        });
+
+        assertThat(response.getHeader(QueryBudgetFilter.QUERY_COUNT_HEADER)).isEqualTo("3");
+        assertThat(response.getHeader(QueryBudgetFilter.QUERY_TIME_HEADER)).isEqualTo("2.250");
+    }
+
+    @Test
+    void doFilter_headersWrittenBeforeTheBodyIsCommitted() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/ships"), response, (req, res) -> {
+            QueryStats.record(1_000_000);
+            res.getWriter().write("[]");
+            res.flushBuffer();
+            QueryStats.record(1_000_000);
+        });
+
+        assertThat(response.isCommitted()).isTrue();
+        assertThat(response.getHeader(QueryBudgetFilter.QUERY_COUNT_HEADER)).isEqualTo("1");
+    }
+
+    @Test
+    void doFilter_nestedScopesCountTowardsTheRequest() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        QueryStats[] inner = new QueryStats[1];
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/ships"), response, (req, res) -> {
+            QueryStats.record(1_000);
+            inner[0] = QueryStats.start();
+            QueryStats.record(1_000);
+            inner[0].stop();
+        });
+
+        assertThat(inner[0].queries()).isEqualTo(1);
+        assertThat(response.getHeader(QueryBudgetFilter.QUERY_COUNT_HEADER)).isEqualTo("2");
+        QueryStats.record(1_000);
+        assertThat(inner[0].queries()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,107 @@
+package com.shiptracker.config;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.StatementType;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class QueryLoggingListenerTest {
+
+    private final Logger logger = (Logger) LoggerFactory.getLogger(QueryLoggingListener.class);
+    private final ListAppender<ILoggingEvent> appender = new ListAppender<>();
+
+    @BeforeEach
+    void setUp() {
+        appender.start();
+        logger.addAppender(appender);
+        logger.setLevel(Level.INFO);
+    }
+
+    @AfterEach
+    void tearDown() {
+        logger.detachAppender(appender);
+        logger.setLevel(null);
+    }
+
+    private static void execute(QueryLoggingListener listener, Duration elapsed) throws Exception {
+        ExecutionInfo execInfo = new ExecutionInfo();
+        execInfo.setStatementType(StatementType.PREPARED);
+        execInfo.setSuccess(true);
+        execInfo.addCustomValue(DataSourceProxyPostProcessor.START_NANOS, System.nanoTime() - elapsed.toNanos());
+
+        QueryInfo query = new QueryInfo("SELECT * FROM users WHERE username = ? AND id = ?");
+        query.getParametersList().add(List.of(
+                new ParameterSetOperation(PreparedStatement.class.getMethod("setString", int.class, String.class),
+                        new Object[]{1, "admin"}),
+                new ParameterSetOperation(PreparedStatement.class.getMethod("setLong", int.class, long.class),
+                        new Object[]{2, 7L})));
+        listener.afterQuery(execInfo, List.of(query));
+    }
+
+    private static Map<String, Object> fields(ILoggingEvent event) {
+        return event.getKeyValuePairs().stream().collect(Collectors.toMap(pair -> pair.key, pair -> pair.value));
+    }
+
+    @Test
+    void afterQuery_slowStatementLoggedAsWarningWithMaskedParameters() throws Exception {
+        execute(new QueryLoggingListener(new QueryLoggingProperties(0, Duration.ofMillis(50), true)),
+                Duration.ofMillis(80));
+
+        assertThat(appender.list).singleElement().satisfies(event -> {
+            assertThat(event.getLevel()).isEqualTo(Level.WARN);
+            assertThat(fields(event))
+                    .containsEntry("sql", "SELECT * FROM users WHERE username = ? AND id = ?")
+                    .containsEntry("params", "[<String>, <Long>]")
+                    .containsEntry("statement", "prepared");
+            assertThat((BigDecimal) fields(event).get("elapsed_ms")).isGreaterThanOrEqualTo(BigDecimal.valueOf(80));
+        });
+    }
+
+    @Test
+    void afterQuery_fastStatementSkippedWithoutSampling() throws Exception {
+        execute(new QueryLoggingListener(new QueryLoggingProperties(0, Duration.ofMillis(50), true)),
+                Duration.ofMillis(1));
+
+        assertThat(appender.list).isEmpty();
+    }
+
+    @Test
+    void afterQuery_sampledStatementLoggedWithValuesWhenUnmasked() throws Exception {
+        execute(new QueryLoggingListener(new QueryLoggingProperties(1, Duration.ofMillis(50), false)),
+                Duration.ofMillis(1));
+
+        assertThat(appender.list).singleElement().satisfies(event -> {
+            assertThat(event.getLevel()).isEqualTo(Level.INFO);
+            assertThat(fields(event)).containsEntry("params", "[admin, 7]");
+        });
+    }
+
+    @Test
+    void afterQuery_traceLevelLogsEveryStatement() throws Exception {
+        logger.setLevel(Level.TRACE);
+        QueryLoggingListener listener =
+                new QueryLoggingListener(new QueryLoggingProperties(0, Duration.ofSeconds(1), true));
+
+        execute(listener, Duration.ofMillis(1));
+        execute(listener, Duration.ofMillis(1));
+
+        assertThat(appender.list).hasSize(2).allSatisfy(event -> assertThat(event.getLevel()).isEqualTo(Level.TRACE));
+    }
+}
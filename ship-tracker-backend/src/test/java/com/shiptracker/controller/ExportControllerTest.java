@@ -0,0 +1,73 @@
+package com.shiptracker.controller;
+
+import com.shiptracker.repository.UserRepository;
+import com.shiptracker.service.ExportFormat;
+import com.shiptracker.service.ReportExportService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(ExportController.class)
+class ExportControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private ReportExportService reportExportService;
+
+    @MockitoBean
+    private UserRepository userRepository;
+
+    // --- GET /api/export/reports ---
+
+    @Test
+    @WithMockUser
+    void exportReports_csv() throws Exception {
+        doAnswer(invocation -> {
+            OutputStream out = invocation.getArgument(2);
+            out.write("ship_id,ship_name\n".getBytes(StandardCharsets.UTF_8));
+            return 1L;
+        }).when(reportExportService).exportReports(eq(ExportFormat.CSV), eq(LocalDate.of(2024, 1, 1)), any());
+
+        MvcResult result = mockMvc.perform(get("/api/export/reports")
+                        .param("format", "csv")
+                        .param("since", "2024-01-01"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", "text/csv;charset=UTF-8"))
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"location-reports.csv\""))
+                .andExpect(content().string("ship_id,ship_name\n"));
+    }
+
+    @Test
+    @WithMockUser
+    void exportReports_unsupportedFormat() throws Exception {
+        mockMvc.perform(get("/api/export/reports").param("format", "xml"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void exportReports_unauthenticated() throws Exception {
+        mockMvc.perform(get("/api/export/reports"))
+                .andExpect(status().isUnauthorized());
+    }
+}
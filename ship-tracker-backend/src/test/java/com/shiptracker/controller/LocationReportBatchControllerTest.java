@@ -0,0 +1,83 @@
+package com.shiptracker.controller;
+
+import com.shiptracker.dto.LocationReportBatchResponse;
+import com.shiptracker.dto.LocationReportBatchResponse.ItemResult;
+import com.shiptracker.repository.UserRepository;
+import com.shiptracker.service.LocationReportBatchService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.when;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(LocationReportBatchController.class)
+class LocationReportBatchControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private LocationReportBatchService locationReportBatchService;
+
+    @MockitoBean
+    private UserRepository userRepository;
+
+    // --- POST /api/reports/batch ---
+
+    @Test
+    @WithMockUser
+    void createBatch_partialSuccess() throws Exception {
+        when(locationReportBatchService.ingest(anyList())).thenReturn(new LocationReportBatchResponse(1, 1, List.of(
+                ItemResult.accepted(0, 1L),
+                ItemResult.rejected(1, 99L, "Ship not found with id: 99"))));
+
+        String body = """
+                {
+                  "reports": [
+                    { "shipId": 1, "reportDate": "2024-01-01", "country": "Poland", "port": "Gdansk" },
+                    { "shipId": 99, "reportDate": "2024-01-01", "country": "Germany", "port": "Hamburg" }
+                  ]
+                }
+                """;
+
+        mockMvc.perform(post("/api/reports/batch")
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.accepted").value(1))
+                .andExpect(jsonPath("$.rejected").value(1))
+                .andExpect(jsonPath("$.results[1].status").value("REJECTED"))
+                .andExpect(jsonPath("$.results[1].error").value("Ship not found with id: 99"));
+    }
+
+    @Test
+    @WithMockUser
+    void createBatch_empty() throws Exception {
+        mockMvc.perform(post("/api/reports/batch")
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"reports\": []}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.reports").exists());
+    }
+
+    @Test
+    void createBatch_unauthenticated() throws Exception {
+        mockMvc.perform(post("/api/reports/batch")
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"reports\": []}"))
+                .andExpect(status().isUnauthorized());
+    }
+}
@@ -1,10 +1,13 @@
 package com.shiptracker.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shiptracker.dto.CursorPage;
 import com.shiptracker.dto.LocationReportRequest;
 import com.shiptracker.dto.LocationReportResponse;
+import com.shiptracker.exception.BadRequestException;
 import com.shiptracker.exception.ResourceNotFoundException;
 import com.shiptracker.repository.UserRepository;
+import com.shiptracker.service.Dictionaries;
 import com.shiptracker.service.LocationReportService;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -19,6 +22,9 @@ import java.util.List;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -36,6 +42,9 @@ class LocationReportControllerTest {
     @MockitoBean
     private LocationReportService locationReportService;
 
+    @MockitoBean
+    private Dictionaries dictionaries;
+
     @MockitoBean
     private UserRepository userRepository;
 
@@ -48,10 +57,12 @@ class LocationReportControllerTest {
     @Test
     @WithMockUser
     void getByShip_found() throws Exception {
-        when(locationReportService.findByShipId(1L)).thenReturn(List.of(buildResponse()));
+        when(locationReportService.findShipVersion(1L)).thenReturn(7L);
+        when(locationReportService.findByShipId(1L, null, null)).thenReturn(List.of(buildResponse()));
 
         mockMvc.perform(get("/api/ships/1/reports"))
                 .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"7.0\""))
                 .andExpect(jsonPath("$[0].id").value(1))
                 .andExpect(jsonPath("$[0].country").value("Poland"))
                 .andExpect(jsonPath("$[0].port").value("Gdansk"));
@@ -60,13 +71,80 @@ class LocationReportControllerTest {
     @Test
     @WithMockUser
     void getByShip_shipNotFound() throws Exception {
-        when(locationReportService.findByShipId(99L))
+        when(locationReportService.findByShipId(99L, null, null))
                 .thenThrow(new ResourceNotFoundException("Ship not found: 99"));
 
         mockMvc.perform(get("/api/ships/99/reports"))
                 .andExpect(status().isNotFound());
     }
 
+    @Test
+    @WithMockUser
+    void getByShip_dateRange() throws Exception {
+        LocalDate from = LocalDate.of(2024, 1, 1);
+        LocalDate to = LocalDate.of(2024, 12, 31);
+        when(locationReportService.findByShipId(1L, from, to)).thenReturn(List.of(buildResponse()));
+
+        mockMvc.perform(get("/api/ships/1/reports")
+                        .param("from", "2024-01-01")
+                        .param("to", "2024-12-31"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(1));
+    }
+
+    @Test
+    @WithMockUser
+    void getByShip_invalidDate() throws Exception {
+        mockMvc.perform(get("/api/ships/1/reports").param("from", "yesterday"))
+                .andExpect(status().isBadRequest());
+    }
+
+    // --- GET /api/ships/{shipId}/reports/page ---
+
+    @Test
+    @WithMockUser
+    void getByShip_notModified() throws Exception {
+        when(locationReportService.findShipVersion(1L)).thenReturn(7L);
+
+        mockMvc.perform(get("/api/ships/1/reports").header("If-None-Match", "\"7.0\""))
+                .andExpect(status().isNotModified());
+
+        verify(locationReportService, never()).findByShipId(any(), any(), any());
+    }
+
+    @Test
+    @WithMockUser
+    void getPageByShip_notModified() throws Exception {
+        when(locationReportService.findShipVersion(1L)).thenReturn(7L);
+
+        mockMvc.perform(get("/api/ships/1/reports/page").header("If-None-Match", "\"7.0\""))
+                .andExpect(status().isNotModified());
+
+        verify(locationReportService, never()).findPageByShipId(any(), any(), any(), any(), eq(100));
+    }
+
+    @Test
+    @WithMockUser
+    void getPageByShip_found() throws Exception {
+        when(locationReportService.findPageByShipId(eq(1L), isNull(), isNull(), eq("abc"), eq(100)))
+                .thenReturn(new CursorPage<>(List.of(buildResponse()), "next"));
+
+        mockMvc.perform(get("/api/ships/1/reports/page").param("cursor", "abc"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].port").value("Gdansk"))
+                .andExpect(jsonPath("$.nextCursor").value("next"));
+    }
+
+    @Test
+    @WithMockUser
+    void getPageByShip_invalidCursor() throws Exception {
+        when(locationReportService.findPageByShipId(eq(1L), isNull(), isNull(), eq("bad"), eq(100)))
+                .thenThrow(new BadRequestException("Invalid cursor"));
+
+        mockMvc.perform(get("/api/ships/1/reports/page").param("cursor", "bad"))
+                .andExpect(status().isBadRequest());
+    }
+
     // --- POST /api/ships/{shipId}/reports ---
 
     @Test
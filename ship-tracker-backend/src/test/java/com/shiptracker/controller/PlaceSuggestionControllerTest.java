@@ -0,0 +1,59 @@
+package com.shiptracker.controller;
+
+import com.shiptracker.config.SecurityConfig;
+import com.shiptracker.repository.UserRepository;
+import com.shiptracker.service.PlaceNameIndex;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(PlaceSuggestionController.class)
+@Import(SecurityConfig.class)
+class PlaceSuggestionControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private PlaceNameIndex placeNameIndex;
+
+    @MockitoBean
+    private UserRepository userRepository;
+
+    @Test
+    @WithMockUser
+    void suggestPorts() throws Exception {
+        when(placeNameIndex.suggestPorts("gdan", 10)).thenReturn(List.of("Gdańsk"));
+
+        mockMvc.perform(get("/api/ports/suggest").param("q", "gdan"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0]").value("Gdańsk"));
+    }
+
+    @Test
+    @WithMockUser
+    void suggestCountries_withLimit() throws Exception {
+        when(placeNameIndex.suggestCountries("n", 2)).thenReturn(List.of("Netherlands", "Norway"));
+
+        mockMvc.perform(get("/api/countries/suggest").param("q", "n").param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[1]").value("Norway"));
+    }
+
+    @Test
+    void suggestPorts_unauthenticated() throws Exception {
+        mockMvc.perform(get("/api/ports/suggest").param("q", "gdan"))
+                .andExpect(status().isUnauthorized());
+    }
+}
@@ -0,0 +1,86 @@
+package com.shiptracker.controller;
+
+import com.shiptracker.config.SecurityConfig;
+import com.shiptracker.dto.ImportProgressResponse;
+import com.shiptracker.dto.ReportImportResponse;
+import com.shiptracker.repository.UserRepository;
+import com.shiptracker.service.ReportImportService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.InputStream;
+import java.time.Instant;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(ReportImportController.class)
+@Import(SecurityConfig.class)
+class ReportImportControllerTest {
+
+    private static final String CSV = """
+            ship_name,report_date,country,port
+            Atlantic Pioneer,2020-01-10,Poland,Gdańsk
+            """;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private ReportImportService reportImportService;
+
+    @MockitoBean
+    private UserRepository userRepository;
+
+    // --- POST /api/admin/reports/import ---
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void importCsv_admin() throws Exception {
+        when(reportImportService.importCsv(any(InputStream.class), eq((long) CSV.getBytes().length)))
+                .thenReturn(new ReportImportResponse("abc", 1, 1, 0, 12));
+
+        mockMvc.perform(post("/api/admin/reports/import")
+                        .with(csrf())
+                        .contentType("text/csv")
+                        .content(CSV.getBytes()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.rowsImported").value(1))
+                .andExpect(jsonPath("$.rowsSkipped").value(0));
+    }
+
+    @Test
+    @WithMockUser
+    void importCsv_notAdmin() throws Exception {
+        mockMvc.perform(post("/api/admin/reports/import")
+                        .with(csrf())
+                        .contentType("text/csv")
+                        .content(CSV.getBytes()))
+                .andExpect(status().isForbidden());
+    }
+
+    // --- GET /api/admin/reports/import/progress ---
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void progress() throws Exception {
+        when(reportImportService.findRunning()).thenReturn(List.of(
+                new ImportProgressResponse("abc", "COPY", 1024, 4096L, Instant.parse("2024-01-01T00:00:00Z"))));
+
+        mockMvc.perform(get("/api/admin/reports/import/progress"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].importId").value("abc"))
+                .andExpect(jsonPath("$[0].bytesRead").value(1024));
+    }
+}
@@ -0,0 +1,77 @@
+package com.shiptracker.controller;
+
+import com.shiptracker.dto.LocationReportEvent;
+import com.shiptracker.dto.LocationReportResponse;
+import com.shiptracker.repository.UserRepository;
+import com.shiptracker.service.ReportStreamService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.Duration;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(ReportStreamController.class)
+@Import({ReportStreamService.class, ReportStreamControllerTest.Metrics.class})
+class ReportStreamControllerTest {
+
+    @TestConfiguration
+    static class Metrics {
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ReportStreamService reportStreamService;
+
+    @MockitoBean
+    private UserRepository userRepository;
+
+    private LocationReportEvent event(Long shipId, Long reportId, String port) {
+        return new LocationReportEvent(shipId, new LocationReportResponse(reportId, LocalDate.of(2024, 6, 1), "Poland", port));
+    }
+
+    @Test
+    @WithMockUser
+    void streamReports_pushesMatchingReports() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/stream/reports").param("shipIds", "1"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        reportStreamService.onReportCreated(event(2L, 10L, "Hamburg"));
+        reportStreamService.onReportCreated(event(1L, 11L, "Gdansk"));
+
+        await().atMost(Duration.ofSeconds(5))
+                .until(() -> result.getResponse().getContentAsString().contains("Gdansk"));
+        String body = result.getResponse().getContentAsString();
+        assertThat(body).contains("id:11", "event:report", "\"shipId\":1");
+        assertThat(body).doesNotContain("Hamburg");
+        assertThat(result.getResponse().getContentType()).startsWith("text/event-stream");
+    }
+
+    @Test
+    void streamReports_unauthenticated() throws Exception {
+        mockMvc.perform(get("/api/stream/reports"))
+                .andExpect(status().isUnauthorized());
+    }
+}
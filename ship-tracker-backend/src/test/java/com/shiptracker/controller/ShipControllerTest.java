@@ -1,13 +1,22 @@
 package com.shiptracker.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shiptracker.dto.CursorPage;
+import com.shiptracker.dto.ShipFilter;
+import com.shiptracker.dto.ShipPositionResponse;
 import com.shiptracker.dto.ShipRequest;
 import com.shiptracker.dto.ShipResponse;
+import com.shiptracker.exception.BadRequestException;
 import com.shiptracker.exception.ExternalApiException;
+import com.shiptracker.exception.PreconditionFailedException;
 import com.shiptracker.exception.ResourceNotFoundException;
 import com.shiptracker.repository.UserRepository;
+import com.shiptracker.service.Dictionaries;
 import com.shiptracker.service.NameGeneratorService;
+import com.shiptracker.service.PositionSnapshotService;
+import com.shiptracker.service.ShipPositionService;
 import com.shiptracker.service.ShipService;
+import com.shiptracker.service.Versioned;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
@@ -15,13 +24,21 @@ import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import java.io.OutputStream;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.util.List;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -42,6 +59,15 @@ class ShipControllerTest {
     @MockitoBean
     private NameGeneratorService nameGeneratorService;
 
+    @MockitoBean
+    private ShipPositionService shipPositionService;
+
+    @MockitoBean
+    private PositionSnapshotService positionSnapshotService;
+
+    @MockitoBean
+    private Dictionaries dictionaries;
+
     @MockitoBean
     private UserRepository userRepository;
 
@@ -58,12 +84,46 @@ class ShipControllerTest {
     @Test
     @WithMockUser
     void getAll_authenticated() throws Exception {
-        when(shipService.findAll()).thenReturn(List.of(buildResponse(1L, "Atlantic")));
+        when(shipService.findPage(any(ShipFilter.class), eq("name"), isNull(), eq(50)))
+                .thenReturn(new CursorPage<>(List.of(buildResponse(1L, "Atlantic")), "next"));
 
         mockMvc.perform(get("/api/ships"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$[0].id").value(1))
-                .andExpect(jsonPath("$[0].name").value("Atlantic"));
+                .andExpect(jsonPath("$.items[0].id").value(1))
+                .andExpect(jsonPath("$.items[0].name").value("Atlantic"))
+                .andExpect(jsonPath("$.nextCursor").value("next"));
+    }
+
+    @Test
+    @WithMockUser
+    void getAll_withFilterAndCursor() throws Exception {
+        ShipFilter expected = new ShipFilter("Tanker", new BigDecimal("1000"), null,
+                LocalDate.of(2000, 1, 1), null, "Nor");
+        when(shipService.findPage(eq(expected), eq("-tonnage"), eq("abc"), eq(20)))
+                .thenReturn(new CursorPage<>(List.of(buildResponse(2L, "Nordic Star")), null));
+
+        mockMvc.perform(get("/api/ships")
+                        .param("shipType", "Tanker")
+                        .param("minTonnage", "1000")
+                        .param("launchedFrom", "2000-01-01")
+                        .param("namePrefix", "Nor")
+                        .param("sort", "-tonnage")
+                        .param("cursor", "abc")
+                        .param("limit", "20"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].name").value("Nordic Star"))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+    }
+
+    @Test
+    @WithMockUser
+    void getAll_invalidCursor() throws Exception {
+        when(shipService.findPage(any(ShipFilter.class), eq("name"), eq("bad"), anyInt()))
+                .thenThrow(new BadRequestException("Invalid cursor"));
+
+        mockMvc.perform(get("/api/ships").param("cursor", "bad"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Invalid cursor"));
     }
 
     @Test
@@ -77,14 +137,65 @@ class ShipControllerTest {
     @Test
     @WithMockUser
     void getById_found() throws Exception {
-        when(shipService.findById(1L)).thenReturn(buildResponse(1L, "Atlantic"));
+        when(shipService.findVersion(1L)).thenReturn(3L);
+        when(shipService.findById(1L)).thenReturn(new Versioned<>(buildResponse(1L, "Atlantic"), 3L));
 
         mockMvc.perform(get("/api/ships/1"))
                 .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"3.0\""))
                 .andExpect(jsonPath("$.id").value(1))
                 .andExpect(jsonPath("$.name").value("Atlantic"));
     }
 
+    @Test
+    @WithMockUser
+    void getById_notModified() throws Exception {
+        when(shipService.findVersion(1L)).thenReturn(3L);
+        when(shipService.findById(1L)).thenReturn(new Versioned<>(buildResponse(1L, "Atlantic"), 3L));
+
+        mockMvc.perform(get("/api/ships/1").header("If-None-Match", "\"3.0\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        verify(shipService, never()).refresh(any());
+    }
+
+    @Test
+    @WithMockUser
+    void getById_staleETag() throws Exception {
+        when(shipService.findVersion(1L)).thenReturn(4L);
+        when(shipService.findById(1L)).thenReturn(new Versioned<>(buildResponse(1L, "Atlantic"), 4L));
+
+        mockMvc.perform(get("/api/ships/1").header("If-None-Match", "\"3.0\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"4.0\""));
+    }
+
+    @Test
+    @WithMockUser
+    void getById_staleCacheEntryIsReadAgain() throws Exception {
+        when(shipService.findVersion(1L)).thenReturn(4L);
+        when(shipService.findById(1L)).thenReturn(new Versioned<>(buildResponse(1L, "Atlantic"), 3L));
+        when(shipService.refresh(1L)).thenReturn(new Versioned<>(buildResponse(1L, "Renamed"), 4L));
+
+        mockMvc.perform(get("/api/ships/1").header("If-None-Match", "\"3.0\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"4.0\""))
+                .andExpect(jsonPath("$.name").value("Renamed"));
+    }
+
+    @Test
+    @WithMockUser
+    void getById_dictionaryRelabeled() throws Exception {
+        when(shipService.findVersion(1L)).thenReturn(3L);
+        when(dictionaries.generation()).thenReturn(0x2aL);
+        when(shipService.findById(1L)).thenReturn(new Versioned<>(buildResponse(1L, "Atlantic"), 3L));
+
+        mockMvc.perform(get("/api/ships/1").header("If-None-Match", "\"3.0\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"3.2a\""));
+    }
+
     @Test
     @WithMockUser
     void getById_notFound() throws Exception {
@@ -189,20 +300,63 @@ class ShipControllerTest {
     @WithMockUser
     void update_valid() throws Exception {
         ShipRequest request = buildRequest("Updated");
-        when(shipService.update(eq(1L), any(ShipRequest.class))).thenReturn(buildResponse(1L, "Updated"));
+        when(shipService.update(eq(1L), any(ShipRequest.class), isNull()))
+                .thenReturn(new Versioned<>(buildResponse(1L, "Updated"), 5L));
 
         mockMvc.perform(put("/api/ships/1")
                         .with(csrf())
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(request)))
                 .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"5.0\""))
                 .andExpect(jsonPath("$.name").value("Updated"));
     }
 
+    @Test
+    @WithMockUser
+    void update_ifMatch() throws Exception {
+        when(shipService.update(eq(1L), any(ShipRequest.class), eq(4L)))
+                .thenReturn(new Versioned<>(buildResponse(1L, "Updated"), 5L));
+
+        mockMvc.perform(put("/api/ships/1")
+                        .with(csrf())
+                        .header("If-Match", "\"4\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(buildRequest("Updated"))))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @WithMockUser
+    void update_staleIfMatch() throws Exception {
+        when(shipService.update(eq(1L), any(ShipRequest.class), eq(3L)))
+                .thenThrow(new PreconditionFailedException("Ship 1 is at version 4, not 3"));
+
+        mockMvc.perform(put("/api/ships/1")
+                        .with(csrf())
+                        .header("If-Match", "\"3\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(buildRequest("Updated"))))
+                .andExpect(status().isPreconditionFailed());
+    }
+
+    @Test
+    @WithMockUser
+    void update_weakIfMatch() throws Exception {
+        mockMvc.perform(put("/api/ships/1")
+                        .with(csrf())
+                        .header("If-Match", "W/\"3\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(buildRequest("Updated"))))
+                .andExpect(status().isPreconditionFailed());
+
+        verify(shipService, never()).update(any(), any(), any());
+    }
+
     @Test
     @WithMockUser
     void update_notFound() throws Exception {
-        when(shipService.update(eq(99L), any(ShipRequest.class)))
+        when(shipService.update(eq(99L), any(ShipRequest.class), isNull()))
                 .thenThrow(new ResourceNotFoundException("Ship not found: 99"));
 
         mockMvc.perform(put("/api/ships/99")
@@ -212,6 +366,56 @@ class ShipControllerTest {
                 .andExpect(status().isNotFound());
     }
 
+    // --- GET /api/ships/positions ---
+
+    @Test
+    @WithMockUser
+    void getPositions_authenticated() throws Exception {
+        when(shipPositionService.findAll()).thenReturn(List.of(
+                new ShipPositionResponse(1L, 10L, LocalDate.of(2024, 3, 15), "Germany", "Hamburg")));
+
+        mockMvc.perform(get("/api/ships/positions"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].shipId").value(1))
+                .andExpect(jsonPath("$[0].reportId").value(10))
+                .andExpect(jsonPath("$[0].reportDate").value("2024-03-15"))
+                .andExpect(jsonPath("$[0].port").value("Hamburg"));
+    }
+
+    @Test
+    void getPositions_unauthenticated() throws Exception {
+        mockMvc.perform(get("/api/ships/positions"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    @WithMockUser
+    void getPositionsAsOf_streamsSnapshot() throws Exception {
+        String json = "[{\"shipId\":1,\"reportId\":10,\"reportDate\":\"2020-06-01\"}]";
+        doAnswer(invocation -> {
+            OutputStream out = invocation.getArgument(1);
+            out.write(json.getBytes(StandardCharsets.UTF_8));
+            return 1L;
+        }).when(positionSnapshotService).writePositions(eq(LocalDate.of(2020, 6, 30)), any());
+
+        MvcResult result = mockMvc.perform(get("/api/ships/positions").param("asOf", "2020-06-30"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$[0].reportDate").value("2020-06-01"));
+        verify(shipPositionService, never()).findAll();
+    }
+
+    @Test
+    @WithMockUser
+    void getPositionsAsOf_invalidDate() throws Exception {
+        mockMvc.perform(get("/api/ships/positions").param("asOf", "30.06.2020"))
+                .andExpect(status().isBadRequest());
+    }
+
     // --- GET /api/ships/generate-name ---
 
     @Test
@@ -0,0 +1,55 @@
+package com.shiptracker.controller;
+
+import com.shiptracker.config.SecurityConfig;
+import com.shiptracker.dto.ShipPositionRebuildResponse;
+import com.shiptracker.repository.UserRepository;
+import com.shiptracker.service.ShipPositionService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(ShipPositionController.class)
+@Import(SecurityConfig.class)
+class ShipPositionControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private ShipPositionService shipPositionService;
+
+    @MockitoBean
+    private UserRepository userRepository;
+
+    // --- POST /api/admin/ship-positions/rebuild ---
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void rebuild_admin() throws Exception {
+        when(shipPositionService.rebuild()).thenReturn(new ShipPositionRebuildResponse(42, 7));
+
+        mockMvc.perform(post("/api/admin/ship-positions/rebuild").with(csrf()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.ships").value(42))
+                .andExpect(jsonPath("$.durationMs").value(7));
+    }
+
+    @Test
+    @WithMockUser
+    void rebuild_notAdmin() throws Exception {
+        mockMvc.perform(post("/api/admin/ship-positions/rebuild").with(csrf()))
+                .andExpect(status().isForbidden());
+        verify(shipPositionService, never()).rebuild();
+    }
+}
@@ -2,47 +2,61 @@ package com.shiptracker.repository;
 
 import com.shiptracker.entity.LocationReport;
 import com.shiptracker.entity.Ship;
+import com.shiptracker.service.Dictionaries;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Limit;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
 @DataJpaTest
+@Import(Dictionaries.class)
 class LocationReportRepositoryTest {
 
+    @Autowired
+    private Dictionaries dictionaries;
+
     @Autowired
     private TestEntityManager em;
 
     @Autowired
     private LocationReportRepository repository;
 
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
     @Test
     void findByShipIdOrderByReportDateAsc_ordered() {
         Ship ship = new Ship();
         ship.setName("Atlantic");
         ship.setLaunchDate(LocalDate.of(2010, 1, 1));
-        ship.setShipType("Cargo");
+        ship.setShipTypeId(dictionaries.shipTypes().idOf("Cargo"));
         ship.setTonnage(new BigDecimal("5000.00"));
         em.persist(ship);
 
         LocationReport newer = new LocationReport();
         newer.setShip(ship);
         newer.setReportDate(LocalDate.of(2024, 6, 1));
-        newer.setCountry("Germany");
-        newer.setPort("Hamburg");
+        newer.setCountryId(dictionaries.countries().idOf("Germany"));
+        newer.setPortId(dictionaries.ports().idOf("Hamburg"));
         em.persist(newer);
 
         LocationReport older = new LocationReport();
         older.setShip(ship);
         older.setReportDate(LocalDate.of(2024, 1, 1));
-        older.setCountry("Poland");
-        older.setPort("Gdansk");
+        older.setCountryId(dictionaries.countries().idOf("Poland"));
+        older.setPortId(dictionaries.ports().idOf("Gdansk"));
         em.persist(older);
 
         em.flush();
@@ -59,7 +73,7 @@ class LocationReportRepositoryTest {
         Ship ship = new Ship();
         ship.setName("Pacific");
         ship.setLaunchDate(LocalDate.of(2015, 3, 15));
-        ship.setShipType("Tanker");
+        ship.setShipTypeId(dictionaries.shipTypes().idOf("Tanker"));
         ship.setTonnage(new BigDecimal("8000.00"));
         em.persist(ship);
         em.flush();
@@ -68,4 +82,89 @@ class LocationReportRepositoryTest {
 
         assertThat(result).isEmpty();
     }
+
+    private Ship persistShip() {
+        Ship ship = new Ship();
+        ship.setName("Baltic");
+        ship.setLaunchDate(LocalDate.of(2012, 5, 1));
+        ship.setShipTypeId(dictionaries.shipTypes().idOf("Cargo"));
+        ship.setTonnage(new BigDecimal("6000.00"));
+        return em.persist(ship);
+    }
+
+    private LocationReport persistReport(Ship ship, LocalDate date) {
+        LocationReport report = new LocationReport();
+        report.setShip(ship);
+        report.setReportDate(date);
+        report.setCountryId(dictionaries.countries().idOf("Poland"));
+        report.setPortId(dictionaries.ports().idOf("Gdansk"));
+        return em.persist(report);
+    }
+
+    @Test
+    void findHistory_dateBounds() {
+        Ship ship = persistShip();
+        persistReport(ship, LocalDate.of(2024, 1, 1));
+        persistReport(ship, LocalDate.of(2024, 2, 1));
+        persistReport(ship, LocalDate.of(2024, 3, 1));
+        em.flush();
+
+        List<LocationReport> result = repository.findHistory(ship.getId(),
+                LocalDate.of(2024, 2, 1), LocalDate.of(2024, 3, 1), null, Limit.unlimited());
+
+        assertThat(result).extracting(LocationReport::getReportDate)
+                .containsExactly(LocalDate.of(2024, 2, 1), LocalDate.of(2024, 3, 1));
+    }
+
+    @Test
+    void findHistory_keysetBreaksTiesById() {
+        Ship ship = persistShip();
+        Ship other = persistShip();
+        LocalDate sameDay = LocalDate.of(2024, 1, 1);
+        LocationReport first = persistReport(ship, sameDay);
+        LocationReport second = persistReport(ship, sameDay);
+        LocationReport third = persistReport(ship, LocalDate.of(2024, 1, 2));
+        persistReport(other, LocalDate.of(2024, 1, 3));
+        em.flush();
+
+        List<LocationReport> page = repository.findHistory(ship.getId(), null, null,
+                new ReportKeyset(sameDay, first.getId()), Limit.of(1));
+
+        assertThat(page).extracting(LocationReport::getId).containsExactly(second.getId());
+
+        List<LocationReport> rest = repository.findHistory(ship.getId(), null, null,
+                new ReportKeyset(sameDay, second.getId()), Limit.of(10));
+
+        assertThat(rest).extracting(LocationReport::getId).containsExactly(third.getId());
+    }
+
+    @Test
+    void saveAll_insertsAreBatched() {
+        Ship ship = persistShip();
+        em.flush();
+
+        List<LocationReport> reports = new ArrayList<>();
+        for (int i = 0; i < 120; i++) {
+            LocationReport report = new LocationReport();
+            report.setShip(ship);
+            report.setReportDate(LocalDate.of(2024, 1, 1).plusDays(i));
+            report.setCountryId(dictionaries.countries().idOf("Poland"));
+            report.setPortId(dictionaries.ports().idOf("Gdansk"));
+            reports.add(report);
+        }
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+        try {
+            repository.saveAll(reports);
+            em.flush();
+
+            // 3 pooled id fetches + 3 insert batches instead of 120 identity round trips
+            assertThat(statistics.getEntityInsertCount()).isEqualTo(120);
+            assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(6);
+        } finally {
+            statistics.setStatisticsEnabled(false);
+        }
+    }
 }
@@ -0,0 +1,187 @@
+package com.shiptracker.repository;
+
+import com.shiptracker.dto.ShipFilter;
+import com.shiptracker.entity.LocationReport;
+import com.shiptracker.entity.Ship;
+import com.shiptracker.service.Dictionaries;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@Import(Dictionaries.class)
+class ShipRepositoryTest {
+
+    @Autowired
+    private Dictionaries dictionaries;
+
+    @Autowired
+    private TestEntityManager em;
+
+    @Autowired
+    private ShipRepository repository;
+
+    private Ship persistShip(String name) {
+        return persistShip(name, "Cargo", "5000.00");
+    }
+
+    private Ship persistShip(String name, String shipType, String tonnage) {
+        Ship ship = new Ship();
+        ship.setName(name);
+        ship.setLaunchDate(LocalDate.of(2010, 1, 1));
+        ship.setShipTypeId(dictionaries.shipTypes().idOf(shipType));
+        ship.setTonnage(new BigDecimal(tonnage));
+        return em.persist(ship);
+    }
+
+    private void persistReport(Ship ship, LocalDate date) {
+        LocationReport report = new LocationReport();
+        report.setShip(ship);
+        report.setReportDate(date);
+        report.setCountryId(dictionaries.countries().idOf("Poland"));
+        report.setPortId(dictionaries.ports().idOf("Gdansk"));
+        em.persist(report);
+    }
+
+    @Test
+    void findPage_countsReportsOrderedByName() {
+        Ship pacific = persistShip("Pacific");
+        Ship atlantic = persistShip("Atlantic");
+        persistReport(pacific, LocalDate.of(2024, 1, 1));
+        persistReport(pacific, LocalDate.of(2024, 2, 1));
+        em.flush();
+        em.clear();
+
+        List<ShipSummary> result = repository.findPage(ShipFilter.none(), ShipSort.DEFAULT, null, 10);
+
+        assertThat(result).extracting(ShipSummary::name).containsExactly("Atlantic", "Pacific");
+        assertThat(result).extracting(ShipSummary::reportCount).containsExactly(0L, 2L);
+        assertThat(result.getFirst().id()).isEqualTo(atlantic.getId());
+    }
+
+    @Test
+    void findPage_keysetContinuesAfterDuplicateName() {
+        Ship first = persistShip("Atlantic");
+        Ship second = persistShip("Atlantic");
+        persistShip("Baltic");
+        em.flush();
+
+        List<ShipSummary> result = repository.findPage(
+                ShipFilter.none(), ShipSort.DEFAULT, new ShipKeyset("Atlantic", first.getId()), 10);
+
+        assertThat(result).extracting(ShipSummary::id).first().isEqualTo(second.getId());
+        assertThat(result).extracting(ShipSummary::name).containsExactly("Atlantic", "Baltic");
+    }
+
+    @Test
+    void findPage_descendingByTonnage() {
+        persistShip("Small", "Cargo", "1000.00");
+        persistShip("Large", "Cargo", "9000.00");
+        persistShip("Medium", "Cargo", "5000.00");
+        em.flush();
+
+        ShipSort byTonnageDesc = new ShipSort(ShipSortField.TONNAGE, true);
+        List<ShipSummary> result = repository.findPage(
+                ShipFilter.none(), byTonnageDesc, new ShipKeyset(new BigDecimal("9000.00"), Long.MAX_VALUE), 10);
+
+        assertThat(result).extracting(ShipSummary::name).containsExactly("Large", "Medium", "Small");
+    }
+
+    @Test
+    void findPage_filters() {
+        persistShip("Nordic Star", "Tanker", "78500.00");
+        persistShip("Nordic Dawn", "Cargo", "78500.00");
+        persistShip("North Wind", "Tanker", "1000.00");
+        persistShip("Atlantic", "Tanker", "78500.00");
+        em.flush();
+
+        ShipFilter filter = new ShipFilter("Tanker", new BigDecimal("5000"), null, null, null, "nor");
+        List<ShipSummary> result = repository.findPage(filter, ShipSort.DEFAULT, null, 10);
+
+        assertThat(result).extracting(ShipSummary::name).containsExactly("Nordic Star");
+    }
+
+    @Test
+    void findPage_namePrefixEscapesWildcards() {
+        persistShip("100% Steel");
+        persistShip("1000 Islands");
+        em.flush();
+
+        ShipFilter filter = new ShipFilter(null, null, null, null, null, "100%");
+        List<ShipSummary> result = repository.findPage(filter, ShipSort.DEFAULT, null, 10);
+
+        assertThat(result).extracting(ShipSummary::name).containsExactly("100% Steel");
+    }
+
+    @Test
+    void findSummaryById_found() {
+        Ship ship = persistShip("Atlantic");
+        persistReport(ship, LocalDate.of(2024, 1, 1));
+        em.flush();
+        em.clear();
+
+        Optional<ShipSummary> result = repository.findSummaryById(ship.getId());
+
+        assertThat(result).isPresent();
+        assertThat(result.get().name()).isEqualTo("Atlantic");
+        assertThat(result.get().reportCount()).isEqualTo(1L);
+        assertThat(result.get().version()).isEqualTo(ship.getVersion());
+    }
+
+    @Test
+    void findSummaryById_notFound() {
+        assertThat(repository.findSummaryById(99L)).isEmpty();
+    }
+
+    @Test
+    void countReportsByShipId() {
+        Ship ship = persistShip("Atlantic");
+        persistReport(ship, LocalDate.of(2024, 1, 1));
+        persistReport(ship, LocalDate.of(2024, 2, 1));
+        em.flush();
+
+        assertThat(repository.countReportsByShipId(ship.getId())).isEqualTo(2L);
+    }
+
+    @Test
+    void findExistingIds() {
+        Ship atlantic = persistShip("Atlantic");
+        Ship pacific = persistShip("Pacific");
+        em.flush();
+
+        List<Long> result = repository.findExistingIds(List.of(atlantic.getId(), pacific.getId(), -1L));
+
+        assertThat(result).containsExactlyInAnyOrder(atlantic.getId(), pacific.getId());
+    }
+
+    @Test
+    void incrementVersion() {
+        Ship ship = persistShip("Atlantic");
+        em.flush();
+        em.clear();
+
+        assertThat(repository.incrementVersion(ship.getId())).isEqualTo(1);
+        assertThat(repository.incrementVersion(-1L)).isZero();
+        assertThat(repository.findVersionById(ship.getId())).contains(1L);
+    }
+
+    @Test
+    void update_bumpsVersion() {
+        Ship ship = persistShip("Atlantic");
+        em.flush();
+
+        ship.setName("Renamed");
+        repository.saveAndFlush(ship);
+
+        assertThat(ship.getVersion()).isEqualTo(1L);
+    }
+}
@@ -0,0 +1,43 @@
+package com.shiptracker.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CountingInputStreamTest {
+
+    @Test
+    void countsBytesAndReportsEachInterval() throws Exception {
+        List<Long> reports = new ArrayList<>();
+        InputStream source = new ByteArrayInputStream(new byte[250]);
+
+        try (CountingInputStream in = new CountingInputStream(source, 100, reports::add)) {
+            byte[] buffer = new byte[30];
+            while (in.read(buffer) > 0) {
+                assertThat(in.getCount()).isLessThanOrEqualTo(250);
+            }
+            assertThat(in.getCount()).isEqualTo(250);
+        }
+
+        assertThat(reports).containsExactly(120L, 210L);
+    }
+
+    @Test
+    void singleByteReads() throws Exception {
+        List<Long> reports = new ArrayList<>();
+
+        try (CountingInputStream in = new CountingInputStream(new ByteArrayInputStream(new byte[3]), 2, reports::add)) {
+            while (in.read() >= 0) {
+                // drain
+            }
+            assertThat(in.getCount()).isEqualTo(3);
+        }
+
+        assertThat(reports).containsExactly(2L);
+    }
+}
@@ -0,0 +1,156 @@
+package com.shiptracker.service;
+
+import com.shiptracker.dto.DictionaryRelabeledEvent;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest
+@Import(Dictionaries.class)
+@RecordApplicationEvents
+class DictionariesTest {
+
+    @Autowired
+    private Dictionaries dictionaries;
+
+    @Autowired
+    private ApplicationEvents events;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void idOf_addsUnknownNamesOnce() {
+        LabelDictionary ports = dictionaries.ports();
+
+        int id = ports.idOf("Tromsø");
+
+        assertThat(ports.idOf("Tromsø")).isEqualTo(id);
+        assertThat(ports.idsOf(List.of("Tromsø", "Narvik"))).containsEntry("Tromsø", id).containsKey("Narvik");
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM ports WHERE name = 'Tromsø'", Long.class))
+                .isEqualTo(1);
+    }
+
+    @Test
+    void idOf_keepsUncommittedKeysToTheTransaction() {
+        int id = dictionaries.ports().idOf("Vardø");
+
+        assertThat(dictionaries.ports().label(id)).isEqualTo("Vardø");
+        // Another connection cannot see the row before this transaction commits, so nor can its lookups
+        assertThat(CompletableFuture.supplyAsync(() -> dictionaries.ports().label(id)))
+                .failsWithin(Duration.ofSeconds(10))
+                .withThrowableOfType(ExecutionException.class)
+                .withCauseInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void label_isOneInstancePerEntry() {
+        LabelDictionary shipTypes = dictionaries.shipTypes();
+        int id = shipTypes.idOf("Icebreaker");
+
+        assertThat(shipTypes.label(id)).isEqualTo("Icebreaker").isSameAs(shipTypes.label(id));
+    }
+
+    @Test
+    void label_usesLocaleLabelsAndFallsBackToName() {
+        LabelDictionary countries = dictionaries.countries();
+        int id = countries.idOf("Ruritania");
+        jdbcTemplate.update("INSERT INTO dictionary_labels (dictionary, entry_id, locale, label) VALUES (?, ?, ?, ?)",
+                "countries", id, "pl", "Ruritania (pl)");
+        jdbcTemplate.update("INSERT INTO dictionary_labels (dictionary, entry_id, locale, label) VALUES (?, ?, ?, ?)",
+                "countries", id, "en", "Kingdom of Ruritania");
+        countries.reload();
+
+        assertThat(countries.label(id, Locale.forLanguageTag("pl-PL"))).isEqualTo("Ruritania (pl)");
+        assertThat(countries.label(id, Locale.GERMAN)).isEqualTo("Ruritania");
+        assertThat(countries.label(id)).isEqualTo("Kingdom of Ruritania");
+        assertThat(countries.idOf("Kingdom of Ruritania")).isEqualTo(id);
+    }
+
+    @Test
+    void label_picksUpEntriesAddedElsewhere() {
+        jdbcTemplate.update("INSERT INTO ports (name) VALUES ('Hammerfest')");
+        Integer id = jdbcTemplate.queryForObject("SELECT id FROM ports WHERE name = 'Hammerfest'", Integer.class);
+
+        assertThat(dictionaries.ports().label(id)).isEqualTo("Hammerfest");
+    }
+
+    @Test
+    void label_readsOnlyTheMissedEntry() {
+        LabelDictionary ports = dictionaries.ports();
+        jdbcTemplate.update("INSERT INTO ports (name) VALUES ('Båtsfjord')");
+        Integer known = jdbcTemplate.queryForObject("SELECT id FROM ports WHERE name = 'Båtsfjord'", Integer.class);
+        ports.reload();
+        events.clear();
+        jdbcTemplate.update("UPDATE ports SET name = 'Batsfjord' WHERE id = ?", known);
+        jdbcTemplate.update("INSERT INTO ports (name) VALUES ('Kirkenes')");
+        Integer added = jdbcTemplate.queryForObject("SELECT id FROM ports WHERE name = 'Kirkenes'", Integer.class);
+
+        assertThat(ports.label(added)).isEqualTo("Kirkenes");
+        // The rename waits for the next full reload
+        assertThat(ports.label(known)).isEqualTo("Båtsfjord");
+        assertThat(events.stream(DictionaryRelabeledEvent.class)).isEmpty();
+    }
+
+    @Test
+    void idOf_leavesGenerationUnchanged() {
+        long generation = dictionaries.generation();
+
+        dictionaries.ports().idOf("NewPort");
+        dictionaries.ports().reload();
+
+        assertThat(dictionaries.generation()).isEqualTo(generation);
+    }
+
+    @Test
+    void reload_announcesRelabelsOnly() {
+        LabelDictionary ports = dictionaries.ports();
+        jdbcTemplate.update("INSERT INTO ports (name) VALUES ('Honningsvåg')");
+        Integer id = jdbcTemplate.queryForObject("SELECT id FROM ports WHERE name = 'Honningsvåg'", Integer.class);
+        ports.label(id);
+
+        ports.reload();
+        assertThat(events.stream(DictionaryRelabeledEvent.class)).isEmpty();
+
+        jdbcTemplate.update("UPDATE ports SET name = 'Honningsvag' WHERE id = ?", id);
+        ports.reload();
+
+        assertThat(ports.label(id)).isEqualTo("Honningsvag");
+        assertThat(events.stream(DictionaryRelabeledEvent.class))
+                .containsExactly(new DictionaryRelabeledEvent("ports"));
+    }
+
+    @Test
+    void reload_picksUpGenerationBumpedByTrigger() {
+        dictionaries.countries().reload();
+        events.clear();
+        long generation = dictionaries.generation();
+        // What the PostgreSQL relabel triggers do; the schema Hibernate creates for tests has none
+        jdbcTemplate.update("INSERT INTO dictionary_generations (dictionary, generation) VALUES ('countries', 7)");
+
+        dictionaries.countries().reload();
+
+        assertThat(dictionaries.generation()).isEqualTo(generation + 7);
+        assertThat(events.stream(DictionaryRelabeledEvent.class))
+                .containsExactly(new DictionaryRelabeledEvent("countries"));
+    }
+
+    @Test
+    void label_unknownIdThrows() {
+        assertThatThrownBy(() -> dictionaries.ports().label(Integer.MAX_VALUE))
+                .isInstanceOf(IllegalStateException.class);
+    }
+}
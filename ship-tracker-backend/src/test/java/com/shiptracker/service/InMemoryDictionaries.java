@@ -0,0 +1,77 @@
+package com.shiptracker.service;
+
+import org.mockito.quality.Strictness;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.withSettings;
+
+/** Dictionaries backed by lists instead of lookup tables, for tests without a database. Keys start at 1. */
+final class InMemoryDictionaries {
+
+    private InMemoryDictionaries() {}
+
+    static Dictionaries create() {
+        return stub(mock(Dictionaries.class));
+    }
+
+    /** Backs a Spring-managed mock the same way. */
+    static Dictionaries stub(Dictionaries dictionaries) {
+        LabelDictionary shipTypes = dictionary();
+        LabelDictionary countries = dictionary();
+        LabelDictionary ports = dictionary();
+        lenient().when(dictionaries.shipTypes()).thenReturn(shipTypes);
+        lenient().when(dictionaries.countries()).thenReturn(countries);
+        lenient().when(dictionaries.ports()).thenReturn(ports);
+        return dictionaries;
+    }
+
+    private static LabelDictionary dictionary() {
+        List<String> names = new ArrayList<>();
+        LabelDictionary dictionary = mock(LabelDictionary.class, withSettings().strictness(Strictness.LENIENT));
+        lenient().when(dictionary.idOf(anyString())).thenAnswer(invocation -> idOf(names, invocation.getArgument(0)));
+        lenient().when(dictionary.idsOf(anyCollection())).thenAnswer(invocation -> {
+            Map<String, Integer> ids = new HashMap<>();
+            for (String name : invocation.<Collection<String>>getArgument(0)) {
+                ids.put(name, idOf(names, name));
+            }
+            return ids;
+        });
+        lenient().when(dictionary.find(anyString())).thenAnswer(invocation -> find(names, invocation.getArgument(0)));
+        lenient().when(dictionary.label(anyInt())).thenAnswer(invocation -> label(names, invocation.getArgument(0)));
+        lenient().when(dictionary.label(anyInt(), any()))
+                .thenAnswer(invocation -> label(names, invocation.getArgument(0)));
+        return dictionary;
+    }
+
+    private static synchronized int idOf(List<String> names, String name) {
+        int index = names.indexOf(name);
+        if (index < 0) {
+            names.add(name);
+            index = names.size() - 1;
+        }
+        return index + 1;
+    }
+
+    private static synchronized Integer find(List<String> names, String name) {
+        int index = names.indexOf(name);
+        return index < 0 ? null : index + 1;
+    }
+
+    private static synchronized String label(List<String> names, int id) {
+        if (id < 1 || id > names.size()) {
+            throw new IllegalStateException("Unknown id " + id);
+        }
+        return names.get(id - 1);
+    }
+}
@@ -0,0 +1,28 @@
+package com.shiptracker.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class LocalNameGeneratorTest {
+
+    @Test
+    void generate_buildsTwoWordName() {
+        LocalNameGenerator generator = new LocalNameGenerator(new ShipNameIndex(null, 100, 0.01));
+
+        assertThat(generator.generate()).matches("[A-Z][a-z]+ [A-Z][a-z]+");
+    }
+
+    @Test
+    void generate_appendsSuffixWhenPairsKeepColliding() {
+        ShipNameIndex index = mock(ShipNameIndex.class);
+        when(index.contains(anyString())).thenReturn(true);
+        when(index.contains(argThat(name -> name.endsWith(" 3")))).thenReturn(false);
+
+        assertThat(new LocalNameGenerator(index).generate()).matches("[A-Z][a-z]+ [A-Z][a-z]+ 3");
+    }
+}
@@ -0,0 +1,114 @@
+package com.shiptracker.service;
+
+import com.shiptracker.dto.LocationReportBatchItem;
+import com.shiptracker.dto.LocationReportBatchResponse;
+import com.shiptracker.dto.LocationReportBatchResponse.Status;
+import com.shiptracker.repository.ShipRepository;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class LocationReportBatchServiceTest {
+
+    @Mock
+    private ShipRepository shipRepository;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private ShipCacheEvictor shipCacheEvictor;
+
+    @Mock
+    private ShipPositionService shipPositionService;
+
+    private final Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
+    private LocationReportBatchService batchService;
+
+    @BeforeEach
+    void setUp() {
+        batchService = new LocationReportBatchService(shipRepository, jdbcTemplate, validator, shipCacheEvictor,
+                shipPositionService, InMemoryDictionaries.create());
+    }
+
+    private LocationReportBatchItem item(Long shipId, String port) {
+        return new LocationReportBatchItem(shipId, LocalDate.of(2024, 1, 1), "Poland", port);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void ingest_mixedBatch() {
+        when(shipRepository.findExistingIds(anyCollection())).thenReturn(List.of(1L));
+
+        LocationReportBatchResponse response = batchService.ingest(Arrays.asList(
+                item(1L, "Gdansk"),
+                item(99L, "Hamburg"),
+                item(1L, " "),
+                null,
+                item(1L, "Rotterdam")));
+
+        assertThat(response.accepted()).isEqualTo(2);
+        assertThat(response.rejected()).isEqualTo(3);
+        assertThat(response.results()).extracting(LocationReportBatchResponse.ItemResult::status)
+                .containsExactly(Status.ACCEPTED, Status.REJECTED, Status.REJECTED, Status.REJECTED, Status.ACCEPTED);
+        assertThat(response.results().get(1).error()).contains("99");
+        assertThat(response.results().get(2).error()).startsWith("port");
+
+        ArgumentCaptor<Collection<LocationReportBatchItem>> rows = ArgumentCaptor.forClass(Collection.class);
+        verify(jdbcTemplate).batchUpdate(startsWith("INSERT INTO location_reports"), rows.capture(),
+                eq(LocationReportBatchService.JDBC_BATCH_SIZE), any(ParameterizedPreparedStatementSetter.class));
+        assertThat(rows.getValue()).extracting(LocationReportBatchItem::port).containsExactly("Gdansk", "Rotterdam");
+        verify(jdbcTemplate).batchUpdate(startsWith("UPDATE ships SET version"), eq(List.of(1L)),
+                eq(LocationReportBatchService.JDBC_BATCH_SIZE), any(ParameterizedPreparedStatementSetter.class));
+        verify(shipPositionService).rebuild(List.of(1L));
+        verify(shipCacheEvictor).evictShips(List.of(1L));
+    }
+
+    @Test
+    void ingest_checksShipsOnce() {
+        when(shipRepository.findExistingIds(anyCollection())).thenReturn(List.of(1L, 2L));
+
+        batchService.ingest(List.of(item(1L, "Gdansk"), item(2L, "Hamburg"), item(1L, "Oslo")));
+
+        verify(shipRepository).findExistingIds(Set.of(1L, 2L));
+    }
+
+    @Test
+    void ingest_nothingAccepted() {
+        when(shipRepository.findExistingIds(anyCollection())).thenReturn(List.of());
+
+        LocationReportBatchResponse response = batchService.ingest(List.of(item(5L, "Gdansk")));
+
+        assertThat(response.accepted()).isZero();
+        assertThat(response.rejected()).isEqualTo(1);
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyCollection(), any(Integer.class),
+                any(ParameterizedPreparedStatementSetter.class));
+        verify(shipPositionService, never()).rebuild(anyCollection());
+        verify(shipCacheEvictor, never()).evictShips(anyCollection());
+    }
+}
@@ -0,0 +1,98 @@
+package com.shiptracker.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class LocationReportPartitionMaintainerTest {
+
+    private static final String CREATE = "SELECT create_location_report_partition(?)";
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private void database(String productName, boolean partitioned, LocalDate... defaultPartitionMonths) {
+        when(jdbcTemplate.execute(any(ConnectionCallback.class))).thenReturn(productName);
+        if ("PostgreSQL".equals(productName)) {
+            when(jdbcTemplate.queryForObject(startsWith("SELECT EXISTS"), eq(Boolean.class))).thenReturn(partitioned);
+        }
+        if (partitioned) {
+            when(jdbcTemplate.queryForList(contains("location_reports_default"), eq(LocalDate.class)))
+                    .thenReturn(List.of(defaultPartitionMonths));
+        }
+    }
+
+    @Test
+    void createPartitions_coversCurrentAndFollowingMonths() {
+        database("PostgreSQL", true);
+        when(jdbcTemplate.queryForObject(eq(CREATE), eq(Boolean.class), any())).thenReturn(true, false, false);
+
+        new LocationReportPartitionMaintainer(jdbcTemplate, 2).createPartitions();
+
+        YearMonth current = YearMonth.now();
+        for (int i = 0; i <= 2; i++) {
+            verify(jdbcTemplate).queryForObject(CREATE, Boolean.class, current.plusMonths(i).atDay(1));
+        }
+    }
+
+    @Test
+    void createPartitions_movesBackdatedReportsOutOfTheDefaultPartition() {
+        database("PostgreSQL", true, LocalDate.of(2012, 5, 1), YearMonth.now().atDay(1));
+
+        new LocationReportPartitionMaintainer(jdbcTemplate, 0).createPartitions();
+
+        verify(jdbcTemplate).queryForObject(CREATE, Boolean.class, LocalDate.of(2012, 5, 1));
+        verify(jdbcTemplate).queryForObject(CREATE, Boolean.class, YearMonth.now().atDay(1));
+        verify(jdbcTemplate, times(2)).queryForObject(eq(CREATE), eq(Boolean.class), any());
+    }
+
+    @Test
+    void createPartitions_failedMonthDoesNotStopTheRest() {
+        database("PostgreSQL", true);
+        when(jdbcTemplate.queryForObject(eq(CREATE), eq(Boolean.class), any()))
+                .thenThrow(new DataIntegrityViolationException("relation already exists"))
+                .thenReturn(true);
+
+        new LocationReportPartitionMaintainer(jdbcTemplate, 1).createPartitions();
+
+        verify(jdbcTemplate, times(2)).queryForObject(eq(CREATE), eq(Boolean.class), any());
+    }
+
+    @Test
+    void createPartitions_skipsUnpartitionedTable() {
+        database("PostgreSQL", false);
+
+        new LocationReportPartitionMaintainer(jdbcTemplate, 3).createPartitions();
+
+        verify(jdbcTemplate, never()).queryForObject(eq(CREATE), eq(Boolean.class), any());
+    }
+
+    @Test
+    void createPartitions_skipsOtherDatabases() {
+        database("H2", false);
+
+        new LocationReportPartitionMaintainer(jdbcTemplate, 3).createPartitions();
+
+        verify(jdbcTemplate, never()).queryForObject(anyString(), eq(Boolean.class));
+        verify(jdbcTemplate, never()).queryForObject(eq(CREATE), eq(Boolean.class), any());
+    }
+}
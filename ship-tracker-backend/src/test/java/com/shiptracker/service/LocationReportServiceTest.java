@@ -1,28 +1,36 @@
 package com.shiptracker.service;
 
+import com.shiptracker.dto.CursorPage;
+import com.shiptracker.dto.LocationReportEvent;
 import com.shiptracker.dto.LocationReportRequest;
 import com.shiptracker.dto.LocationReportResponse;
 import com.shiptracker.entity.LocationReport;
 import com.shiptracker.entity.Ship;
+import com.shiptracker.exception.BadRequestException;
 import com.shiptracker.exception.ResourceNotFoundException;
 import com.shiptracker.repository.LocationReportRepository;
+import com.shiptracker.repository.ReportKeyset;
 import com.shiptracker.repository.ShipRepository;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.test.util.ReflectionTestUtils;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
-import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -34,15 +42,32 @@ class LocationReportServiceTest {
     @Mock
     private ShipRepository shipRepository;
 
-    @InjectMocks
+    @Mock
+    private ShipPositionService shipPositionService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private final Dictionaries dictionaries = InMemoryDictionaries.create();
+
+    private final int poland = dictionaries.countries().idOf("Poland");
+
+    private final int gdansk = dictionaries.ports().idOf("Gdansk");
+
     private LocationReportService locationReportService;
 
+    @BeforeEach
+    void setUp() {
+        locationReportService = new LocationReportService(locationReportRepository, shipRepository,
+                shipPositionService, dictionaries, eventPublisher);
+    }
+
     private Ship buildShip(Long id) {
         Ship ship = new Ship();
         ReflectionTestUtils.setField(ship, "id", id);
         ship.setName("Atlantic");
         ship.setLaunchDate(LocalDate.of(2000, 1, 1));
-        ship.setShipType("Cargo");
+        ship.setShipTypeId(dictionaries.shipTypes().idOf("Cargo"));
         ship.setTonnage(new BigDecimal("1000.00"));
         return ship;
     }
@@ -51,8 +76,8 @@ class LocationReportServiceTest {
         LocationReport report = new LocationReport();
         ReflectionTestUtils.setField(report, "id", id);
         report.setReportDate(date);
-        report.setCountry("Poland");
-        report.setPort("Gdansk");
+        report.setCountryId(poland);
+        report.setPortId(gdansk);
         return report;
     }
 
@@ -62,7 +87,7 @@ class LocationReportServiceTest {
     void findByShipId_shipNotFound() {
         when(shipRepository.existsById(99L)).thenReturn(false);
 
-        assertThatThrownBy(() -> locationReportService.findByShipId(99L))
+        assertThatThrownBy(() -> locationReportService.findByShipId(99L, null, null))
                 .isInstanceOf(ResourceNotFoundException.class)
                 .hasMessageContaining("99");
     }
@@ -78,18 +103,76 @@ class LocationReportServiceTest {
         when(locationReportRepository.findByShipIdOrderByReportDateAsc(1L))
                 .thenReturn(List.of(r1, r2));
 
-        List<LocationReportResponse> result = locationReportService.findByShipId(1L);
+        List<LocationReportResponse> result = locationReportService.findByShipId(1L, null, null);
 
         assertThat(result).hasSize(2);
         assertThat(result.get(0).reportDate()).isEqualTo(earlier);
         assertThat(result.get(1).reportDate()).isEqualTo(later);
     }
 
+    @Test
+    void findByShipId_dateRange() {
+        LocalDate from = LocalDate.of(2024, 1, 1);
+        LocalDate to = LocalDate.of(2024, 3, 31);
+        when(shipRepository.existsById(1L)).thenReturn(true);
+        when(locationReportRepository.findHistory(1L, from, to, null, Limit.unlimited()))
+                .thenReturn(List.of(buildReport(1L, LocalDate.of(2024, 2, 1))));
+
+        List<LocationReportResponse> result = locationReportService.findByShipId(1L, from, to);
+
+        assertThat(result).extracting(LocationReportResponse::id).containsExactly(1L);
+    }
+
+    @Test
+    void findByShipId_invertedRange() {
+        assertThatThrownBy(() -> locationReportService.findByShipId(
+                1L, LocalDate.of(2024, 6, 1), LocalDate.of(2024, 1, 1)))
+                .isInstanceOf(BadRequestException.class);
+    }
+
+    // --- findPageByShipId ---
+
+    @Test
+    void findPageByShipId_cursorRoundTrip() {
+        LocalDate date = LocalDate.of(2024, 1, 1);
+        when(shipRepository.existsById(1L)).thenReturn(true);
+        when(locationReportRepository.findHistory(1L, null, null, null, Limit.of(3)))
+                .thenReturn(List.of(buildReport(1L, date), buildReport(2L, date), buildReport(3L, date)));
+
+        CursorPage<LocationReportResponse> first = locationReportService.findPageByShipId(1L, null, null, null, 2);
+
+        assertThat(first.items()).extracting(LocationReportResponse::id).containsExactly(1L, 2L);
+        assertThat(first.nextCursor()).isNotNull();
+
+        when(locationReportRepository.findHistory(1L, null, null, new ReportKeyset(date, 2L), Limit.of(3)))
+                .thenReturn(List.of(buildReport(3L, date)));
+
+        CursorPage<LocationReportResponse> second =
+                locationReportService.findPageByShipId(1L, null, null, first.nextCursor(), 2);
+
+        assertThat(second.items()).extracting(LocationReportResponse::id).containsExactly(3L);
+        assertThat(second.nextCursor()).isNull();
+    }
+
+    @Test
+    void findPageByShipId_shipNotFound() {
+        when(shipRepository.existsById(99L)).thenReturn(false);
+
+        assertThatThrownBy(() -> locationReportService.findPageByShipId(99L, null, null, null, 10))
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    @Test
+    void findPageByShipId_invalidCursor() {
+        assertThatThrownBy(() -> locationReportService.findPageByShipId(1L, null, null, "%%%", 10))
+                .isInstanceOf(BadRequestException.class);
+    }
+
     // --- create ---
 
     @Test
     void create_shipNotFound() {
-        when(shipRepository.findById(99L)).thenReturn(Optional.empty());
+        when(shipRepository.incrementVersion(99L)).thenReturn(0);
 
         LocationReportRequest request = new LocationReportRequest(
                 LocalDate.of(2024, 1, 1), "Poland", "Gdansk");
@@ -97,6 +180,8 @@ class LocationReportServiceTest {
         assertThatThrownBy(() -> locationReportService.create(99L, request))
                 .isInstanceOf(ResourceNotFoundException.class)
                 .hasMessageContaining("99");
+        verify(shipPositionService, never()).record(any());
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
     }
 
     @Test
@@ -105,10 +190,11 @@ class LocationReportServiceTest {
         LocationReportRequest request = new LocationReportRequest(
                 LocalDate.of(2024, 3, 15), "Germany", "Hamburg");
         LocationReport saved = buildReport(10L, request.reportDate());
-        saved.setCountry(request.country());
-        saved.setPort(request.port());
+        saved.setCountryId(dictionaries.countries().idOf(request.country()));
+        saved.setPortId(dictionaries.ports().idOf(request.port()));
 
-        when(shipRepository.findById(1L)).thenReturn(Optional.of(ship));
+        when(shipRepository.incrementVersion(1L)).thenReturn(1);
+        when(shipRepository.getReferenceById(1L)).thenReturn(ship);
         when(locationReportRepository.save(any(LocationReport.class))).thenReturn(saved);
 
         LocationReportResponse response = locationReportService.create(1L, request);
@@ -117,5 +203,7 @@ class LocationReportServiceTest {
         assertThat(response.country()).isEqualTo("Germany");
         assertThat(response.port()).isEqualTo("Hamburg");
         assertThat(response.reportDate()).isEqualTo(LocalDate.of(2024, 3, 15));
+        verify(shipPositionService).record(saved);
+        verify(eventPublisher).publishEvent(new LocationReportEvent(1L, response));
     }
 }
\ No newline at end of file
@@ -1,74 +1,159 @@
 package com.shiptracker.service;
 
-import com.shiptracker.exception.ExternalApiException;
+import com.shiptracker.config.NamePoolProperties;
+import com.shiptracker.support.StubHttpServer;
+import com.shiptracker.support.StubHttpServer.Response;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.Mock;
-import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.web.client.RestClient;
-import org.springframework.web.client.RestClientException;
+
+import java.util.List;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
-import static org.assertj.core.api.Assertions.assertThatThrownBy;
-import static org.mockito.ArgumentMatchers.anyString;
-import static org.mockito.Mockito.when;
 
-@ExtendWith(MockitoExtension.class)
 class NameGeneratorServiceTest {
 
-    @Mock
-    private RestClient restClient;
+    private final StubHttpServer server = new StubHttpServer();
 
-    @Mock
-    private RestClient.RequestHeadersUriSpec requestHeadersUriSpec;
+    // Refills are queued here and run explicitly, so each test controls when the pool fills
+    private final Queue<Runnable> refills = new ArrayDeque<>();
 
-    @Mock
-    private RestClient.RequestHeadersSpec requestHeadersSpec;
+    private final ShipNameIndex shipNameIndex = new ShipNameIndex(null, 100, 0.01);
 
-    @Mock
-    private RestClient.ResponseSpec responseSpec;
+    private RandommerClient randommerClient;
 
     private NameGeneratorService nameGeneratorService;
 
     @BeforeEach
     void setUp() {
-        nameGeneratorService = new NameGeneratorService(restClient, "test-key", "https://api.example.com/names");
+        server.respond(uri -> Response.json(names(quantity(uri.getQuery()))));
+        randommerClient = new RandommerClient(RestClient.create(),
+                CircuitBreaker.ofDefaults("test"), Bulkhead.ofDefaults("test"), new SimpleMeterRegistry(),
+                RandommerClientTest.properties(), "test-key", server.url("/api/Name"));
+        nameGeneratorService = service(NameGeneratorMode.REMOTE);
     }
 
-    private void stubChain() {
-        when(restClient.get()).thenReturn(requestHeadersUriSpec);
-        when(requestHeadersUriSpec.uri(anyString())).thenReturn(requestHeadersSpec);
-        when(requestHeadersSpec.header(anyString(), anyString())).thenReturn(requestHeadersSpec);
-        when(requestHeadersSpec.retrieve()).thenReturn(responseSpec);
+    private NameGeneratorService service(NameGeneratorMode mode) {
+        return new NameGeneratorService(randommerClient, new LocalNameGenerator(shipNameIndex), shipNameIndex,
+                refills::add, new NamePoolProperties(10, 3, 8, false), mode);
     }
 
-    @Test
-    void generateName_success() {
-        stubChain();
-        when(responseSpec.body(String[].class)).thenReturn(new String[]{"Atlantic"});
+    @AfterEach
+    void tearDown() {
+        server.close();
+    }
+
+    private static int quantity(String query) {
+        return Integer.parseInt(query.replaceAll(".*quantity=(\\d+).*", "$1"));
+    }
+
+    private static String names(int quantity) {
+        return IntStream.rangeClosed(1, quantity)
+                .mapToObj(i -> "\"Name" + i + "\"")
+                .collect(Collectors.joining(",", "[", "]"));
+    }
+
+    private void runRefills() {
+        while (!refills.isEmpty()) {
+            refills.poll().run();
+        }
+    }
 
+    @Test
+    void generateName_emptyPoolCallsDirectlyAndSchedulesRefill() {
         String result = nameGeneratorService.generateName();
 
-        assertThat(result).isEqualTo("Atlantic");
+        assertThat(result).isEqualTo("Name1");
+        assertThat(server.requests()).singleElement()
+                .satisfies(uri -> assertThat(uri.getQuery()).contains("quantity=1"));
+        assertThat(refills).hasSize(1);
+    }
+
+    @Test
+    void generateName_servedFromPoolAfterRefill() {
+        nameGeneratorService.generateName();
+        runRefills();
+        assertThat(nameGeneratorService.poolSize()).isEqualTo(8);
+        server.requests().clear();
+
+        for (int i = 0; i < 5; i++) {
+            nameGeneratorService.generateName();
+        }
+
+        assertThat(server.requests()).isEmpty();
+        assertThat(nameGeneratorService.poolSize()).isEqualTo(3);
+        assertThat(refills).isEmpty();
+    }
+
+    @Test
+    void generateName_refillsBelowLowWaterMarkOnce() {
+        nameGeneratorService.generateName();
+        runRefills();
+
+        for (int i = 0; i < 7; i++) {
+            nameGeneratorService.generateName();
+        }
+
+        assertThat(refills).hasSize(1);
+        runRefills();
+        assertThat(nameGeneratorService.poolSize()).isEqualTo(9);
+        assertThat(server.requests()).last()
+                .satisfies(uri -> assertThat(uri.getQuery()).contains("quantity=8"));
+    }
+
+    @Test
+    void generateName_emptyResponseFallsBackToLocal() {
+        server.respond(uri -> Response.json("[]"));
+
+        assertThat(nameGeneratorService.generateName()).matches("\\w+ \\w+");
     }
 
     @Test
-    void generateName_emptyResponse() {
-        stubChain();
-        when(responseSpec.body(String[].class)).thenReturn(new String[]{});
+    void generateName_apiErrorFallsBackToLocal() {
+        server.respond(uri -> Response.status(503));
 
-        assertThatThrownBy(() -> nameGeneratorService.generateName())
-                .isInstanceOf(ExternalApiException.class)
-                .hasMessageContaining("empty response");
+        assertThat(nameGeneratorService.generateName()).matches("\\w+ \\w+");
     }
 
     @Test
-    void generateName_apiError() {
-        when(restClient.get()).thenThrow(new RestClientException("connection refused"));
+    void generateName_skipsNamesUsedByTheFleet() {
+        shipNameIndex.add("name1");
+        shipNameIndex.add("Name2");
+        nameGeneratorService.generateName();
+        runRefills();
+
+        assertThat(List.of(nameGeneratorService.generateName(), nameGeneratorService.generateName()))
+                .containsExactly("Name3", "Name4");
+    }
+
+    @Test
+    void generateName_localModeNeverCallsTheApi() {
+        NameGeneratorService local = service(NameGeneratorMode.LOCAL);
+
+        assertThat(local.generateName()).isNotBlank();
+        local.prefetch();
 
-        assertThatThrownBy(() -> nameGeneratorService.generateName())
-                .isInstanceOf(ExternalApiException.class)
-                .hasMessageContaining("unavailable");
+        assertThat(server.requests()).isEmpty();
+        assertThat(refills).isEmpty();
+    }
+
+    @Test
+    void refill_failureKeepsServingDirectly() {
+        server.respond(uri -> Response.status(503));
+        assertThat(nameGeneratorService.generateName()).isNotBlank();
+        runRefills();
+
+        server.respond(uri -> Response.json(names(quantity(uri.getQuery()))));
+        assertThat(nameGeneratorService.generateName()).isEqualTo("Name1");
+        assertThat(refills).hasSize(1);
     }
 }
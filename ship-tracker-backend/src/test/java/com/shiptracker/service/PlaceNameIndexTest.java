@@ -0,0 +1,111 @@
+package com.shiptracker.service;
+
+import com.shiptracker.dto.DictionaryRelabeledEvent;
+import com.shiptracker.dto.LocationReportEvent;
+import com.shiptracker.dto.LocationReportResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class PlaceNameIndexTest {
+
+    private static PlaceNameIndex index(List<PortCatalog.Port> catalog) {
+        return index(catalog, InMemoryDictionaries.create());
+    }
+
+    private static PlaceNameIndex index(List<PortCatalog.Port> catalog, Dictionaries dictionaries) {
+        PortCatalog portCatalog = mock(PortCatalog.class);
+        when(portCatalog.ports()).thenReturn(catalog);
+        PlaceNameIndex index = new PlaceNameIndex(mock(JdbcTemplate.class), dictionaries, portCatalog);
+        index.load();
+        return index;
+    }
+
+    @Test
+    void load_ranksCatalogPortsByTrafficWeight() {
+        PlaceNameIndex index = index(new PortCatalog().ports());
+
+        assertThat(index.suggestPorts("", 3)).containsExactly("Shanghai", "Singapore", "Ningbo");
+        assertThat(index.suggestCountries("", 1)).containsExactly("China");
+    }
+
+    @Test
+    void suggest_ignoresCaseAndAccents() {
+        PlaceNameIndex index = index(List.of(
+                new PortCatalog.Port("PLGDN", "Poland", "Gdańsk", 10),
+                new PortCatalog.Port("ISREY", "Iceland", "Reykjavík", 5)));
+
+        assertThat(index.suggestPorts("GDAN", 5)).containsExactly("Gdańsk");
+        assertThat(index.suggestPorts(" gdańs", 5)).containsExactly("Gdańsk");
+        assertThat(index.suggestPorts("reykjavi", 5)).containsExactly("Reykjavík");
+        assertThat(index.suggestCountries("ice", 5)).containsExactly("Iceland");
+        assertThat(index.suggestPorts("Oslo", 5)).isEmpty();
+    }
+
+    @Test
+    void add_mergesSpellingsUnderTheMostUsedOne() {
+        PlaceNameIndex index = index(List.of());
+
+        index.add("Poland", "Gdansk");
+        IntStream.range(0, 3).forEach(i -> index.add("Poland", "Gdańsk"));
+
+        assertThat(index.suggestPorts("gd", 5)).containsExactly("Gdańsk");
+    }
+
+    @Test
+    void add_reranksAfterEarlierLookups() {
+        PlaceNameIndex index = index(List.of(
+                new PortCatalog.Port("PLGDN", "Poland", "Gdańsk", 10),
+                new PortCatalog.Port("PLGDY", "Poland", "Gdynia", 5)));
+        assertThat(index.suggestPorts("gd", 5)).containsExactly("Gdańsk", "Gdynia");
+
+        IntStream.range(0, 6).forEach(i -> index.add("Poland", "Gdynia"));
+
+        assertThat(index.suggestPorts("gd", 5)).containsExactly("Gdynia", "Gdańsk");
+        assertThat(index.suggestPorts("gdy", 5)).containsExactly("Gdynia");
+    }
+
+    @Test
+    void dictionaryRelabel_keepsCountsUnderTheNewLabel() {
+        Dictionaries dictionaries = InMemoryDictionaries.create();
+        dictionaries.countries().idOf("Poland");
+        int gdynia = dictionaries.ports().idOf("Gdynia");
+        PlaceNameIndex index = index(List.of(new PortCatalog.Port("PLGDN", "Poland", "Gdańsk", 2)), dictionaries);
+        IntStream.range(0, 3).forEach(i -> index.add("Poland", "Gdynia"));
+
+        when(dictionaries.ports().label(gdynia)).thenReturn("Gdynia Port");
+        index.onDictionaryRelabeled(new DictionaryRelabeledEvent("ports"));
+
+        assertThat(index.suggestPorts("gd", 5)).containsExactly("Gdynia Port", "Gdańsk");
+    }
+
+    @Test
+    void onReportCreated_countsTheReport() {
+        PlaceNameIndex index = index(List.of(
+                new PortCatalog.Port("PLGDN", "Poland", "Gdańsk", 1),
+                new PortCatalog.Port("PLGDY", "Poland", "Gdynia", 2)));
+
+        index.onReportCreated(new LocationReportEvent(1L,
+                new LocationReportResponse(10L, LocalDate.of(2024, 6, 1), "Poland", "Gdańsk")));
+        index.onReportCreated(new LocationReportEvent(1L,
+                new LocationReportResponse(11L, LocalDate.of(2024, 6, 2), "Poland", "Gdańsk")));
+
+        assertThat(index.suggestPorts("gd", 5)).containsExactly("Gdańsk", "Gdynia");
+    }
+
+    @Test
+    void suggest_capsLimit() {
+        PlaceNameIndex index = index(List.of());
+        IntStream.range(0, 50).forEach(i -> index.add("Country " + i, "Port " + i));
+
+        assertThat(index.suggestPorts("port", 1000)).hasSize(PlaceNameIndex.MAX_SUGGESTIONS);
+        assertThat(index.suggestPorts("port", 0)).hasSize(1);
+    }
+}
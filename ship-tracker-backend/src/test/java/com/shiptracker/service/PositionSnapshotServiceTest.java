@@ -0,0 +1,102 @@
+package com.shiptracker.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shiptracker.entity.LocationReport;
+import com.shiptracker.entity.Ship;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@Import({PositionSnapshotService.class, Dictionaries.class})
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+class PositionSnapshotServiceTest {
+
+    @Autowired
+    private Dictionaries dictionaries;
+
+    @Autowired
+    private TestEntityManager em;
+
+    @Autowired
+    private PositionSnapshotService positionSnapshotService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private Ship atlantic;
+    private Ship pacific;
+
+    @BeforeEach
+    void setUp() {
+        atlantic = persistShip("Atlantic");
+        pacific = persistShip("Pacific");
+        persistReport(atlantic, LocalDate.of(2024, 1, 10), "Gdańsk");
+        persistReport(atlantic, LocalDate.of(2024, 2, 14), "Hamburg");
+        persistReport(atlantic, LocalDate.of(2024, 2, 14), "Rotterdam");
+        persistReport(atlantic, LocalDate.of(2024, 5, 1), "Oslo");
+        persistReport(pacific, LocalDate.of(2024, 3, 1), "Singapore");
+        em.flush();
+    }
+
+    private Ship persistShip(String name) {
+        Ship ship = new Ship();
+        ship.setName(name);
+        ship.setLaunchDate(LocalDate.of(2005, 3, 15));
+        ship.setShipTypeId(dictionaries.shipTypes().idOf("Cargo"));
+        ship.setTonnage(new BigDecimal("45000.00"));
+        return em.persist(ship);
+    }
+
+    private void persistReport(Ship ship, LocalDate date, String port) {
+        LocationReport report = new LocationReport();
+        report.setShip(ship);
+        report.setReportDate(date);
+        report.setCountryId(dictionaries.countries().idOf("Poland"));
+        report.setPortId(dictionaries.ports().idOf(port));
+        em.persist(report);
+    }
+
+    private JsonNode snapshot(LocalDate asOf, long expectedShips) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        assertThat(positionSnapshotService.writePositions(asOf, out)).isEqualTo(expectedShips);
+        return objectMapper.readTree(out.toByteArray());
+    }
+
+    @Test
+    void writePositions_latestReportOnOrBeforeDay() throws Exception {
+        JsonNode positions = snapshot(LocalDate.of(2024, 3, 1), 2);
+
+        assertThat(positions.get(0).get("shipId").asLong()).isEqualTo(atlantic.getId());
+        assertThat(positions.get(0).get("reportDate").asText()).isEqualTo("2024-02-14");
+        // Same day: the later report wins
+        assertThat(positions.get(0).get("port").asText()).isEqualTo("Rotterdam");
+        assertThat(positions.get(1).get("shipId").asLong()).isEqualTo(pacific.getId());
+        assertThat(positions.get(1).get("port").asText()).isEqualTo("Singapore");
+    }
+
+    @Test
+    void writePositions_leavesOutShipsWithoutReportsYet() throws Exception {
+        JsonNode positions = snapshot(LocalDate.of(2024, 1, 31), 1);
+
+        assertThat(positions.get(0).get("shipId").asLong()).isEqualTo(atlantic.getId());
+        assertThat(positions.get(0).get("port").asText()).isEqualTo("Gdańsk");
+    }
+
+    @Test
+    void writePositions_emptyBeforeAnyReport() throws Exception {
+        assertThat(snapshot(LocalDate.of(2023, 12, 31), 0)).isEmpty();
+    }
+}
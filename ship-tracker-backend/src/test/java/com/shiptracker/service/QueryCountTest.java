@@ -0,0 +1,112 @@
+package com.shiptracker.service;
+
+import com.shiptracker.config.DataSourceProxyPostProcessor;
+import com.shiptracker.dto.ShipFilter;
+import com.shiptracker.entity.LocationReport;
+import com.shiptracker.entity.Ship;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static com.shiptracker.support.QueryCount.assertAtMost;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// Guards the read paths against N+1 regressions: statement counts must not grow with the number of rows
+@DataJpaTest
+@Import({DataSourceProxyPostProcessor.class, ShipService.class, LocationReportService.class,
+        ShipPositionService.class, Dictionaries.class})
+class QueryCountTest {
+
+    private static final int SHIPS = 30;
+    private static final int REPORTS_PER_SHIP = 3;
+
+    @Autowired
+    private TestEntityManager em;
+
+    @Autowired
+    private ShipService shipService;
+
+    @Autowired
+    private LocationReportService locationReportService;
+
+    @Autowired
+    private ShipPositionService shipPositionService;
+
+    @Autowired
+    private Dictionaries dictionaries;
+
+    @MockitoBean
+    private ShipNameIndex shipNameIndex;
+
+    private Long firstShipId;
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < SHIPS; i++) {
+            Ship ship = new Ship();
+            ship.setName("Ship " + i);
+            ship.setLaunchDate(LocalDate.of(2000, 1, 1));
+            ship.setShipTypeId(dictionaries.shipTypes().idOf("Cargo"));
+            ship.setTonnage(new BigDecimal("1000.00"));
+            em.persist(ship);
+            if (firstShipId == null) {
+                firstShipId = ship.getId();
+            }
+            for (int r = 0; r < REPORTS_PER_SHIP; r++) {
+                LocationReport report = new LocationReport();
+                report.setShip(ship);
+                report.setReportDate(LocalDate.of(2024, 1, 1).plusDays(r));
+                report.setCountryId(dictionaries.countries().idOf("Poland"));
+                report.setPortId(dictionaries.ports().idOf("Gdansk"));
+                em.persist(report);
+            }
+        }
+        em.flush();
+        em.clear();
+    }
+
+    @Test
+    void findPage_singleStatementForTheWholePage() {
+        var page = assertAtMost(1, () -> shipService.findPage(ShipFilter.none(), "name", null, 50));
+
+        assertThat(page.items()).hasSize(SHIPS)
+                .allSatisfy(ship -> assertThat(ship.reportCount()).isEqualTo(REPORTS_PER_SHIP));
+    }
+
+    @Test
+    void findById_singleStatement() {
+        assertAtMost(1, () -> shipService.findById(firstShipId));
+    }
+
+    @Test
+    void findReportsByShipId_independentOfReportCount() {
+        var reports = assertAtMost(2, () -> locationReportService.findByShipId(firstShipId, null, null));
+
+        assertThat(reports).hasSize(REPORTS_PER_SHIP);
+    }
+
+    @Test
+    void findPositions_singleStatementForTheWholeFleet() {
+        shipPositionService.rebuild();
+
+        var positions = assertAtMost(1, () -> shipPositionService.findAll());
+
+        assertThat(positions).hasSize(SHIPS)
+                .allSatisfy(position -> assertThat(position.reportDate()).isEqualTo(LocalDate.of(2024, 1, 3)));
+    }
+
+    @Test
+    void assertAtMost_failsWhenBudgetIsExceeded() {
+        assertThatThrownBy(() -> assertAtMost(0, () -> shipService.findById(firstShipId)))
+                .isInstanceOf(AssertionError.class)
+                .hasMessageContaining("SQL statements executed");
+    }
+}
@@ -0,0 +1,122 @@
+package com.shiptracker.service;
+
+import com.shiptracker.config.AppConfig;
+import com.shiptracker.config.OutboundHttpProperties;
+import com.shiptracker.exception.ExternalApiException;
+import com.shiptracker.support.StubHttpServer;
+import com.shiptracker.support.StubHttpServer.Response;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.RestClient;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RandommerClientTest {
+
+    private final StubHttpServer server = new StubHttpServer();
+    private final AppConfig appConfig = new AppConfig();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    static OutboundHttpProperties properties() {
+        return new OutboundHttpProperties(Duration.ofSeconds(1), Duration.ofMillis(500), Duration.ofSeconds(1),
+                2, Duration.ZERO, 50, 4, 4, Duration.ofMinutes(1));
+    }
+
+    private RandommerClient client(OutboundHttpProperties properties) {
+        RestClient restClient = appConfig.restClient(RestClient.builder(),
+                appConfig.outboundHttpClient(properties), properties);
+        return new RandommerClient(restClient,
+                appConfig.nameGeneratorCircuitBreaker(properties, meterRegistry),
+                appConfig.nameGeneratorBulkhead(properties, meterRegistry),
+                meterRegistry, properties, "test-key", server.url("/api/Name"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.close();
+    }
+
+    @Test
+    void fetchSurnames_requestsQuantity() {
+        server.respond(uri -> Response.json("[\"Atlantic\",\"Pacific\"]"));
+
+        assertThat(client(properties()).fetchSurnames(2)).containsExactly("Atlantic", "Pacific");
+        assertThat(server.requests()).singleElement()
+                .satisfies(uri -> assertThat(uri.getQuery()).isEqualTo("nameType=surname&quantity=2"));
+        assertThat(requests("success").count()).isEqualTo(1);
+    }
+
+    @Test
+    void fetchSurnames_slowResponseHitsDeadline() {
+        server.respond(uri -> Response.json("[\"Atlantic\"]").delayedBy(Duration.ofSeconds(3)));
+        RandommerClient client = client(properties());
+
+        long start = System.nanoTime();
+        assertThatThrownBy(() -> client.fetchSurnames(1))
+                .isInstanceOf(ExternalApiException.class)
+                .hasMessageContaining("unavailable");
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(2));
+        assertThat(requests("timeout").count()).isEqualTo(1);
+    }
+
+    @Test
+    void fetchSurnames_circuitOpensAfterFailures() {
+        server.respond(uri -> Response.status(500));
+        RandommerClient client = client(properties());
+
+        for (int i = 0; i < 4; i++) {
+            assertThatThrownBy(() -> client.fetchSurnames(1)).isInstanceOf(ExternalApiException.class);
+        }
+
+        assertThatThrownBy(() -> client.fetchSurnames(1))
+                .isInstanceOf(ExternalApiException.class)
+                .hasMessageContaining("circuit open");
+        assertThat(server.requests()).hasSize(4);
+        assertThat(meterRegistry.get("resilience4j.circuitbreaker.state")
+                .tag("name", AppConfig.NAME_GENERATOR).tag("state", "open").gauge().value()).isEqualTo(1);
+        assertThat(requests("error").count()).isEqualTo(4);
+        assertThat(requests("circuit_open").count()).isEqualTo(1);
+    }
+
+    @Test
+    void fetchSurnames_bulkheadRejectsExcessCalls() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        server.respond(uri -> {
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            return Response.json("[\"Atlantic\"]");
+        });
+        RandommerClient client = client(properties());
+
+        CompletableFuture<?> first = CompletableFuture.runAsync(() -> client.fetchSurnames(1));
+        CompletableFuture<?> second = CompletableFuture.runAsync(() -> client.fetchSurnames(1));
+        while (server.requests().size() < 2) {
+            Thread.onSpinWait();
+        }
+
+        assertThatThrownBy(() -> client.fetchSurnames(1))
+                .isInstanceOf(ExternalApiException.class)
+                .hasMessageContaining("too many concurrent calls");
+        release.countDown();
+        CompletableFuture.allOf(first, second).get(5, TimeUnit.SECONDS);
+        assertThat(requests("bulkhead_full").count()).isEqualTo(1);
+        assertThat(requests("success").count()).isEqualTo(2);
+    }
+
+    private Timer requests(String outcome) {
+        return meterRegistry.get("name.generator.requests").tag("outcome", outcome).timer();
+    }
+}
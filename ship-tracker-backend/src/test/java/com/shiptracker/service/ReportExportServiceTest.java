@@ -0,0 +1,92 @@
+package com.shiptracker.service;
+
+import com.shiptracker.entity.LocationReport;
+import com.shiptracker.entity.Ship;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest
+@Import({ReportExportService.class, Dictionaries.class})
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+class ReportExportServiceTest {
+
+    @Autowired
+    private Dictionaries dictionaries;
+
+    @Autowired
+    private TestEntityManager em;
+
+    @Autowired
+    private ReportExportService reportExportService;
+
+    @BeforeEach
+    void setUp() {
+        Ship ship = new Ship();
+        ship.setName("Atlantic, \"Pioneer\"");
+        ship.setLaunchDate(LocalDate.of(2005, 3, 15));
+        ship.setShipTypeId(dictionaries.shipTypes().idOf("Cargo"));
+        ship.setTonnage(new BigDecimal("45000.00"));
+        em.persist(ship);
+        persistReport(ship, LocalDate.of(2024, 2, 14), "Germany", "Hamburg");
+        persistReport(ship, LocalDate.of(2024, 1, 10), "Poland", "Gdańsk");
+        em.flush();
+    }
+
+    private void persistReport(Ship ship, LocalDate date, String country, String port) {
+        LocationReport report = new LocationReport();
+        report.setShip(ship);
+        report.setReportDate(date);
+        report.setCountryId(dictionaries.countries().idOf(country));
+        report.setPortId(dictionaries.ports().idOf(port));
+        em.persist(report);
+    }
+
+    private String export(ExportFormat format, LocalDate since) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        reportExportService.exportReports(format, since, out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void exportReports_ndjson() throws Exception {
+        String[] lines = export(ExportFormat.NDJSON, null).split("\n");
+
+        assertThat(lines).hasSize(2);
+        assertThat(lines[0]).startsWith("{\"shipId\":")
+                .contains("\"shipName\":\"Atlantic, \\\"Pioneer\\\"\"")
+                .contains("\"reportDate\":\"2024-01-10\"")
+                .contains("\"port\":\"Gdańsk\"");
+        assertThat(lines[1]).contains("\"reportDate\":\"2024-02-14\"");
+    }
+
+    @Test
+    void exportReports_csvWithSince() throws Exception {
+        String[] lines = export(ExportFormat.CSV, LocalDate.of(2024, 2, 1)).split("\n");
+
+        assertThat(lines).hasSize(2);
+        assertThat(lines[0]).isEqualTo("ship_id,ship_name,ship_type,report_id,report_date,country,port");
+        assertThat(lines[1]).contains(",\"Atlantic, \"\"Pioneer\"\"\",Cargo,")
+                .endsWith(",2024-02-14,Germany,Hamburg");
+    }
+
+    @Test
+    void fromParam_unsupported() {
+        assertThat(ExportFormat.fromParam("CSV")).isEqualTo(ExportFormat.CSV);
+        assertThatThrownBy(() -> ExportFormat.fromParam("xml"))
+                .hasMessageContaining("xml");
+    }
+}
@@ -0,0 +1,33 @@
+package com.shiptracker.service;
+
+import com.shiptracker.service.ReportStreamService.Outgoing;
+import com.shiptracker.service.ReportStreamService.Subscriber;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReportStreamServiceTest {
+
+    @Test
+    void subscriber_filtersByShip() {
+        Subscriber all = new Subscriber(new SseEmitter(), Set.of(), 4);
+        Subscriber filtered = new Subscriber(new SseEmitter(), Set.of(1L, 2L), 4);
+
+        assertThat(all.accepts(7L)).isTrue();
+        assertThat(filtered.accepts(2L)).isTrue();
+        assertThat(filtered.accepts(7L)).isFalse();
+    }
+
+    @Test
+    void subscriber_dropsWhenBufferFull() {
+        Subscriber subscriber = new Subscriber(new SseEmitter(), Set.of(), 2);
+
+        assertThat(subscriber.offer(new Outgoing(1L, "{}"))).isTrue();
+        assertThat(subscriber.offer(new Outgoing(2L, "{}"))).isTrue();
+        assertThat(subscriber.offer(new Outgoing(3L, "{}"))).isFalse();
+        assertThat(subscriber.pendingDrops()).isEqualTo(1);
+    }
+}
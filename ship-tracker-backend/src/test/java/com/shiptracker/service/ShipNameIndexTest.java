@@ -0,0 +1,62 @@
+package com.shiptracker.service;
+
+import com.shiptracker.repository.ShipRepository;
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ShipNameIndexTest {
+
+    @Test
+    void load_indexesExistingNames() {
+        ShipRepository shipRepository = mock(ShipRepository.class);
+        when(shipRepository.streamAllNames()).thenReturn(Stream.of("Atlantic Pioneer", "Baltic Star"));
+        ShipNameIndex index = new ShipNameIndex(shipRepository, 100, 0.01);
+
+        index.load();
+
+        assertThat(index.contains("atlantic pioneer")).isTrue();
+        assertThat(index.contains(" Baltic Star ")).isTrue();
+        assertThat(index.contains("Coral Reef")).isFalse();
+    }
+
+    @Test
+    void rename_releasesOldNameOnlyWhenUnused() {
+        ShipNameIndex index = new ShipNameIndex(null, 100, 0.01);
+        index.add("Atlantic");
+        index.add("Atlantic");
+
+        index.rename("Atlantic", "Pacific");
+        assertThat(index.contains("Atlantic")).isTrue();
+
+        index.rename("Atlantic", "Baltic");
+        assertThat(index.contains("Atlantic")).isFalse();
+        assertThat(index.contains("Pacific")).isTrue();
+        assertThat(index.contains("Baltic")).isTrue();
+    }
+
+    @Test
+    void add_growsPastExpectedSizeWithoutLosingNames() {
+        ShipNameIndex index = new ShipNameIndex(null, 16, 0.01);
+
+        IntStream.range(0, 1000).forEach(i -> index.add("Ship " + i));
+
+        assertThat(IntStream.range(0, 1000)).allMatch(i -> index.contains("Ship " + i));
+        assertThat(IntStream.range(1000, 2000).filter(i -> index.contains("Ship " + i))).isEmpty();
+    }
+
+    @Test
+    void bloomFilter_falsePositiveRateNearTarget() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        IntStream.range(0, 10_000).forEach(i -> filter.put("present-" + i));
+
+        assertThat(IntStream.range(0, 10_000)).allMatch(i -> filter.mightContain("present-" + i));
+        long falsePositives = IntStream.range(0, 100_000).filter(i -> filter.mightContain("absent-" + i)).count();
+        assertThat(falsePositives).isLessThan(2_000);
+    }
+}
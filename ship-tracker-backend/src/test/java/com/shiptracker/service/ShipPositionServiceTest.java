@@ -0,0 +1,165 @@
+package com.shiptracker.service;
+
+import com.shiptracker.dto.LocationReportRequest;
+import com.shiptracker.dto.ShipPositionResponse;
+import com.shiptracker.entity.LocationReport;
+import com.shiptracker.entity.Ship;
+import com.shiptracker.entity.ShipLatestPosition;
+import com.shiptracker.repository.ShipLatestPositionRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@Import({ShipPositionService.class, LocationReportService.class, Dictionaries.class})
+class ShipPositionServiceTest {
+
+    @Autowired
+    private Dictionaries dictionaries;
+
+    @Autowired
+    private TestEntityManager em;
+
+    @Autowired
+    private ShipPositionService shipPositionService;
+
+    @Autowired
+    private LocationReportService locationReportService;
+
+    @Autowired
+    private ShipLatestPositionRepository shipLatestPositionRepository;
+
+    private Ship persistShip(String name) {
+        Ship ship = new Ship();
+        ship.setName(name);
+        ship.setLaunchDate(LocalDate.of(2010, 1, 1));
+        ship.setShipTypeId(dictionaries.shipTypes().idOf("Cargo"));
+        ship.setTonnage(new BigDecimal("5000.00"));
+        return em.persist(ship);
+    }
+
+    private void persistReport(Ship ship, LocalDate date, String port) {
+        LocationReport report = new LocationReport();
+        report.setShip(ship);
+        report.setReportDate(date);
+        report.setCountryId(dictionaries.countries().idOf("Poland"));
+        report.setPortId(dictionaries.ports().idOf(port));
+        em.persist(report);
+    }
+
+    private void create(Ship ship, LocalDate date, String port) {
+        locationReportService.create(ship.getId(), new LocationReportRequest(date, "Poland", port));
+        em.flush();
+    }
+
+    @Test
+    void create_firstReportSetsPosition() {
+        Ship ship = persistShip("Atlantic");
+
+        create(ship, LocalDate.of(2024, 3, 1), "Gdansk");
+
+        assertThat(shipPositionService.findAll()).singleElement()
+                .satisfies(position -> {
+                    assertThat(position.shipId()).isEqualTo(ship.getId());
+                    assertThat(position.reportDate()).isEqualTo(LocalDate.of(2024, 3, 1));
+                    assertThat(position.port()).isEqualTo("Gdansk");
+                });
+    }
+
+    @Test
+    void create_onlyNewerReportsMovePosition() {
+        Ship ship = persistShip("Atlantic");
+        create(ship, LocalDate.of(2024, 3, 1), "Gdansk");
+
+        create(ship, LocalDate.of(2024, 2, 1), "Hamburg");
+        assertThat(shipPositionService.findAll()).extracting(ShipPositionResponse::port).containsExactly("Gdansk");
+
+        create(ship, LocalDate.of(2024, 3, 1), "Gdynia");
+        assertThat(shipPositionService.findAll()).extracting(ShipPositionResponse::port).containsExactly("Gdynia");
+
+        create(ship, LocalDate.of(2024, 4, 1), "Oslo");
+        assertThat(shipPositionService.findAll()).extracting(ShipPositionResponse::port).containsExactly("Oslo");
+    }
+
+    @Test
+    void create_backdatedReportMovesHistoryStart() {
+        Ship ship = persistShip("Atlantic");
+        create(ship, LocalDate.of(2024, 3, 1), "Gdansk");
+        create(ship, LocalDate.of(2024, 4, 1), "Oslo");
+        assertThat(firstReportDate(ship)).isEqualTo(LocalDate.of(2024, 3, 1));
+
+        create(ship, LocalDate.of(2023, 11, 1), "Hamburg");
+
+        assertThat(firstReportDate(ship)).isEqualTo(LocalDate.of(2023, 11, 1));
+        assertThat(shipPositionService.findAll()).extracting(ShipPositionResponse::port).containsExactly("Oslo");
+    }
+
+    private LocalDate firstReportDate(Ship ship) {
+        em.clear();
+        return shipLatestPositionRepository.findById(ship.getId())
+                .map(ShipLatestPosition::getFirstReportDate)
+                .orElseThrow();
+    }
+
+    @Test
+    void rebuild_recomputesEveryShip() {
+        Ship atlantic = persistShip("Atlantic");
+        Ship pacific = persistShip("Pacific");
+        persistShip("Without Reports");
+        persistReport(atlantic, LocalDate.of(2024, 1, 1), "Gdansk");
+        persistReport(atlantic, LocalDate.of(2024, 5, 1), "Hamburg");
+        persistReport(atlantic, LocalDate.of(2024, 3, 1), "Oslo");
+        persistReport(pacific, LocalDate.of(2023, 7, 1), "Rotterdam");
+        em.flush();
+
+        assertThat(shipPositionService.rebuild().ships()).isEqualTo(2);
+
+        List<ShipPositionResponse> positions = shipPositionService.findAll();
+        assertThat(positions).extracting(ShipPositionResponse::shipId).containsExactly(atlantic.getId(), pacific.getId());
+        assertThat(positions).extracting(ShipPositionResponse::port).containsExactly("Hamburg", "Rotterdam");
+        assertThat(firstReportDate(atlantic)).isEqualTo(LocalDate.of(2024, 1, 1));
+    }
+
+    @Test
+    void rebuild_givenShipsLeavesOthersAlone() {
+        Ship atlantic = persistShip("Atlantic");
+        Ship pacific = persistShip("Pacific");
+        create(atlantic, LocalDate.of(2024, 1, 1), "Gdansk");
+        create(pacific, LocalDate.of(2024, 1, 1), "Oslo");
+        persistReport(atlantic, LocalDate.of(2024, 6, 1), "Hamburg");
+        persistReport(pacific, LocalDate.of(2024, 6, 1), "Rotterdam");
+        em.flush();
+
+        shipPositionService.rebuild(List.of(atlantic.getId()));
+
+        assertThat(shipPositionService.findAll()).extracting(ShipPositionResponse::port)
+                .containsExactly("Hamburg", "Oslo");
+    }
+
+    @Test
+    void rebuild_manyShipsInChunks() {
+        Ship atlantic = persistShip("Atlantic");
+        Ship pacific = persistShip("Pacific");
+        persistReport(atlantic, LocalDate.of(2024, 6, 1), "Hamburg");
+        persistReport(pacific, LocalDate.of(2024, 6, 1), "Rotterdam");
+        em.flush();
+        List<Long> shipIds = new ArrayList<>(LongStream.rangeClosed(1_000_000, 1_002_500).boxed().toList());
+        shipIds.add(0, atlantic.getId());
+        shipIds.add(pacific.getId());
+
+        shipPositionService.rebuild(shipIds);
+
+        assertThat(shipPositionService.findAll()).extracting(ShipPositionResponse::port)
+                .containsExactly("Hamburg", "Rotterdam");
+    }
+}
@@ -0,0 +1,151 @@
+package com.shiptracker.service;
+
+import com.shiptracker.config.CacheConfig;
+import com.shiptracker.dto.DictionaryRelabeledEvent;
+import com.shiptracker.dto.ShipFilter;
+import com.shiptracker.dto.ShipRequest;
+import com.shiptracker.dto.ShipResponse;
+import com.shiptracker.entity.Ship;
+import com.shiptracker.repository.ShipRepository;
+import com.shiptracker.repository.ShipSummary;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest(classes = {CacheConfig.class, ShipService.class, ShipCacheEvictor.class},
+        webEnvironment = SpringBootTest.WebEnvironment.NONE)
+class ShipServiceCachingTest {
+
+    @Autowired
+    private ShipService shipService;
+
+    @Autowired
+    private ShipCacheEvictor shipCacheEvictor;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @MockitoBean
+    private ShipRepository shipRepository;
+
+    @MockitoBean
+    private ShipNameIndex shipNameIndex;
+
+    @MockitoBean
+    private Dictionaries dictionaries;
+
+    private int cargo;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+        reset(shipRepository);
+        InMemoryDictionaries.stub(dictionaries);
+        cargo = dictionaries.shipTypes().idOf("Cargo");
+    }
+
+    // Each report bumps the version, so a ship that was never edited is at its report count
+    private ShipSummary summary(long reportCount) {
+        return new ShipSummary(1L, "Atlantic", LocalDate.of(2000, 1, 1), cargo,
+                new BigDecimal("1000.00"), reportCount, reportCount);
+    }
+
+    @Test
+    void findById_servedFromCache() {
+        when(shipRepository.findSummaryById(1L)).thenReturn(Optional.of(summary(0)));
+
+        shipService.findById(1L);
+        shipService.findById(1L);
+
+        verify(shipRepository, times(1)).findSummaryById(1L);
+    }
+
+    @Test
+    void findPage_evictedOnCreate() {
+        when(shipRepository.findPage(any(), any(), any(), anyInt())).thenReturn(List.of());
+        when(shipRepository.save(any(Ship.class))).thenAnswer(inv -> {
+            Ship ship = inv.getArgument(0);
+            ReflectionTestUtils.setField(ship, "id", 2L);
+            return ship;
+        });
+
+        shipService.findPage(ShipFilter.none(), "name", null, 50);
+        shipService.findPage(ShipFilter.none(), "name", null, 50);
+        shipService.create(new ShipRequest("Baltic", LocalDate.of(2000, 1, 1), "Cargo", new BigDecimal("1.00")));
+        shipService.findPage(ShipFilter.none(), "name", null, 50);
+
+        verify(shipRepository, times(2)).findPage(any(), any(), any(), anyInt());
+    }
+
+    @Test
+    void findById_evictedByUpdate() {
+        Ship ship = new Ship();
+        ReflectionTestUtils.setField(ship, "id", 1L);
+        when(shipRepository.findSummaryById(1L)).thenReturn(Optional.of(summary(0)));
+        when(shipRepository.findById(1L)).thenReturn(Optional.of(ship));
+        when(shipRepository.saveAndFlush(any(Ship.class))).thenAnswer(inv -> inv.getArgument(0));
+
+        shipService.findById(1L);
+        shipService.update(1L, new ShipRequest("Renamed", LocalDate.of(2000, 1, 1), "Cargo", new BigDecimal("1.00")), null);
+        shipService.findById(1L);
+
+        verify(shipRepository, times(2)).findSummaryById(1L);
+    }
+
+    @Test
+    void refresh_replacesEntry() {
+        when(shipRepository.findSummaryById(1L)).thenReturn(Optional.of(summary(0)));
+        shipService.findById(1L);
+
+        when(shipRepository.findSummaryById(1L)).thenReturn(Optional.of(summary(1)));
+        shipService.refresh(1L);
+
+        Versioned<ShipResponse> cached = shipService.findById(1L);
+        assertThat(cached.version()).isEqualTo(1L);
+        assertThat(cached.body().reportCount()).isEqualTo(1);
+        verify(shipRepository, times(2)).findSummaryById(1L);
+    }
+
+    @Test
+    void evictShips_dropsEntry() {
+        when(shipRepository.findSummaryById(1L)).thenReturn(Optional.of(summary(0)));
+
+        shipService.findById(1L);
+        shipCacheEvictor.evictShips(List.of(1L));
+        shipService.findById(1L);
+
+        verify(shipRepository, times(2)).findSummaryById(1L);
+    }
+
+    @Test
+    void dictionaryRelabel_dropsEveryEntry() {
+        when(shipRepository.findSummaryById(1L)).thenReturn(Optional.of(summary(0)));
+
+        shipService.findById(1L);
+        eventPublisher.publishEvent(new DictionaryRelabeledEvent("ship_types"));
+        shipService.findById(1L);
+
+        verify(shipRepository, times(2)).findSummaryById(1L);
+    }
+}
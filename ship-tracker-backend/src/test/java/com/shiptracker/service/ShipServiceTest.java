@@ -1,20 +1,30 @@
 package com.shiptracker.service;
 
+import com.shiptracker.dto.CursorPage;
+import com.shiptracker.dto.ShipFilter;
 import com.shiptracker.dto.ShipRequest;
 import com.shiptracker.dto.ShipResponse;
 import com.shiptracker.entity.Ship;
+import com.shiptracker.exception.BadRequestException;
+import com.shiptracker.exception.PreconditionFailedException;
 import com.shiptracker.exception.ResourceNotFoundException;
+import com.shiptracker.repository.ShipKeyset;
 import com.shiptracker.repository.ShipRepository;
+import com.shiptracker.repository.ShipSort;
+import com.shiptracker.repository.ShipSortField;
+import com.shiptracker.repository.ShipSummary;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
-import org.springframework.data.domain.Sort;
 import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
 
 import java.util.List;
 import java.util.Optional;
@@ -22,6 +32,11 @@ import java.util.Optional;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -30,70 +45,147 @@ class ShipServiceTest {
     @Mock
     private ShipRepository shipRepository;
 
-    @InjectMocks
+    @Mock
+    private ShipNameIndex shipNameIndex;
+
+    private final Dictionaries dictionaries = InMemoryDictionaries.create();
+
+    private final int cargo = dictionaries.shipTypes().idOf("Cargo");
+
     private ShipService shipService;
 
-    private Ship buildShip(Long id, String name, int reportCount) {
+    @BeforeEach
+    void setUp() {
+        shipService = new ShipService(shipRepository, shipNameIndex, dictionaries);
+    }
+
+    private Ship buildShip(Long id, String name) {
         Ship ship = new Ship();
         ReflectionTestUtils.setField(ship, "id", id);
         ship.setName(name);
         ship.setLaunchDate(LocalDate.of(2000, 1, 1));
-        ship.setShipType("Cargo");
+        ship.setShipTypeId(cargo);
         ship.setTonnage(new BigDecimal("1000.00"));
-        // locationReports is empty ArrayList by default (size() == reportCount only when need to add them)
-        // for simplicity reportCount is modelled via the default empty list (size == 0) or populated list
-        for (int i = 0; i < reportCount; i++) {
-            ship.getLocationReports().add(null); // placeholder to inflate size
-        }
         return ship;
     }
 
+    /** Runs {@code write} as if in a transaction that ends with {@code status}. */
+    private static void inTransaction(Runnable write, int status) {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            write.run();
+        } finally {
+            List<TransactionSynchronization> synchronizations =
+                    TransactionSynchronizationManager.getSynchronizations();
+            if (status == TransactionSynchronization.STATUS_COMMITTED) {
+                TransactionSynchronizationUtils.invokeAfterCommit(synchronizations);
+            }
+            TransactionSynchronizationUtils.invokeAfterCompletion(synchronizations, status);
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private ShipSummary buildSummary(Long id, String name, long reportCount) {
+        return new ShipSummary(id, name, LocalDate.of(2000, 1, 1), cargo,
+                new BigDecimal("1000.00"), reportCount, 5L);
+    }
+
     private ShipRequest buildRequest(String name) {
         return new ShipRequest(name, LocalDate.of(2000, 1, 1), "Cargo", new BigDecimal("1000.00"));
     }
 
-    // --- findAll ---
+    // --- findPage ---
 
     @Test
-    void findAll_whenEmpty() {
-        when(shipRepository.findAll(any(Sort.class))).thenReturn(List.of());
+    void findPage_whenEmpty() {
+        when(shipRepository.findPage(any(ShipFilter.class), eq(ShipSort.DEFAULT), isNull(), eq(51)))
+                .thenReturn(List.of());
 
-        List<ShipResponse> result = shipService.findAll();
+        CursorPage<ShipResponse> result = shipService.findPage(ShipFilter.none(), "name", null, 50);
 
-        assertThat(result).isEmpty();
+        assertThat(result.items()).isEmpty();
+        assertThat(result.nextCursor()).isNull();
     }
 
     @Test
-    void findAll_whenShipsExist() {
-        Ship ship = buildShip(1L, "Atlantic", 3);
-        when(shipRepository.findAll(any(Sort.class))).thenReturn(List.of(ship));
+    void findPage_lastPage() {
+        when(shipRepository.findPage(any(ShipFilter.class), eq(ShipSort.DEFAULT), isNull(), eq(51)))
+                .thenReturn(List.of(buildSummary(1L, "Atlantic", 3)));
 
-        List<ShipResponse> result = shipService.findAll();
+        CursorPage<ShipResponse> result = shipService.findPage(ShipFilter.none(), "name", null, 50);
 
-        assertThat(result).hasSize(1);
-        ShipResponse response = result.getFirst();
+        assertThat(result.items()).hasSize(1);
+        ShipResponse response = result.items().getFirst();
         assertThat(response.id()).isEqualTo(1L);
         assertThat(response.name()).isEqualTo("Atlantic");
         assertThat(response.shipType()).isEqualTo("Cargo");
         assertThat(response.reportCount()).isEqualTo(3);
+        assertThat(result.nextCursor()).isNull();
+    }
+
+    @Test
+    void findPage_cursorRoundTrip() {
+        when(shipRepository.findPage(any(ShipFilter.class), eq(ShipSort.DEFAULT), isNull(), eq(3)))
+                .thenReturn(List.of(
+                        buildSummary(1L, "Atlantic", 0),
+                        buildSummary(2L, "Baltic", 0),
+                        buildSummary(3L, "Caspian", 0)));
+
+        CursorPage<ShipResponse> first = shipService.findPage(ShipFilter.none(), "name", null, 2);
+
+        assertThat(first.items()).extracting(ShipResponse::name).containsExactly("Atlantic", "Baltic");
+        assertThat(first.nextCursor()).isNotNull();
+
+        when(shipRepository.findPage(any(ShipFilter.class), eq(ShipSort.DEFAULT),
+                eq(new ShipKeyset("Baltic", 2L)), eq(3)))
+                .thenReturn(List.of(buildSummary(3L, "Caspian", 0)));
+
+        CursorPage<ShipResponse> second = shipService.findPage(ShipFilter.none(), "name", first.nextCursor(), 2);
+
+        assertThat(second.items()).extracting(ShipResponse::name).containsExactly("Caspian");
+        assertThat(second.nextCursor()).isNull();
+    }
+
+    @Test
+    void findPage_limitIsCapped() {
+        ShipSort byTonnageDesc = new ShipSort(ShipSortField.TONNAGE, true);
+        when(shipRepository.findPage(any(ShipFilter.class), eq(byTonnageDesc), isNull(),
+                eq(ShipService.MAX_PAGE_SIZE + 1)))
+                .thenReturn(List.of());
+
+        assertThat(shipService.findPage(ShipFilter.none(), "-tonnage", null, 10_000).items()).isEmpty();
+    }
+
+    @Test
+    void findPage_invalidSort() {
+        assertThatThrownBy(() -> shipService.findPage(ShipFilter.none(), "password", null, 10))
+                .isInstanceOf(BadRequestException.class);
+    }
+
+    @Test
+    void findPage_invalidCursor() {
+        assertThatThrownBy(() -> shipService.findPage(ShipFilter.none(), "name", "not-a-cursor", 10))
+                .isInstanceOf(BadRequestException.class);
     }
 
     // --- findById ---
 
     @Test
     void findById_found() {
-        Ship ship = buildShip(1L, "Atlantic", 0);
-        when(shipRepository.findById(1L)).thenReturn(Optional.of(ship));
+        when(shipRepository.findSummaryById(1L)).thenReturn(Optional.of(buildSummary(1L, "Atlantic", 2)));
 
-        ShipResponse response = shipService.findById(1L);
+        Versioned<ShipResponse> ship = shipService.findById(1L);
 
+        assertThat(ship.version()).isEqualTo(5L);
+        ShipResponse response = ship.body();
         assertThat(response.id()).isEqualTo(1L);
         assertThat(response.name()).isEqualTo("Atlantic");
+        assertThat(response.reportCount()).isEqualTo(2);
     }
 
     @Test
     void findById_notFound() {
-        when(shipRepository.findById(99L)).thenReturn(Optional.empty());
+        when(shipRepository.findSummaryById(99L)).thenReturn(Optional.empty());
 
         assertThatThrownBy(() -> shipService.findById(99L))
                 .isInstanceOf(ResourceNotFoundException.class)
@@ -105,34 +197,76 @@ class ShipServiceTest {
     @Test
     void create() {
         ShipRequest request = buildRequest("Atlantic");
-        Ship saved = buildShip(1L, "Atlantic", 0);
+        Ship saved = buildShip(1L, "Atlantic");
         when(shipRepository.save(any(Ship.class))).thenReturn(saved);
 
         ShipResponse response = shipService.create(request);
 
         assertThat(response.id()).isEqualTo(1L);
         assertThat(response.name()).isEqualTo("Atlantic");
+        assertThat(response.reportCount()).isZero();
+        verify(shipNameIndex).add("Atlantic");
+    }
+
+    @Test
+    void create_indexesNameOnlyOnCommit() {
+        when(shipRepository.save(any(Ship.class))).thenReturn(buildShip(1L, "Atlantic"));
+
+        inTransaction(() -> shipService.create(buildRequest("Atlantic")),
+                TransactionSynchronization.STATUS_ROLLED_BACK);
+        verifyNoInteractions(shipNameIndex);
+
+        inTransaction(() -> shipService.create(buildRequest("Atlantic")),
+                TransactionSynchronization.STATUS_COMMITTED);
+        verify(shipNameIndex).add("Atlantic");
     }
 
     // --- update ---
 
     @Test
     void update_found() {
-        Ship existing = buildShip(1L, "OldName", 0);
-        Ship saved = buildShip(1L, "NewName", 0);
+        Ship existing = buildShip(1L, "OldName");
+        Ship saved = buildShip(1L, "NewName");
         when(shipRepository.findById(1L)).thenReturn(Optional.of(existing));
-        when(shipRepository.save(existing)).thenReturn(saved);
+        ReflectionTestUtils.setField(saved, "version", 1L);
+        when(shipRepository.saveAndFlush(existing)).thenReturn(saved);
+        when(shipRepository.countReportsByShipId(1L)).thenReturn(4L);
+
+        Versioned<ShipResponse> response = shipService.update(1L, buildRequest("NewName"), 0L);
+
+        assertThat(response.body().name()).isEqualTo("NewName");
+        assertThat(response.body().reportCount()).isEqualTo(4);
+        assertThat(response.version()).isEqualTo(1L);
+        verify(shipNameIndex).rename("OldName", "NewName");
+    }
+
+    @Test
+    void update_keepsOldNameIndexedOnRollback() {
+        when(shipRepository.findById(1L)).thenReturn(Optional.of(buildShip(1L, "OldName")));
+        when(shipRepository.saveAndFlush(any(Ship.class))).thenReturn(buildShip(1L, "NewName"));
 
-        ShipResponse response = shipService.update(1L, buildRequest("NewName"));
+        inTransaction(() -> shipService.update(1L, buildRequest("NewName"), null),
+                TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        verify(shipNameIndex, never()).rename(any(), any());
+    }
+
+    @Test
+    void update_versionMismatch() {
+        Ship existing = buildShip(1L, "OldName");
+        ReflectionTestUtils.setField(existing, "version", 2L);
+        when(shipRepository.findById(1L)).thenReturn(Optional.of(existing));
 
-        assertThat(response.name()).isEqualTo("NewName");
+        assertThatThrownBy(() -> shipService.update(1L, buildRequest("NewName"), 1L))
+                .isInstanceOf(PreconditionFailedException.class);
+        assertThat(existing.getName()).isEqualTo("OldName");
     }
 
     @Test
     void update_notFound() {
         when(shipRepository.findById(99L)).thenReturn(Optional.empty());
 
-        assertThatThrownBy(() -> shipService.update(99L, buildRequest("X")))
+        assertThatThrownBy(() -> shipService.update(99L, buildRequest("X"), null))
                 .isInstanceOf(ResourceNotFoundException.class)
                 .hasMessageContaining("99");
     }
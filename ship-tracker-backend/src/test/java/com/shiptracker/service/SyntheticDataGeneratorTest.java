@@ -0,0 +1,129 @@
+package com.shiptracker.service;
+
+import com.shiptracker.config.DataGeneratorProperties;
+import com.shiptracker.entity.Ship;
+import com.shiptracker.repository.ShipRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verify;
+
+// The generator commits on its own connection, so the test runs outside a rollback-only transaction
+@DataJpaTest(properties = {
+        "data-generator.ships=300",
+        "data-generator.mean-reports-per-ship=8",
+        "data-generator.max-reports-per-ship=200"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({SyntheticDataGenerator.class, ShipPositionService.class, Dictionaries.class, PortCatalog.class})
+@EnableConfigurationProperties(DataGeneratorProperties.class)
+class SyntheticDataGeneratorTest {
+
+    @Autowired
+    private SyntheticDataGenerator generator;
+
+    @Autowired
+    private PortCatalog portCatalog;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ShipRepository shipRepository;
+
+    @Autowired
+    private Dictionaries dictionaries;
+
+    @MockitoBean
+    private ShipCacheEvictor shipCacheEvictor;
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM ship_latest_position");
+        jdbcTemplate.update("DELETE FROM location_reports");
+        jdbcTemplate.update("DELETE FROM ships");
+    }
+
+    @Test
+    void generate_writesFleetWithUniqueNamesAndAllReports() {
+        SyntheticDataGenerator.Result result = generator.generate();
+
+        assertThat(result.ships()).isEqualTo(300);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM ships", Long.class)).isEqualTo(300);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(DISTINCT name) FROM ships", Long.class)).isEqualTo(300);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM location_reports", Long.class))
+                .isEqualTo(result.reports());
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM ship_latest_position", Long.class))
+                .isEqualTo(jdbcTemplate.queryForObject("SELECT COUNT(DISTINCT ship_id) FROM location_reports", Long.class));
+        verify(shipCacheEvictor).evictAll();
+    }
+
+    @Test
+    void generate_reportCountsAreSkewed() {
+        generator.generate();
+
+        List<Long> perShip = jdbcTemplate.queryForList(
+                "SELECT COUNT(r.id) FROM ships s LEFT JOIN location_reports r ON r.ship_id = s.id GROUP BY s.id",
+                Long.class);
+        double mean = perShip.stream().mapToLong(Long::longValue).average().orElseThrow();
+        assertThat(mean).isBetween(4.0, 16.0);
+        assertThat(perShip.stream().mapToLong(Long::longValue).max().orElseThrow()).isGreaterThan((long) (mean * 4));
+    }
+
+    @Test
+    void generate_reportsAreChronologicalAtRealPorts() {
+        generator.generate();
+
+        assertThat(jdbcTemplate.queryForObject("""
+                SELECT COUNT(*) FROM location_reports a
+                JOIN location_reports b ON a.ship_id = b.ship_id AND a.id < b.id AND a.report_date > b.report_date
+                """, Long.class)).isZero();
+        assertThat(jdbcTemplate.queryForObject("""
+                SELECT COUNT(*) FROM location_reports r JOIN ships s ON s.id = r.ship_id
+                WHERE r.report_date < s.launch_date OR r.report_date > CURRENT_DATE
+                """, Long.class)).isZero();
+
+        Set<String> known = portCatalog.ports().stream()
+                .map(port -> port.country() + "/" + port.name())
+                .collect(Collectors.toSet());
+        List<Map<String, Object>> used = jdbcTemplate.queryForList("""
+                SELECT DISTINCT c.name AS country, p.name AS port
+                FROM location_reports r
+                JOIN countries c ON c.id = r.country_id
+                JOIN ports p ON p.id = r.port_id
+                """);
+        assertThat(used).isNotEmpty()
+                .allSatisfy(row -> assertThat(known).contains(row.get("COUNTRY") + "/" + row.get("PORT")));
+    }
+
+    @Test
+    void generate_leavesSequencesAboveGeneratedIds() {
+        generator.generate();
+
+        Ship ship = new Ship();
+        ship.setName("Added Afterwards");
+        ship.setLaunchDate(LocalDate.of(2020, 1, 1));
+        ship.setShipTypeId(dictionaries.shipTypes().idOf("Tanker"));
+        ship.setTonnage(new BigDecimal("1000.00"));
+        Long id = shipRepository.saveAndFlush(ship).getId();
+
+        assertThat(id).isGreaterThan(jdbcTemplate.queryForObject(
+                "SELECT MAX(id) FROM ships WHERE name <> 'Added Afterwards'", Long.class));
+    }
+}
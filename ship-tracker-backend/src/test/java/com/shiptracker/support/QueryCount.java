@@ -0,0 +1,49 @@
+package com.shiptracker.support;
+
+import com.shiptracker.config.QueryBudgetFilter;
+import com.shiptracker.config.DataSourceProxyPostProcessor;
+import com.shiptracker.config.QueryStats;
+import org.springframework.test.web.servlet.ResultMatcher;
+
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Query budget assertions. The data source must go through {@link DataSourceProxyPostProcessor}
+ * ({@code @Import} it into slice tests); MockMvc tests need the {@link QueryBudgetFilter} registered.
+ */
+public final class QueryCount {
+
+    private QueryCount() {
+    }
+
+    /** Runs {@code action} on the current thread and fails if it executed more than {@code maxQueries} statements. */
+    public static <T> T assertAtMost(int maxQueries, Supplier<T> action) {
+        QueryStats stats = QueryStats.start();
+        T result;
+        try {
+            result = action.get();
+        } finally {
+            stats.stop();
+        }
+        assertThat(stats.queries()).as("SQL statements executed").isLessThanOrEqualTo(maxQueries);
+        return result;
+    }
+
+    public static void assertAtMost(int maxQueries, Runnable action) {
+        assertAtMost(maxQueries, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    /** MockMvc matcher on the query count header of the response. */
+    public static ResultMatcher atMost(int maxQueries) {
+        return result -> {
+            String header = result.getResponse().getHeader(QueryBudgetFilter.QUERY_COUNT_HEADER);
+            assertThat(header).as(QueryBudgetFilter.QUERY_COUNT_HEADER + " header").isNotNull();
+            assertThat(Integer.parseInt(header)).as("SQL statements executed").isLessThanOrEqualTo(maxQueries);
+        };
+    }
+}
@@ -0,0 +1,83 @@
+package com.shiptracker.support;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+
+/** Local HTTP server for testing outbound clients against real sockets. */
+public final class StubHttpServer implements AutoCloseable {
+
+    public record Response(int status, String body, Duration delay) {
+
+        public static Response json(String body) {
+            return new Response(200, body, Duration.ZERO);
+        }
+
+        public static Response status(int status) {
+            return new Response(status, "", Duration.ZERO);
+        }
+
+        public Response delayedBy(Duration delay) {
+            return new Response(status, body, delay);
+        }
+    }
+
+    private final HttpServer server;
+    private final List<URI> requests = new CopyOnWriteArrayList<>();
+    private volatile Function<URI, Response> handler = uri -> Response.status(404);
+
+    public StubHttpServer() {
+        try {
+            server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        server.createContext("/", this::handle);
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.start();
+    }
+
+    public String url(String path) {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + path;
+    }
+
+    public void respond(Function<URI, Response> handler) {
+        this.handler = handler;
+    }
+
+    public List<URI> requests() {
+        return requests;
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        URI uri = exchange.getRequestURI();
+        requests.add(uri);
+        Response response = handler.apply(uri);
+        try {
+            Thread.sleep(response.delay());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        byte[] body = response.body().getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(response.status(), body.length == 0 ? -1 : body.length);
+        try (var out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+}
@@ -10,3 +10,7 @@ export interface LocationReportRequest {
   country: string;
   port: string;
 }
+
+export type ReportStreamMessage =
+  | { kind: 'report'; shipId: number; report: LocationReport }
+  | { kind: 'dropped'; count: number };
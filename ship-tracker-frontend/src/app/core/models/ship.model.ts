@@ -13,3 +13,12 @@ export interface ShipRequest {
   shipType: string;
   tonnage: number;
 }
+
+export interface ShipFilter {
+  shipType?: string;
+  minTonnage?: number;
+  maxTonnage?: number;
+  launchedFrom?: string;
+  launchedTo?: string;
+  namePrefix?: string;
+}
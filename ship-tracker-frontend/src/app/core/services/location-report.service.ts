@@ -2,7 +2,7 @@ import { Injectable, inject } from '@angular/core';
 import { HttpClient } from '@angular/common/http';
 import { Observable } from 'rxjs';
 import { environment } from '../../../environments/environment';
-import { LocationReport, LocationReportRequest } from '../models/location-report.model';
+import { LocationReport, LocationReportRequest, ReportStreamMessage } from '../models/location-report.model';
 
 @Injectable({ providedIn: 'root' })
 export class LocationReportService {
@@ -15,4 +15,25 @@ export class LocationReportService {
   create(shipId: number, report: LocationReportRequest): Observable<LocationReport> {
     return this.http.post<LocationReport>(`${environment.apiUrl}/ships/${shipId}/reports`, report);
   }
+
+  /** Known port names starting with the typed text, ignoring case and accents, most reported first. */
+  suggestPorts(query: string): Observable<string[]> {
+    return this.http.get<string[]>(`${environment.apiUrl}/ports/suggest`, { params: { q: query } });
+  }
+
+  /** Pushes reports as they are committed; 'dropped' means some were skipped and the list should be reloaded. */
+  stream(shipIds: number[]): Observable<ReportStreamMessage> {
+    const query = shipIds.map(id => `shipIds=${id}`).join('&');
+    return new Observable<ReportStreamMessage>(subscriber => {
+      const source = new EventSource(`${environment.apiUrl}/stream/reports?${query}`, { withCredentials: true });
+      source.addEventListener('report', event => {
+        const { shipId, report } = JSON.parse((event as MessageEvent<string>).data);
+        subscriber.next({ kind: 'report', shipId, report });
+      });
+      source.addEventListener('dropped', event => {
+        subscriber.next({ kind: 'dropped', count: Number((event as MessageEvent<string>).data) });
+      });
+      return () => source.close();
+    });
+  }
 }
@@ -1,16 +1,36 @@
 import { Injectable, inject } from '@angular/core';
-import { HttpClient } from '@angular/common/http';
-import { Observable } from 'rxjs';
+import { HttpClient, HttpParams } from '@angular/common/http';
+import { EMPTY, Observable, expand, map } from 'rxjs';
 import { environment } from '../../../environments/environment';
-import { Ship, ShipRequest } from '../models/ship.model';
+import { CursorPage } from '../models/page.model';
+import { Ship, ShipFilter, ShipRequest } from '../models/ship.model';
+
+const PAGE_SIZE = 100;
 
 @Injectable({ providedIn: 'root' })
 export class ShipService {
   private readonly http = inject(HttpClient);
   private readonly apiUrl = `${environment.apiUrl}/ships`;
 
-  getAll(): Observable<Ship[]> {
-    return this.http.get<Ship[]>(this.apiUrl);
+  getPage(filter: ShipFilter = {}, cursor: string | null = null, limit = PAGE_SIZE): Observable<CursorPage<Ship>> {
+    let params = new HttpParams().set('limit', limit);
+    for (const [key, value] of Object.entries(filter)) {
+      if (value !== undefined && value !== null && value !== '') {
+        params = params.set(key, value);
+      }
+    }
+    if (cursor) {
+      params = params.set('cursor', cursor);
+    }
+    return this.http.get<CursorPage<Ship>>(this.apiUrl, { params });
+  }
+
+  /** Emits each page of ships in order, following nextCursor until the last page. */
+  streamAll(filter: ShipFilter = {}): Observable<Ship[]> {
+    return this.getPage(filter).pipe(
+      expand((page) => (page.nextCursor ? this.getPage(filter, page.nextCursor) : EMPTY)),
+      map((page) => page.items)
+    );
   }
 
   getById(id: number): Observable<Ship> {
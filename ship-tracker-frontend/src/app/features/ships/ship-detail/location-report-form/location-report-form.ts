@@ -1,10 +1,13 @@
 import { Component, EventEmitter, inject, Input, Output, signal } from '@angular/core';
+import { toSignal } from '@angular/core/rxjs-interop';
 import { FormControl, FormGroup, ReactiveFormsModule, Validators } from '@angular/forms';
+import { MatAutocompleteModule } from '@angular/material/autocomplete';
 import { MatFormFieldModule } from '@angular/material/form-field';
 import { MatInputModule } from '@angular/material/input';
 import { MatSelectModule } from '@angular/material/select';
 import { MatButtonModule } from '@angular/material/button';
 import { MatDatepickerModule } from '@angular/material/datepicker';
+import { catchError, debounceTime, distinctUntilChanged, of, switchMap } from 'rxjs';
 import { COUNTRIES } from '../../../../core/data/countries.data';
 import { LocationReportService } from '../../../../core/services/location-report.service';
 import { LocationReport } from '../../../../core/models/location-report.model';
@@ -16,6 +19,7 @@ import { LocationReport } from '../../../../core/models/location-report.model';
     MatFormFieldModule,
     MatInputModule,
     MatSelectModule,
+    MatAutocompleteModule,
     MatButtonModule,
     MatDatepickerModule
   ],
@@ -37,6 +41,19 @@ export class LocationReportForm {
     port:       new FormControl<string>('', { nonNullable: true, validators: [Validators.required] })
   });
 
+  /** Spellings already in use, so operators pick "Gdańsk" instead of typing a near-duplicate. */
+  protected readonly portSuggestions = toSignal(
+    this.form.controls.port.valueChanges.pipe(
+      debounceTime(150),
+      distinctUntilChanged(),
+      // A failed lookup only empties the list; an error reaching toSignal would end the stream for good
+      switchMap(query => this.locationReportService.suggestPorts(query).pipe(
+        catchError(() => of([] as string[]))
+      ))
+    ),
+    { initialValue: [] as string[] }
+  );
+
   protected submit(): void {
     if (this.form.invalid) return;
 
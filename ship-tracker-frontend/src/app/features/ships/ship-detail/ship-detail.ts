@@ -1,4 +1,5 @@
-import { Component, inject, OnInit, signal } from '@angular/core';
+import { Component, DestroyRef, inject, OnInit, signal } from '@angular/core';
+import { takeUntilDestroyed } from '@angular/core/rxjs-interop';
 import { ActivatedRoute, Router } from '@angular/router';
 import { MatCardModule } from '@angular/material/card';
 import { MatButtonModule } from '@angular/material/button';
@@ -30,6 +31,7 @@ export class ShipDetail implements OnInit {
   private readonly locationReportService = inject(LocationReportService);
   private readonly route = inject(ActivatedRoute);
   private readonly router = inject(Router);
+  private readonly destroyRef = inject(DestroyRef);
 
   protected readonly ship = signal<Ship | null>(null);
   protected readonly reports = signal<LocationReport[]>([]);
@@ -39,13 +41,27 @@ export class ShipDetail implements OnInit {
     this.shipService.getById(id).subscribe({
       next: (ship) => this.ship.set(ship)
     });
-    this.locationReportService.getByShipId(id).subscribe({
-      next: (reports) => this.reports.set(reports)
-    });
+    this.loadReports(id);
+    this.locationReportService.stream([id])
+      .pipe(takeUntilDestroyed(this.destroyRef))
+      .subscribe(message => {
+        if (message.kind === 'report') {
+          this.onReportAdded(message.report);
+        } else {
+          this.loadReports(id);
+        }
+      });
   }
 
   protected onReportAdded(report: LocationReport): void {
-    this.reports.update(current => [...current, report]);
+    // Our own reports arrive twice: from the POST response and from the stream
+    this.reports.update(current => current.some(r => r.id === report.id) ? current : [...current, report]);
+  }
+
+  private loadReports(shipId: number): void {
+    this.locationReportService.getByShipId(shipId).subscribe({
+      next: (reports) => this.reports.set(reports)
+    });
   }
 
   protected goBack(): void {
@@ -37,9 +37,10 @@ export class ShipList implements OnInit {
 
   private loadShips(): void {
     this.isLoading.set(true);
-    this.shipService.getAll().subscribe({
-      next: (ships) => {
-        this.ships.set(ships);
+    this.ships.set([]);
+    this.shipService.streamAll().subscribe({
+      next: (page) => {
+        this.ships.update((ships) => [...ships, ...page]);
         this.isLoading.set(false);
       },
       error: () => this.isLoading.set(false)